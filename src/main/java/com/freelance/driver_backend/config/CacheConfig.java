@@ -0,0 +1,68 @@
+package com.freelance.driver_backend.config;
+
+import com.freelance.driver_backend.dto.UserSessionContextDto;
+import com.freelance.driver_backend.model.ProfileSummaryKey;
+import com.freelance.driver_backend.service.EmailTemplateRegistry.ResolvedEmailTemplate;
+import com.freelance.driver_backend.service.PushTemplateRegistry.CompiledPushTemplate;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Caches en mémoire de l'application. Chaque cache est borné, expire après écriture
+ * et publie ses statistiques (hits, miss, évictions) dans Micrometer.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public Cache<UUID, UserSessionContextDto> userSessionContextCache(
+            MeterRegistry meterRegistry,
+            @Value("${freelancedriver.session-cache.ttl:10m}") Duration ttl,
+            @Value("${freelancedriver.session-cache.max-size:10000}") long maxSize) {
+        return monitored(meterRegistry, "user_session_context", ttl, maxSize);
+    }
+
+    /**
+     * Résumés de profil absents faute de profil : évite de relire les tables de profils à chaque lecture du fil.
+     */
+    @Bean
+    public Cache<ProfileSummaryKey, Boolean> missingProfileSummaryCache(
+            MeterRegistry meterRegistry,
+            @Value("${freelancedriver.profile-summary-cache.missing-ttl:1m}") Duration ttl,
+            @Value("${freelancedriver.profile-summary-cache.max-size:10000}") long maxSize) {
+        return monitored(meterRegistry, "missing_profile_summary", ttl, maxSize);
+    }
+
+    @Bean
+    public Cache<UUID, CompiledPushTemplate> pushTemplateCache(
+            MeterRegistry meterRegistry,
+            @Value("${freelancedriver.push-template-cache.ttl:5m}") Duration ttl,
+            @Value("${freelancedriver.push-template-cache.max-size:1000}") long maxSize) {
+        return monitored(meterRegistry, "push_template", ttl, maxSize);
+    }
+
+    @Bean
+    public Cache<UUID, ResolvedEmailTemplate> emailTemplateCache(
+            MeterRegistry meterRegistry,
+            @Value("${freelancedriver.email-template-cache.ttl:5m}") Duration ttl,
+            @Value("${freelancedriver.email-template-cache.max-size:1000}") long maxSize) {
+        return monitored(meterRegistry, "email_template", ttl, maxSize);
+    }
+
+    private static <K, V> Cache<K, V> monitored(MeterRegistry meterRegistry, String name, Duration ttl, long maxSize) {
+        Cache<K, V> cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+}
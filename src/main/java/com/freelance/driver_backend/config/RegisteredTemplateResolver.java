@@ -0,0 +1,63 @@
+package com.freelance.driver_backend.config;
+
+import org.thymeleaf.IEngineConfiguration;
+import org.thymeleaf.cache.AlwaysValidCacheEntryValidity;
+import org.thymeleaf.cache.ICacheEntryValidity;
+import org.thymeleaf.exceptions.TemplateInputException;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.AbstractTemplateResolver;
+import org.thymeleaf.templateresource.ITemplateResource;
+import org.thymeleaf.templateresource.StringTemplateResource;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolver Thymeleaf des modèles enregistrés en mémoire sous un nom (voir EmailTemplateRegistry).
+ * Le nom d'un modèle contient la version de son contenu : une fois analysé, le modèle reste valable
+ * dans le cache du moteur tant que ce nom est utilisé, et n'est plus jamais ré-analysé.
+ * Ce resolver est le seul à traiter les noms "registered/..." : un nom inconnu est une erreur.
+ */
+public class RegisteredTemplateResolver extends AbstractTemplateResolver {
+
+    public static final String NAME_PREFIX = "registered/";
+
+    private final Map<String, String> sources = new ConcurrentHashMap<>();
+
+    public RegisteredTemplateResolver() {
+        setName("RegisteredTemplateResolver");
+        setResolvablePatterns(Set.of(NAME_PREFIX + "*"));
+    }
+
+    public void register(String name, String content) {
+        sources.put(name, content);
+    }
+
+    public void unregister(String name) {
+        sources.remove(name);
+    }
+
+    @Override
+    protected ITemplateResource computeTemplateResource(IEngineConfiguration configuration, String ownerTemplate,
+                                                        String template, Map<String, Object> templateResolutionAttributes) {
+        String content = sources.get(template);
+        if (content == null) {
+            // Pas de repli sur les resolvers suivants : le StringTemplateResolver rendrait le nom lui-même comme contenu.
+            throw new TemplateInputException("Modèle enregistré introuvable (version retirée ?) : " + template);
+        }
+        return new StringTemplateResource(content);
+    }
+
+    @Override
+    protected TemplateMode computeTemplateMode(IEngineConfiguration configuration, String ownerTemplate,
+                                               String template, Map<String, Object> templateResolutionAttributes) {
+        return TemplateMode.HTML;
+    }
+
+    @Override
+    protected ICacheEntryValidity computeValidity(IEngineConfiguration configuration, String ownerTemplate,
+                                                  String template, Map<String, Object> templateResolutionAttributes) {
+        return AlwaysValidCacheEntryValidity.INSTANCE;
+    }
+}
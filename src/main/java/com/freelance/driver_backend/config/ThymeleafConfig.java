@@ -10,20 +10,34 @@ import org.springframework.context.annotation.Primary;
 @Configuration
 public class ThymeleafConfig {
 
+    /**
+     * Modèles enregistrés en mémoire par nom (modèles de design des emails), analysés une seule fois.
+     */
+    @Bean
+    public RegisteredTemplateResolver registeredTemplateResolver() {
+        RegisteredTemplateResolver resolver = new RegisteredTemplateResolver();
+        resolver.setOrder(1);
+        return resolver;
+    }
+
     /**
      * Configure un moteur de template Thymeleaf capable de traiter des chaînes de caractères.
      * On le marque comme @Primary pour qu'il soit choisi par défaut lors de l'injection
      * de dépendances, au lieu de celui configuré automatiquement par Spring Boot.
+     * Les noms "registered/..." sont d'abord résolus par le RegisteredTemplateResolver (modèles en cache) ;
+     * toute autre chaîne est traitée comme le texte du modèle lui-même.
      * @return Une instance de SpringTemplateEngine.
      */
     @Bean
     @Primary // <-- AJOUTER CETTE ANNOTATION
-    public SpringTemplateEngine springTemplateEngine() {
+    public SpringTemplateEngine springTemplateEngine(RegisteredTemplateResolver registeredTemplateResolver) {
         SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.addTemplateResolver(registeredTemplateResolver);
         
         // Créer un "resolver" qui sait lire des chaînes de caractères
         StringTemplateResolver stringTemplateResolver = new StringTemplateResolver();
         stringTemplateResolver.setTemplateMode(TemplateMode.HTML); // Préciser qu'on traite du HTML
+        stringTemplateResolver.setOrder(2);
         
         // Ajouter ce resolver au moteur de template
         templateEngine.addTemplateResolver(stringTemplateResolver);
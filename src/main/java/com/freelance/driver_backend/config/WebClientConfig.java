@@ -11,7 +11,9 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
@@ -37,6 +39,9 @@ public class WebClientConfig {
     @Value("${microservices.media-service.url}") // URL du service de médias, nouvellement ajoutée
     private String mediaServiceUrl;
 
+    @Value("${freelancedriver.fcm.max-connections:4}")
+    private int fcmMaxConnections;
+
     /**
      * Crée un HttpClient réutilisable avec des timeouts standards.
      * 
@@ -68,6 +73,35 @@ public class WebClientConfig {
                         .addHandlerLast(new WriteTimeoutHandler(60, TimeUnit.SECONDS))); // 60s write timeout
     }
 
+    /**
+     * Crée le HttpClient partagé des envois FCM : HTTP/2 (multiplexage des requêtes sur quelques
+     * connexions) et pool de connexions borné, au lieu d'une connexion par requête.
+     * 
+     * @return HttpClient configuré pour FCM
+     */
+    private HttpClient createFcmHttpClient() {
+        ConnectionProvider provider = ConnectionProvider.builder("fcm")
+                .maxConnections(fcmMaxConnections)
+                .pendingAcquireTimeout(Duration.ofSeconds(30))
+                .maxIdleTime(Duration.ofMinutes(5))
+                .build();
+        return HttpClient.create(provider)
+                .protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+                .secure()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 20000) // 20 secondes
+                .responseTimeout(Duration.ofSeconds(20)); // 20 secondes
+    }
+
+    @Bean
+    @Qualifier("fcmWebClient")
+    public WebClient fcmWebClient() {
+        return WebClient.builder()
+                .baseUrl("https://fcm.googleapis.com")
+                .clientConnector(new ReactorClientHttpConnector(createFcmHttpClient()))
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .build();
+    }
+
     @Bean
     @Qualifier("authServiceWebClient")
     public WebClient authServiceWebClient() {
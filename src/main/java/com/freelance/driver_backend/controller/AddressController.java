@@ -5,8 +5,10 @@
 package com.freelance.driver_backend.controller;
 
 import com.freelance.driver_backend.dto.CreateProductRequest;
+import com.freelance.driver_backend.dto.PageResponse;
 import com.freelance.driver_backend.dto.UserSessionContextDto; // Nouveau import
 import com.freelance.driver_backend.model.Product;
+import com.freelance.driver_backend.service.ProductCatalogService;
 import com.freelance.driver_backend.service.ProfileService;
 import com.freelance.driver_backend.service.ResourceService;
 import com.freelance.driver_backend.util.JwtUtil;
@@ -20,7 +22,6 @@ import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -31,6 +32,7 @@ public class AddressController {
 
     private final ProfileService profileService;
     private final ResourceService resourceService;
+    private final ProductCatalogService productCatalogService;
 
     // Un UUID fixe et unique pour identifier toutes les adresses dans la table "products"
     private static final UUID ADDRESS_CATEGORY_ID = UUID.fromString("4a6f8b90-1234-5678-9abc-def012345678");
@@ -39,22 +41,21 @@ public class AddressController {
      * SECURISE: Récupère toutes les adresses de l'utilisateur actuellement connecté.
      */
     @GetMapping
-    public Flux<Product> getUserAddresses(
+    public Mono<PageResponse<Product>> getUserAddresses(
             @AuthenticationPrincipal Mono<Jwt> jwtMono,
-            @RequestHeader("Authorization") String authorizationHeader) {
+            @RequestHeader("Authorization") String authorizationHeader,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         
         return jwtMono
             .flatMap(jwt -> profileService.getUserSessionContext(JwtUtil.getUserIdFromToken(jwt), authorizationHeader, null))
-            .flatMapMany(userContext -> {
+            .flatMap(userContext -> {
                 // Un utilisateur devrait toujours avoir une organisation après l'onboarding initial
                 if (userContext.getOrganisation() == null || userContext.getOrganisation().getOrganizationId() == null) {
-                    return Flux.error(new IllegalStateException("L'utilisateur n'a pas d'organisation valide associée."));
+                    return Mono.error(new IllegalStateException("L'utilisateur n'a pas d'organisation valide associée."));
                 }
-                UUID organizationId = userContext.getOrganisation().getOrganizationId();
-                // Utilise le service de ressources pour obtenir les produits par catégorie et par client_id (l'utilisateur connecté)
-                // NOTE: getProductsByCategory ne filtre pas par clientId, il faut le faire après ou modifier le service de ressources
-                return resourceService.getProductsByCategory(organizationId, ADDRESS_CATEGORY_ID, authorizationHeader, null)
-                                      .filter(product -> userContext.getUserId().equals(product.getClientId())); // Filtrer par l'ID de l'utilisateur connecté
+                // Partition des adresses de l'utilisateur connecté (products_by_author)
+                return productCatalogService.getProductsPageByAuthor(userContext.getUserId(), ADDRESS_CATEGORY_ID, cursor, limit);
             });
     }
 
@@ -62,22 +63,16 @@ public class AddressController {
      * PUBLIC: Récupère les adresses d'un utilisateur spécifique par son ID.
      */
     @GetMapping("/user/{userId}")
-    public Flux<Product> getAddressesForUser(
+    public Mono<PageResponse<Product>> getAddressesForUser(
         @PathVariable UUID userId,
-        @RequestHeader(value = "Authorization", required = false) String authorizationHeader
+        @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit
     ) {
         log.info("▶️ [AddressController] Récupération des adresses publiques pour l'utilisateur ID: {}", userId);
 
-        String token = Optional.ofNullable(authorizationHeader).orElse(null);
-
-        // MODIFIÉ : Récupère l'organisation ID du userId spécifié.
-        // Puis, filtre les produits de cette organisation qui appartiennent à ce userId.
-        return profileService.findOrganisationIdByUserId(userId)
-             .flatMapMany(orgId ->
-                resourceService.getProductsByCategory(orgId, ADDRESS_CATEGORY_ID, token, null)
-                               .filter(product -> userId.equals(product.getClientId())) // Filtrer par l'ID de l'utilisateur demandé
-             )
-             .doOnComplete(() -> log.info("✅ [addressService] Adresses publiques trouvées pour l'utilisateur {}.", userId))
+        return productCatalogService.getProductsPageByAuthor(userId, ADDRESS_CATEGORY_ID, cursor, limit)
+             .doOnSuccess(page -> log.info("✅ [addressService] Adresses publiques trouvées pour l'utilisateur {}.", userId))
              .doOnError(error -> log.error("❌ Erreur lors de la récupération des adresses pour {}: {}", userId, error.getMessage()));
     }
 
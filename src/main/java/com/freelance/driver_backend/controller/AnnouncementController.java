@@ -3,15 +3,26 @@ package com.freelance.driver_backend.controller;
 
 import com.corundumstudio.socketio.SocketIOServer;
 import com.freelance.driver_backend.dto.CreateProductRequest;
+import com.freelance.driver_backend.dto.PageResponse;
 import com.freelance.driver_backend.dto.UserSessionContextDto;
 import com.freelance.driver_backend.model.ClientProfile;
 import com.freelance.driver_backend.model.DriverProfile;
 import com.freelance.driver_backend.model.Product;
+import com.freelance.driver_backend.model.TripMatch;
+import com.freelance.driver_backend.model.ProductByAuthor;
+import com.freelance.driver_backend.model.ProductByReserver;
 import com.freelance.driver_backend.model.ProductKey;
+import com.freelance.driver_backend.repository.ProductByAuthorRepository;
+import com.freelance.driver_backend.repository.ProductByReserverRepository;
 import com.freelance.driver_backend.repository.ProductRepository;
+import com.freelance.driver_backend.service.AuthorEnrichmentService;
 import com.freelance.driver_backend.service.NotificationTriggerService;
+import com.freelance.driver_backend.service.ProductBookingService;
+import com.freelance.driver_backend.service.ProductFeedService;
 import com.freelance.driver_backend.service.ProfileService;
 import com.freelance.driver_backend.service.ResourceService;
+import com.freelance.driver_backend.service.TripMatchService;
+import com.freelance.driver_backend.util.CursorUtil;
 import com.freelance.driver_backend.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,6 +34,8 @@ import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -33,37 +46,53 @@ public class AnnouncementController {
 
     private final ResourceService resourceService;
     private final ProfileService profileService;
-    private final ProductRepository productRepository; 
+    private final ProductRepository productRepository;
+    private final ProductByAuthorRepository productByAuthorRepository;
+    private final ProductByReserverRepository productByReserverRepository;
+    private final ProductBookingService productBookingService;
+    private final AuthorEnrichmentService authorEnrichmentService;
+    private final ProductFeedService productFeedService; 
+    private final TripMatchService tripMatchService;
     private final NotificationTriggerService notificationTriggerService;
     private final SocketIOServer socketIOServer; 
 
     private static final UUID ANNOUNCEMENT_CATEGORY_ID = UUID.fromString("c1a5b4e0-1234-5678-9abc-def012345678");
 
     /**
-     * PUBLIC: Récupère toutes les annonces publiées par les clients.
+     * PUBLIC: Récupère une page des annonces publiées par les clients, des plus récentes aux plus anciennes.
+     * Avec "from" et/ou "to" (ISO-8601), seules les annonces dont le départ est dans la fenêtre sont
+     * renvoyées, triées par heure de départ.
      */
     @GetMapping
-    public Flux<Product> getPublishedAnnouncements() {
+    public Mono<PageResponse<Product>> getPublishedAnnouncements(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
         log.info("Controller: Requête publique pour récupérer les annonces publiées.");
-        return productRepository.findByCategoryId(ANNOUNCEMENT_CATEGORY_ID)
-                .filter(product -> "Published".equalsIgnoreCase(product.getStatus()))
-                .flatMap(this::enrichProductWithAuthorDetails);
+        Mono<PageResponse<Product>> page = from == null && to == null
+                ? productFeedService.findPublishedPage(ANNOUNCEMENT_CATEGORY_ID, cursor, limit)
+                : productFeedService.findPublishedInWindowPage(ANNOUNCEMENT_CATEGORY_ID, from, to, cursor, limit);
+        return page.flatMap(this::enrichPageWithAuthorDetails);
     }
 
     /**
      * SECURISE (CLIENT): Récupère les annonces du client actuellement connecté.
      */
     @GetMapping("/my-announcements")
-    public Flux<Product> getMyAnnouncements(
+    public Mono<PageResponse<Product>> getMyAnnouncements(
             @AuthenticationPrincipal Mono<Jwt> jwtMono,
-            @RequestHeader("Authorization") String authorizationHeader) { 
+            @RequestHeader("Authorization") String authorizationHeader,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) { 
         return jwtMono
             .flatMap(jwt -> profileService.getUserSessionContext(JwtUtil.getUserIdFromToken(jwt), authorizationHeader, null))
-            .flatMapMany(userContext -> {
+            .flatMap(userContext -> {
                 if (userContext.getClientProfile() == null) {
-                     return Flux.error(new IllegalStateException("L'utilisateur n'est pas un client."));
+                     return Mono.error(new IllegalStateException("L'utilisateur n'est pas un client."));
                 }
-                return productRepository.findByClientIdAndCategoryId(userContext.getUserId(), ANNOUNCEMENT_CATEGORY_ID);
+                return productByAuthorRepository.findByKeyClientIdAndKeyCategoryId(userContext.getUserId(), ANNOUNCEMENT_CATEGORY_ID, CursorUtil.pageRequest(cursor, limit))
+                        .map(slice -> CursorUtil.toPage(slice).map(ProductByAuthor::toProduct));
             });
     }
 
@@ -95,9 +124,22 @@ public class AnnouncementController {
 
                 return resourceService.createProduct(userContext.getOrganisation().getOrganizationId(), request, authorizationHeader, null);
             })
+            .flatMap(tripMatchService::refreshMatches) // Plannings compatibles calculés dès la création
             .map(createdProduct -> new ResponseEntity<>(createdProduct, HttpStatus.CREATED));
     }
 
+    /**
+     * SECURISE (CLIENT): Plannings compatibles avec une annonce du client connecté, du plus compatible au moins compatible.
+     */
+    @GetMapping("/{productId}/matches")
+    public Flux<TripMatch> getAnnouncementMatches(
+            @PathVariable UUID productId,
+            @AuthenticationPrincipal Mono<Jwt> jwtMono,
+            @RequestParam(required = false) Integer limit) {
+        return jwtMono
+            .flatMapMany(jwt -> tripMatchService.findMatchesForAuthor(productId, JwtUtil.getUserIdFromToken(jwt), limit));
+    }
+
     /**
      * SECURISE (CLIENT): Met à jour une annonce appartenant au client connecté.
      */
@@ -126,6 +168,7 @@ public class AnnouncementController {
                             return resourceService.updateProduct(userContext.getOrganisation().getOrganizationId(), productId, request, authorizationHeader, null);
                         });
             })
+            .flatMap(tripMatchService::refreshMatches) // Plannings compatibles recalculés après la modification
             .doOnSuccess(updatedAnnouncement -> {
                 if (updatedAnnouncement != null) {
                     socketIOServer.getBroadcastOperations().sendEvent("updated_announcement", updatedAnnouncement);
@@ -160,6 +203,7 @@ public class AnnouncementController {
                         .switchIfEmpty(Mono.error(new SecurityException("Le client n'est pas autorisé à supprimer cette annonce ou elle n'existe pas.")))
                         .flatMap(existingAnnouncement ->
                             resourceService.deleteProduct(userContext.getOrganisation().getOrganizationId(), productId, authorizationHeader, null)
+                                    .then(tripMatchService.deleteMatches(productId)) // Paires du trajet retirées des deux côtés
                         );
             })
             .then(Mono.just(new ResponseEntity<Void>(HttpStatus.NO_CONTENT)));
@@ -183,26 +227,20 @@ public class AnnouncementController {
                 }
                 DriverProfile driverProfile = driverContext.getDriverProfile();
                 
-                return productRepository.findAll().filter(p -> p.getId().equals(announcementId)).next()
-                    .flatMap(announcement -> {
-                         ProductKey key = new ProductKey(announcement.getOrganizationId(), announcementId);
-                         return productRepository.findById(key)
-                            .flatMap(ann -> {
-                                if (ann.getReservedByDriverId() != null) {
-                                    return Mono.error(new IllegalStateException("Cette annonce a déjà été postulée/réservée."));
-                                }
-                                ann.setReservedByDriverId(driverProfile.getUserId());
-                                ann.setReservedByDriverName(driverProfile.getFirstName() + " " + driverProfile.getLastName());
-                                ann.setStatus("PendingConfirmation");
-                                log.info("Chauffeur {} a postulé pour l'annonce {}. Statut mis à jour à 'PendingConfirmation'.", driverProfile.getUserId(), announcementId);
-                                return productRepository.save(ann);
-                            })
-                            .flatMap(updatedAnnouncement -> {
-                                socketIOServer.getBroadcastOperations().sendEvent("updated_announcement", updatedAnnouncement);
-                                log.info("Déclenchement de la notification pour le client de l'annonce {} (postulation par chauffeur {}).", announcementId, driverProfile.getUserId());
-                                return notificationTriggerService.notifyClientOfAcceptedAnnouncement(updatedAnnouncement, driverProfile)
-                                    .thenReturn(updatedAnnouncement);
-                            });
+                return productRepository.findByProductId(announcementId)
+                    .flatMap(ann -> {
+                        if (ann.getReservedByDriverId() != null) {
+                            return Mono.error(new IllegalStateException("Cette annonce a déjà été postulée/réservée."));
+                        }
+                        log.info("Chauffeur {} postule pour l'annonce {}. Statut mis à jour à 'PendingConfirmation'.", driverProfile.getUserId(), announcementId);
+                        return productBookingService.reserve(ann, driverProfile.getUserId(),
+                                driverProfile.getFirstName() + " " + driverProfile.getLastName(), "PendingConfirmation");
+                    })
+                    .flatMap(updatedAnnouncement -> {
+                        socketIOServer.getBroadcastOperations().sendEvent("updated_announcement", updatedAnnouncement);
+                        log.info("Déclenchement de la notification pour le client de l'annonce {} (postulation par chauffeur {}).", announcementId, driverProfile.getUserId());
+                        return notificationTriggerService.notifyClientOfAcceptedAnnouncement(updatedAnnouncement, driverProfile)
+                            .thenReturn(updatedAnnouncement);
                     });
             })
             .map(ResponseEntity::ok)
@@ -227,30 +265,24 @@ public class AnnouncementController {
                 }
                 DriverProfile driverProfile = driverContext.getDriverProfile();
 
-                return productRepository.findAll().filter(p -> p.getId().equals(announcementId)).next()
-                    .flatMap(announcement -> {
-                        if (!driverProfile.getUserId().equals(announcement.getReservedByDriverId())) {
+                return productRepository.findByProductId(announcementId)
+                    .flatMap(ann -> {
+                        if (!driverProfile.getUserId().equals(ann.getReservedByDriverId())) {
                             return Mono.error(new SecurityException("Vous n'avez pas postulé à cette annonce ou n'êtes pas le chauffeur concerné."));
                         }
-                        if (!"PendingConfirmation".equalsIgnoreCase(announcement.getStatus()) && !"Ongoing".equalsIgnoreCase(announcement.getStatus())) {
-                            return Mono.error(new IllegalStateException("L'annonce n'est pas dans un état permettant l'annulation de postulation (statut actuel: " + announcement.getStatus() + ")."));
+                        if (!"PendingConfirmation".equalsIgnoreCase(ann.getStatus()) && !"Ongoing".equalsIgnoreCase(ann.getStatus())) {
+                            return Mono.error(new IllegalStateException("L'annonce n'est pas dans un état permettant l'annulation de postulation (statut actuel: " + ann.getStatus() + ")."));
                         }
 
-                        ProductKey key = new ProductKey(announcement.getOrganizationId(), announcementId);
-                        return productRepository.findById(key)
-                            .flatMap(ann -> {
-                                ann.setReservedByDriverId(null);
-                                ann.setReservedByDriverName(null);
-                                ann.setStatus("Published"); // Revenir au statut "Published"
-                                log.info("Chauffeur {} a annulé sa postulation pour l'annonce {}. Statut remis à 'Published'.", driverProfile.getUserId(), announcementId);
-                                return productRepository.save(ann);
-                            })
-                            .flatMap(updatedAnnouncement -> {
-                                socketIOServer.getBroadcastOperations().sendEvent("updated_announcement", updatedAnnouncement);
-                                log.info("Déclenchement de la notification pour le client de l'annonce {} (annulation de postulation par chauffeur {}).", announcementId, driverProfile.getUserId());
-                                return notificationTriggerService.notifyClientOfCancelledPostulation(updatedAnnouncement, driverProfile)
-                                    .thenReturn(updatedAnnouncement);
-                            });
+                        log.info("Chauffeur {} annule sa postulation pour l'annonce {}. Statut remis à 'Published'.", driverProfile.getUserId(), announcementId);
+                        // Revenir au statut "Published", à condition que la postulation n'ait pas changé entre-temps
+                        return productBookingService.release(ann, driverProfile.getUserId(), List.of("PendingConfirmation", "Ongoing"), "Published");
+                    })
+                    .flatMap(updatedAnnouncement -> {
+                        socketIOServer.getBroadcastOperations().sendEvent("updated_announcement", updatedAnnouncement);
+                        log.info("Déclenchement de la notification pour le client de l'annonce {} (annulation de postulation par chauffeur {}).", announcementId, driverProfile.getUserId());
+                        return notificationTriggerService.notifyClientOfCancelledPostulation(updatedAnnouncement, driverProfile)
+                            .thenReturn(updatedAnnouncement);
                     });
             })
             .map(ResponseEntity::ok)
@@ -276,28 +308,23 @@ public class AnnouncementController {
                 }
                 ClientProfile clientProfile = clientContext.getClientProfile();
 
-                return productRepository.findAll().filter(p -> p.getId().equals(announcementId)).next()
-                    .flatMap(announcement -> {
-                        if (!announcement.getClientId().equals(clientProfile.getUserId())) {
+                return productRepository.findByProductId(announcementId)
+                    .flatMap(ann -> {
+                        if (!ann.getClientId().equals(clientProfile.getUserId())) {
                             return Mono.error(new SecurityException("Le client n'est pas l'auteur de cette annonce."));
                         }
-                        if (!"PendingConfirmation".equalsIgnoreCase(announcement.getStatus()) || !announcement.getReservedByDriverId().equals(driverId)) {
+                        if (!"PendingConfirmation".equalsIgnoreCase(ann.getStatus()) || !driverId.equals(ann.getReservedByDriverId())) {
                              return Mono.error(new IllegalStateException("Cette annonce n'est pas en attente de confirmation pour ce chauffeur, ou le statut est incorrect."));
                         }
 
-                        ProductKey key = new ProductKey(announcement.getOrganizationId(), announcementId);
-                        return productRepository.findById(key)
-                            .flatMap(ann -> {
-                                ann.setStatus("Ongoing");
-                                log.info("Client {} a confirmé le chauffeur {} pour l'annonce {}. Statut mis à jour à 'Ongoing'.", clientProfile.getUserId(), driverId, announcementId);
-                                return productRepository.save(ann);
-                            })
-                            .flatMap(updatedAnnouncement -> 
-                                profileService.findDriverById(driverId)
-                                    .flatMap(driverProfile -> notificationTriggerService.notifyDriverOfConfirmedAnnouncement(updatedAnnouncement, driverProfile))
-                                    .thenReturn(updatedAnnouncement)
-                            );
-                    });
+                        log.info("Client {} confirme le chauffeur {} pour l'annonce {}. Statut mis à jour à 'Ongoing'.", clientProfile.getUserId(), driverId, announcementId);
+                        return productBookingService.updateStatus(ann, driverId, "PendingConfirmation", "Ongoing");
+                    })
+                    .flatMap(updatedAnnouncement -> 
+                        profileService.findDriverById(driverId)
+                            .flatMap(driverProfile -> notificationTriggerService.notifyDriverOfConfirmedAnnouncement(updatedAnnouncement, driverProfile))
+                            .thenReturn(updatedAnnouncement)
+                    );
             })
             .map(ResponseEntity::ok)
             .defaultIfEmpty(ResponseEntity.notFound().build());
@@ -307,45 +334,32 @@ public class AnnouncementController {
      * SECURISE (CONDUCTEUR): Récupère les courses que le conducteur connecté a acceptées.
      */
     @GetMapping("/my-rides")
-    public Flux<Product> getMyAcceptedRides(@AuthenticationPrincipal Mono<Jwt> jwtMono,
-                                            @RequestHeader("Authorization") String authorizationHeader) {
+    public Mono<PageResponse<Product>> getMyAcceptedRides(@AuthenticationPrincipal Mono<Jwt> jwtMono,
+                                            @RequestHeader("Authorization") String authorizationHeader,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer limit) {
         return jwtMono
             .flatMap(jwt -> profileService.getUserSessionContext(JwtUtil.getUserIdFromToken(jwt), authorizationHeader, null))
-            .flatMapMany(userContext -> {
+            .flatMap(userContext -> {
                  if (userContext.getDriverProfile() == null) {
-                     return Flux.error(new IllegalStateException("L'utilisateur n'est pas un chauffeur."));
+                     return Mono.error(new IllegalStateException("L'utilisateur n'est pas un chauffeur."));
                 }
                 UUID driverId = userContext.getUserId();
                 log.info("Récupération des courses acceptées/postulées par le chauffeur {}", driverId);
                 
-                return productRepository.findByReservedByDriverId(driverId)
-                           .flatMap(this::enrichProductWithAuthorDetails)
-                           .doOnNext(product -> {
-                               // Debugging log pour voir les produits enrichis avant de les envoyer
-                               log.info("DEBUG_BACKEND_OFFERS: Produit complet enrichi envoyé pour driver {}: Id='{}', Title='{}', AuthorName='{}', Cost={}, ReservedByDriverName='{}'", 
-                                        driverId, product.getId(), product.getName(), product.getAuthorName(), product.getDefaultSellPrice(), product.getReservedByDriverName());
-                           });
+                return productByReserverRepository.findByKeyReservedByDriverId(driverId, CursorUtil.pageRequest(cursor, limit))
+                           .map(slice -> CursorUtil.toPage(slice).map(ProductByReserver::toProduct))
+                           .flatMap(this::enrichPageWithAuthorDetails)
+                           .doOnNext(page -> log.info("DEBUG_BACKEND_OFFERS: {} course(s) enrichie(s) envoyée(s) pour driver {} (page suivante: {}).",
+                                        page.getItems().size(), driverId, page.getNext() != null));
             });
     }
 
 
     /**
-     * Méthode privée pour enrichir une annonce avec les détails de son auteur (client).
+     * Enrichit les annonces d'une page avec les détails de leur auteur, résolus par lots.
      */
-    private Mono<Product> enrichProductWithAuthorDetails(Product product) {
-        UUID authorId = product.getClientId();
-        if (authorId == null) {
-            return Mono.just(product);
-        }
-
-        return profileService.findClientById(authorId)
-            .map(clientProfile -> {
-                product.setAuthorId(clientProfile.getUserId());
-                product.setAuthorName(clientProfile.getFirstName() + " " + clientProfile.getLastName());
-                product.setAuthorPhoneNumber(clientProfile.getPhoneNumber());
-                product.setAuthorProfileImageUrl(clientProfile.getProfileImageUrl());
-                return product;
-            })
-            .defaultIfEmpty(product); 
+    private Mono<PageResponse<Product>> enrichPageWithAuthorDetails(PageResponse<Product> page) {
+        return authorEnrichmentService.enrichPage(page, UserSessionContextDto.UserRole.CLIENT);
     }
 }
\ No newline at end of file
@@ -1,17 +1,33 @@
-
-
 // PATH: /home/mbogneng-junior/freelance-driver (Copie)/backend/src/main/java/com/freelance/driver_backend/controller/DriverSearchController.java
 
 package com.freelance.driver_backend.controller;
 
+import com.freelance.driver_backend.dto.PageResponse;
+import com.freelance.driver_backend.dto.UserSessionContextDto.UserRole;
+import com.freelance.driver_backend.model.Product;
+import com.freelance.driver_backend.model.DriverCard;
 import com.freelance.driver_backend.model.Resource;
+import com.freelance.driver_backend.service.AuthorEnrichmentService;
+import com.freelance.driver_backend.service.DriverAvailabilityIndex;
+import com.freelance.driver_backend.service.GeoSearchService;
+import com.freelance.driver_backend.service.DriverCardService;
+import com.freelance.driver_backend.service.TripSearchIndex;
 import com.freelance.driver_backend.service.resource.ResourceService;
+import com.freelance.driver_backend.util.CursorUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/search")
@@ -20,7 +36,16 @@ import reactor.core.publisher.Flux;
 public class DriverSearchController {
 
     private final ResourceService resourceService;
+    private final GeoSearchService geoSearchService;
+    private final AuthorEnrichmentService authorEnrichmentService;
+    private final TripSearchIndex tripSearchIndex;
+    private final DriverAvailabilityIndex driverAvailabilityIndex;
+    private final DriverCardService driverCardService;
     private static final String PLANNING_CATEGORY_ID = "ba75b2c0-30a8-11f0-a5b5-bb7d33c83c13";
+    private static final UUID ANNOUNCEMENT_CATEGORY_UUID = UUID.fromString("c1a5b4e0-1234-5678-9abc-def012345678");
+    private static final UUID PLANNING_CATEGORY_UUID = UUID.fromString(PLANNING_CATEGORY_ID);
+    // Taille maximale de la liste IN envoyée à Cassandra pour lire les cartes des chauffeurs.
+    private static final int CARD_BATCH_SIZE = 50;
 
     @GetMapping("/drivers")
     public Flux<Resource> findAvailableDrivers() {
@@ -29,4 +54,89 @@ public class DriverSearchController {
                 .filter(resource -> "AVAILABLE".equalsIgnoreCase(resource.getState()))
                 .doOnNext(resource -> log.info("--> Planning publié trouvé : {}", resource.getName()));
     }
-}
\ No newline at end of file
+
+    /**
+     * Cartes des chauffeurs disponibles sur un créneau, d'après le calendrier de leurs plannings.
+     * slot = "2025-06-14T08:00/2025-06-14T10:00" ou "2025-06-14T08:00/10:00" (heure du Cameroun) ;
+     * full=true exige la disponibilité sur tout le créneau, full=false sur au moins un quart d'heure.
+     */
+    @GetMapping(value = "/drivers", params = "slot")
+    public Flux<DriverCard> findDriversAvailableForSlot(
+            @RequestParam String slot,
+            @RequestParam(defaultValue = "true") boolean full,
+            @RequestParam(required = false) Integer limit) {
+        log.info("-> Requête PUBLIQUE reçue pour GET /api/search/drivers (créneau {}, complet: {})", slot, full);
+        LocalDateTime[] bounds;
+        try {
+            bounds = parseSlot(slot);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return Flux.error(new IllegalArgumentException("Créneau invalide, format attendu : début/fin en ISO-8601 (ex: 2025-06-14T08:00/10:00)."));
+        }
+        return Flux.fromIterable(driverAvailabilityIndex.findAvailableDrivers(bounds[0], bounds[1], full))
+                .take(CursorUtil.normalizeLimit(limit))
+                .buffer(CARD_BATCH_SIZE)
+                .concatMap(driverCardService::findByUserIds);
+    }
+
+    /**
+     * Annonces (type=announcement) ou plannings (type=planning) publiés dont le lieu de départ
+     * est à moins de radiusKm du point donné, du plus proche au plus éloigné, avec départ optionnellement dans [from, to[.
+     */
+    @GetMapping("/nearby")
+    public Flux<Product> findNearby(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "10") double radiusKm,
+            @RequestParam(defaultValue = "announcement") String type,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) Integer limit) {
+        log.info("-> Requête PUBLIQUE reçue pour GET /api/search/nearby ({}, {}, {} km, type {})", lat, lon, radiusKm, type);
+        boolean planning = "planning".equalsIgnoreCase(type);
+        if (!planning && !"announcement".equalsIgnoreCase(type)) {
+            return Flux.error(new IllegalArgumentException("Type de recherche inconnu : " + type));
+        }
+        Flux<Product> nearby = geoSearchService.findPublishedNearby(
+                planning ? PLANNING_CATEGORY_UUID : ANNOUNCEMENT_CATEGORY_UUID,
+                lat, lon, radiusKm, from, to, CursorUtil.normalizeLimit(limit));
+        return authorEnrichmentService.enrich(nearby, planning ? UserRole.DRIVER : UserRole.CLIENT);
+    }
+
+    /**
+     * Recherche textuelle (sans accents, le dernier mot pouvant être un préfixe) dans les annonces
+     * (type=announcement) ou plannings (type=planning) publiés, classés par pertinence.
+     */
+    @GetMapping("/trips")
+    public Mono<PageResponse<Product>> searchTrips(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "announcement") String type,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        log.info("-> Requête PUBLIQUE reçue pour GET /api/search/trips (q='{}', type {})", q, type);
+        boolean planning = "planning".equalsIgnoreCase(type);
+        if (!planning && !"announcement".equalsIgnoreCase(type)) {
+            return Mono.error(new IllegalArgumentException("Type de recherche inconnu : " + type));
+        }
+        return Mono.fromCallable(() -> tripSearchIndex.search(
+                        planning ? PLANNING_CATEGORY_UUID : ANNOUNCEMENT_CATEGORY_UUID, q, from, to, cursor, limit))
+                .flatMap(page -> authorEnrichmentService.enrichPage(page, planning ? UserRole.DRIVER : UserRole.CLIENT));
+    }
+
+    private static LocalDateTime[] parseSlot(String slot) {
+        String[] parts = slot.split("/", 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Créneau invalide : " + slot);
+        }
+        LocalDateTime start = LocalDateTime.parse(parts[0].trim());
+        String endText = parts[1].trim();
+        LocalDateTime end = endText.contains("T")
+                ? LocalDateTime.parse(endText)
+                : start.toLocalDate().atTime(LocalTime.parse(endText));
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("La fin du créneau doit suivre son début : " + slot);
+        }
+        return new LocalDateTime[] { start, end };
+    }
+}
@@ -4,9 +4,11 @@
 package com.freelance.driver_backend.controller;
 
 import com.freelance.driver_backend.dto.CreateProductRequest; // Ajouté pour les méthodes POST/PUT
+import com.freelance.driver_backend.dto.PageResponse;
 import com.freelance.driver_backend.dto.UserSessionContextDto; // Nouveau import
 import com.freelance.driver_backend.model.DriverProfile; // Nouveau import
 import com.freelance.driver_backend.model.Product;
+import com.freelance.driver_backend.service.ProductCatalogService;
 import com.freelance.driver_backend.service.ProfileService;
 import com.freelance.driver_backend.service.ResourceService;
 import com.freelance.driver_backend.util.JwtUtil; // Ajouté pour les méthodes POST/PUT
@@ -20,7 +22,6 @@ import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -31,6 +32,7 @@ public class ExperienceController {
 
     private final ProfileService profileService;
     private final ResourceService resourceService;
+    private final ProductCatalogService productCatalogService;
 
     // UUID fixe pour la catégorie "expériences"
     private static final UUID EXPERIENCE_CATEGORY_ID = UUID.fromString("e1f2a3b4-c5d6-7890-1234-567890abcdef");
@@ -42,19 +44,15 @@ public class ExperienceController {
      * PUBLIC: Récupère les expériences d'un utilisateur spécifique par son ID.
      */
     @GetMapping("/user/{userId}")
-    public Flux<Product> getExperiencesForUser(
+    public Mono<PageResponse<Product>> getExperiencesForUser(
             @PathVariable UUID userId,
-            @RequestHeader(value = "Authorization", required = false) String authorizationHeader
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
     ) {
         log.info("▶️ [ExperienceController] Récupération des expériences pour l'utilisateur ID: {}", userId);
 
-        String token = Optional.ofNullable(authorizationHeader).orElse(null);
-
-        // MODIFIÉ : Récupère l'organisation ID du userId spécifié.
-        // Puis, filtre les produits de cette organisation qui appartiennent à ce userId.
-        return profileService.findOrganisationIdByUserId(userId)
-                .flatMapMany(orgId -> resourceService.getProductsByCategory(orgId, EXPERIENCE_CATEGORY_ID, token, null)
-                                                    .filter(product -> userId.equals(product.getClientId())));
+        return productCatalogService.getProductsPageByAuthor(userId, EXPERIENCE_CATEGORY_ID, cursor, limit);
     }
     
     /**
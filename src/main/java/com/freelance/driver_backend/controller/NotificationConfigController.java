@@ -17,11 +17,9 @@ import com.freelance.driver_backend.model.EmailTemplate;
 import com.freelance.driver_backend.model.FirebaseSetting;
 import com.freelance.driver_backend.model.PushTemplate;
 import com.freelance.driver_backend.model.SmtpSetting;
-import com.freelance.driver_backend.repository.DesignTemplateRepository;
-import com.freelance.driver_backend.repository.EmailTemplateRepository;
 import com.freelance.driver_backend.repository.FirebaseSettingRepository;
-import com.freelance.driver_backend.repository.PushTemplateRepository;
-import com.freelance.driver_backend.repository.SmtpSettingRepository;
+import com.freelance.driver_backend.service.EmailTemplateRegistry;
+import com.freelance.driver_backend.service.PushTemplateRegistry;
 import com.freelance.driver_backend.service.external.NotificationService;
 
 import lombok.RequiredArgsConstructor;
@@ -32,12 +30,10 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class NotificationConfigController {
 
-    private final SmtpSettingRepository smtpSettingRepository;
-    private final DesignTemplateRepository designTemplateRepository;
-    private final EmailTemplateRepository emailTemplateRepository;
+    private final EmailTemplateRegistry emailTemplateRegistry;
     private final NotificationService notificationService;
     private final FirebaseSettingRepository firebaseSettingRepository;
-    private final PushTemplateRepository pushTemplateRepository;
+    private final PushTemplateRegistry pushTemplateRegistry;
 
     @PostMapping("/smtp-settings")
     public Mono<SmtpSetting> createSmtpSetting(@PathVariable UUID organizationId, @RequestBody SmtpSetting setting) {
@@ -46,7 +42,7 @@ public class NotificationConfigController {
             setting.setId(UUID.randomUUID());
         }
         setting.setOrganizationId(organizationId);
-        return smtpSettingRepository.save(setting);
+        return emailTemplateRegistry.saveSmtpSetting(setting);
     }
 
     @PostMapping("/design-templates")
@@ -56,7 +52,7 @@ public class NotificationConfigController {
             template.setId(UUID.randomUUID());
         }
         template.setOrganizationId(organizationId);
-        return designTemplateRepository.save(template);
+        return emailTemplateRegistry.saveDesignTemplate(template); // Enregistre aussi la nouvelle version du modèle
     }
 
     @PostMapping("/email-templates")
@@ -66,7 +62,7 @@ public class NotificationConfigController {
             template.setId(UUID.randomUUID());
         }
         template.setOrganizationId(organizationId);
-        return emailTemplateRepository.save(template);
+        return emailTemplateRegistry.saveEmailTemplate(template);
     }
 
      @PostMapping("/send-test-email")
@@ -105,7 +101,7 @@ public class NotificationConfigController {
             template.setId(UUID.randomUUID());
         }
         template.setOrganizationId(organizationId);
-        return pushTemplateRepository.save(template);
+        return pushTemplateRegistry.save(template); // Remplace aussi la version compilée en cache
     }
     
 }
\ No newline at end of file
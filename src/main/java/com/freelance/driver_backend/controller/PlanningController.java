@@ -3,15 +3,29 @@ package com.freelance.driver_backend.controller;
 
 import com.corundumstudio.socketio.SocketIOServer;
 import com.freelance.driver_backend.dto.CreateProductRequest;
+import com.freelance.driver_backend.dto.PageResponse;
 import com.freelance.driver_backend.dto.UserSessionContextDto;
 import com.freelance.driver_backend.model.ClientProfile;
 import com.freelance.driver_backend.model.DriverProfile;
 import com.freelance.driver_backend.model.Product;
+import com.freelance.driver_backend.model.TripMatch;
+import com.freelance.driver_backend.model.ProductByAuthor;
+import com.freelance.driver_backend.model.ProductByAuthorStatus;
+import com.freelance.driver_backend.model.ProductByReserver;
+import com.freelance.driver_backend.model.ProductFeedEntry;
 import com.freelance.driver_backend.model.ProductKey;
+import com.freelance.driver_backend.repository.ProductByAuthorRepository;
+import com.freelance.driver_backend.repository.ProductByAuthorStatusRepository;
+import com.freelance.driver_backend.repository.ProductByReserverRepository;
 import com.freelance.driver_backend.repository.ProductRepository;
+import com.freelance.driver_backend.service.AuthorEnrichmentService;
 import com.freelance.driver_backend.service.NotificationTriggerService;
+import com.freelance.driver_backend.service.ProductBookingService;
+import com.freelance.driver_backend.service.ProductFeedService;
 import com.freelance.driver_backend.service.ProfileService;
 import com.freelance.driver_backend.service.ResourceService;
+import com.freelance.driver_backend.service.TripMatchService;
+import com.freelance.driver_backend.util.CursorUtil;
 import com.freelance.driver_backend.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +36,8 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -33,31 +49,50 @@ public class PlanningController {
     private final ResourceService resourceService;
     private final ProfileService profileService;
     private final ProductRepository productRepository;
+    private final ProductByAuthorRepository productByAuthorRepository;
+    private final ProductByAuthorStatusRepository productByAuthorStatusRepository;
+    private final ProductByReserverRepository productByReserverRepository;
+    private final ProductBookingService productBookingService;
+    private final AuthorEnrichmentService authorEnrichmentService;
+    private final ProductFeedService productFeedService;
+    private final TripMatchService tripMatchService;
     private final NotificationTriggerService notificationTriggerService;
     private final SocketIOServer socketIOServer;
 
     private static final UUID PLANNING_CATEGORY_ID = UUID.fromString("ba75b2c0-30a8-11f0-a5b5-bb7d33c83c13");
 
     /**
-     * PUBLIC: Récupère tous les plannings publiés par les chauffeurs.
+     * PUBLIC: Récupère une page des plannings publiés par les chauffeurs.
+     * Avec "from" et/ou "to" (ISO-8601), seuls les plannings dont le départ est dans la fenêtre sont renvoyés.
      */
     @GetMapping("/published")
-    public Flux<Product> getPublishedPlannings() {
+    public Mono<PageResponse<Product>> getPublishedPlannings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
         log.info("Controller: Requête publique pour récupérer les plannings publiés.");
-        return productRepository.findByCategoryId(PLANNING_CATEGORY_ID)
-                .filter(product -> "Published".equalsIgnoreCase(product.getStatus())) // Seuls les plannings "Published"
-                .flatMap(this::enrichProductWithAuthorDetails);
+        Mono<PageResponse<Product>> page = from == null && to == null
+                ? productFeedService.findPublishedPage(PLANNING_CATEGORY_ID, cursor, limit) // Seuls les plannings "Published", du plus récent au plus ancien
+                : productFeedService.findPublishedInWindowPage(PLANNING_CATEGORY_ID, from, to, cursor, limit); // Départ dans [from, to[, par heure de départ
+        return page.flatMap(this::enrichPageWithAuthorDetails);
     }
 
     /**
      * PUBLIC: Récupère les plannings publiés d'un chauffeur spécifique.
      */
     @GetMapping("/user/{userId}")
-    public Flux<Product> getPlanningsForUser(@PathVariable UUID userId) {
+    public Mono<PageResponse<Product>> getPlanningsForUser(
+            @PathVariable UUID userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         log.info("Récupération des plannings publiés pour le chauffeur ID: {}", userId);
-        return productRepository.findByClientIdAndCategoryId(userId, PLANNING_CATEGORY_ID)
-                .filter(product -> "Published".equalsIgnoreCase(product.getStatus()))
-                .flatMap(this::enrichProductWithAuthorDetails);
+        // Partition des seuls plannings publiés du chauffeur : chaque page est pleine.
+        return Mono.fromCallable(() -> CursorUtil.pageRequest(cursor, limit))
+                .flatMap(pageRequest -> productByAuthorStatusRepository.findByKeyClientIdAndKeyCategoryIdAndKeyStatusBucket(
+                        userId, PLANNING_CATEGORY_ID, ProductFeedEntry.normalizeStatus(ProductFeedService.STATUS_PUBLISHED), pageRequest))
+                .map(slice -> CursorUtil.toPage(slice).map(ProductByAuthorStatus::toProduct))
+                .flatMap(this::enrichPageWithAuthorDetails);
     }
 
     /**
@@ -65,16 +100,19 @@ public class PlanningController {
      * Inclut aussi ceux en attente de confirmation ou confirmés.
      */
     @GetMapping
-    public Flux<Product> getAllPlanningsForCurrentUser(@AuthenticationPrincipal Mono<Jwt> jwtMono,
-                                                        @RequestHeader("Authorization") String authorizationHeader) {
+    public Mono<PageResponse<Product>> getAllPlanningsForCurrentUser(@AuthenticationPrincipal Mono<Jwt> jwtMono,
+                                                        @RequestHeader("Authorization") String authorizationHeader,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer limit) {
         return jwtMono
             .flatMap(jwt -> profileService.getUserSessionContext(JwtUtil.getUserIdFromToken(jwt), authorizationHeader, null))
-            .flatMapMany(userContext -> {
+            .flatMap(userContext -> {
                 if (userContext.getDriverProfile() == null) {
-                     return Flux.error(new IllegalStateException("L'utilisateur n'est pas un chauffeur."));
+                     return Mono.error(new IllegalStateException("L'utilisateur n'est pas un chauffeur."));
                 }
-                // Récupère tous les plannings où ce chauffeur est le client_id (auteur)
-                return productRepository.findByClientIdAndCategoryId(userContext.getUserId(), PLANNING_CATEGORY_ID);
+                // Récupère les plannings où ce chauffeur est le client_id (auteur)
+                return productByAuthorRepository.findByKeyClientIdAndKeyCategoryId(userContext.getUserId(), PLANNING_CATEGORY_ID, CursorUtil.pageRequest(cursor, limit))
+                        .map(slice -> CursorUtil.toPage(slice).map(ProductByAuthor::toProduct));
             });
     }
 
@@ -113,12 +151,25 @@ public class PlanningController {
 
                 return resourceService.createProduct(userContext.getOrganisation().getOrganizationId(), request, authorizationHeader, null);
             })
+            .flatMap(tripMatchService::refreshMatches) // Annonces compatibles calculées dès la création
             .map(createdProduct -> {
                 log.info("✅ [PlanningController.createPlanning] Planning créé avec succès. ID: {}", createdProduct.getId());
                 return new ResponseEntity<>(createdProduct, HttpStatus.CREATED);
             });
     }
 
+    /**
+     * SECURISE (CONDUCTEUR): Annonces compatibles avec un planning du conducteur connecté, de la plus compatible à la moins compatible.
+     */
+    @GetMapping("/{planningId}/matches")
+    public Flux<TripMatch> getPlanningMatches(
+            @PathVariable UUID planningId,
+            @AuthenticationPrincipal Mono<Jwt> jwtMono,
+            @RequestParam(required = false) Integer limit) {
+        return jwtMono
+            .flatMapMany(jwt -> tripMatchService.findMatchesForAuthor(planningId, JwtUtil.getUserIdFromToken(jwt), limit));
+    }
+
     /**
      * SECURISE (CONDUCTEUR): Met à jour un planning appartenant au conducteur connecté.
      */
@@ -147,6 +198,7 @@ public class PlanningController {
                             resourceService.updateProduct(userContext.getOrganisation().getOrganizationId(), planningId, request, authorizationHeader, null)
                         );
             })
+            .flatMap(tripMatchService::refreshMatches) // Annonces compatibles recalculées après la modification
             .doOnSuccess(updatedPlanning -> {
                 if (updatedPlanning != null) {
                     socketIOServer.getBroadcastOperations().sendEvent("updated_planning", updatedPlanning);
@@ -181,6 +233,7 @@ public class PlanningController {
                         .switchIfEmpty(Mono.error(new SecurityException("Le chauffeur n'est pas autorisé à supprimer ce planning ou il n'existe pas.")))
                         .flatMap(existingPlanning ->
                             resourceService.deleteProduct(userContext.getOrganisation().getOrganizationId(), planningId, authorizationHeader, null)
+                                    .then(tripMatchService.deleteMatches(planningId)) // Paires du trajet retirées des deux côtés
                         );
             })
             .then(Mono.just(new ResponseEntity<Void>(HttpStatus.NO_CONTENT)));
@@ -208,19 +261,18 @@ public class PlanningController {
                 }
                 ClientProfile clientProfile = clientContext.getClientProfile();
                 
-                return productRepository.findById(new ProductKey(clientContext.getOrganisation().getOrganizationId(), planningId))
+                // Le planning appartient à l'organisation du chauffeur : on le retrouve par son seul identifiant.
+                return productRepository.findByProductId(planningId)
                     .flatMap(planning -> {
                         if (planning.getReservedByDriverId() != null) {
                             return Mono.error(new IllegalStateException("Ce planning a déjà une demande de réservation ou est déjà réservé."));
                         }
                         
                         // Met l'ID du client demandeur dans reservedByDriverId (qui représente ici le client ayant fait la demande)
-                        planning.setReservedByDriverId(clientProfile.getUserId());
-                        planning.setReservedByDriverName(clientProfile.getFirstName() + " " + clientProfile.getLastName());
-                        planning.setStatus("PendingDriverConfirmation"); // NOUVEAU STATUT
                         log.info("Client {} demande la réservation du planning {}. Statut mis à jour à 'PendingDriverConfirmation'.", clientProfile.getUserId(), planningId);
                         
-                        return productRepository.save(planning);
+                        return productBookingService.reserve(planning, clientProfile.getUserId(),
+                                clientProfile.getFirstName() + " " + clientProfile.getLastName(), "PendingDriverConfirmation");
                     })
                     .flatMap(updatedPlanning -> 
                         profileService.findDriverById(updatedPlanning.getClientId()) // Le client_id du planning est l'ID du chauffeur
@@ -257,21 +309,20 @@ public class PlanningController {
                 }
                 DriverProfile driverProfile = driverContext.getDriverProfile();
 
-                return productRepository.findById(new ProductKey(driverContext.getOrganisation().getOrganizationId(), planningId))
+                return productRepository.findByProductId(planningId)
                     .flatMap(planning -> {
                         // Vérifier que le chauffeur connecté est bien l'auteur du planning
                         if (!planning.getClientId().equals(driverContext.getUserId())) {
                             return Mono.error(new SecurityException("Vous n'êtes pas l'auteur de ce planning."));
                         }
                         // Vérifier que le statut est bien "PendingDriverConfirmation" et que le client à confirmer est celui qui a fait la demande
-                        if (!"PendingDriverConfirmation".equalsIgnoreCase(planning.getStatus()) || !planning.getReservedByDriverId().equals(clientId)) {
+                        if (!"PendingDriverConfirmation".equalsIgnoreCase(planning.getStatus()) || !clientId.equals(planning.getReservedByDriverId())) {
                              return Mono.error(new IllegalStateException("Ce planning n'est pas en attente de confirmation pour ce client, ou le statut est incorrect."));
                         }
 
-                        planning.setStatus("Ongoing"); // Statut final
-                        log.info("Chauffeur {} a confirmé la réservation du client {} pour le planning {}. Statut mis à jour à 'Ongoing'.", driverProfile.getUserId(), clientId, planningId);
+                        log.info("Chauffeur {} confirme la réservation du client {} pour le planning {}. Statut mis à jour à 'Ongoing'.", driverProfile.getUserId(), clientId, planningId);
                         
-                        return productRepository.save(planning);
+                        return productBookingService.updateStatus(planning, clientId, "PendingDriverConfirmation", "Ongoing"); // Statut final
                     })
                     .flatMap(updatedPlanning -> 
                         profileService.findClientById(clientId) // Retrouver le profil du client pour la notification
@@ -307,7 +358,7 @@ public class PlanningController {
                 }
                 ClientProfile clientProfile = clientContext.getClientProfile();
 
-                return productRepository.findById(new ProductKey(clientContext.getOrganisation().getOrganizationId(), planningId))
+                return productRepository.findByProductId(planningId)
                     .flatMap(planning -> {
                         // Vérifier que le client connecté est bien celui qui a demandé ou réservé
                         if (!clientProfile.getUserId().equals(planning.getReservedByDriverId())) {
@@ -318,12 +369,10 @@ public class PlanningController {
                             return Mono.error(new IllegalStateException("Le planning n'est pas dans un état permettant l'annulation de réservation (statut actuel: " + planning.getStatus() + ")."));
                         }
 
-                        planning.setReservedByDriverId(null);
-                        planning.setReservedByDriverName(null);
-                        planning.setStatus("Published"); // Revenir au statut "Published"
-                        log.info("Client {} a annulé sa demande/réservation pour le planning {}. Statut remis à 'Published'.", clientProfile.getUserId(), planningId);
+                        log.info("Client {} annule sa demande/réservation pour le planning {}. Statut remis à 'Published'.", clientProfile.getUserId(), planningId);
                         
-                        return productRepository.save(planning);
+                        // Revenir au statut "Published", à condition que la réservation n'ait pas changé entre-temps
+                        return productBookingService.release(planning, clientProfile.getUserId(), List.of("PendingDriverConfirmation", "Ongoing"), "Published");
                     })
                     .flatMap(updatedPlanning -> 
                         profileService.findDriverById(updatedPlanning.getClientId()) // L'auteur du planning est le chauffeur
@@ -342,38 +391,28 @@ public class PlanningController {
      * SECURISE (CLIENT): Récupère les plannings que le client connecté a réservés ou demandés.
      */
     @GetMapping("/my-reservations")
-    public Flux<Product> getMyReservedRides(@AuthenticationPrincipal Mono<Jwt> jwtMono,
-                                            @RequestHeader("Authorization") String authorizationHeader) {
+    public Mono<PageResponse<Product>> getMyReservedRides(@AuthenticationPrincipal Mono<Jwt> jwtMono,
+                                            @RequestHeader("Authorization") String authorizationHeader,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer limit) {
         return jwtMono
             .flatMap(jwt -> profileService.getUserSessionContext(JwtUtil.getUserIdFromToken(jwt), authorizationHeader, null))
-            .flatMapMany(userContext -> {
+            .flatMap(userContext -> {
                  if (userContext.getClientProfile() == null) {
-                     return Flux.error(new IllegalStateException("L'utilisateur n'est pas un client."));
+                     return Mono.error(new IllegalStateException("L'utilisateur n'est pas un client."));
                 }
                 log.info("Récupération des courses réservées/demandées par le client {}", userContext.getUserId());
                 // Filtrer les plannings où ce client est le "reservedByDriverId"
-                return productRepository.findByReservedByDriverId(userContext.getUserId())
-                            .flatMap(this::enrichProductWithAuthorDetails); // Enrichir avec les détails du chauffeur (auteur du planning)
+                return productByReserverRepository.findByKeyReservedByDriverId(userContext.getUserId(), CursorUtil.pageRequest(cursor, limit))
+                            .map(slice -> CursorUtil.toPage(slice).map(ProductByReserver::toProduct))
+                            .flatMap(this::enrichPageWithAuthorDetails); // Enrichir avec les détails du chauffeur (auteur du planning)
             });
     }
 
     /**
-     * Méthode privée pour enrichir un produit avec les détails de son auteur (chauffeur).
+     * Enrichit les plannings d'une page avec les détails de leur auteur, résolus par lots.
      */
-    private Mono<Product> enrichProductWithAuthorDetails(Product product) {
-        UUID authorId = product.getClientId();
-        if (authorId == null) {
-            return Mono.just(product);
-        }
-
-        return profileService.findDriverById(authorId)
-            .map(driverProfile -> {
-                product.setAuthorId(driverProfile.getUserId());
-                product.setAuthorName(driverProfile.getFirstName() + " " + driverProfile.getLastName());
-                product.setAuthorPhoneNumber(driverProfile.getPhoneNumber());
-                product.setAuthorProfileImageUrl(driverProfile.getProfileImageUrl());
-                return product;
-            })
-            .defaultIfEmpty(product);
+    private Mono<PageResponse<Product>> enrichPageWithAuthorDetails(PageResponse<Product> page) {
+        return authorEnrichmentService.enrichPage(page, UserSessionContextDto.UserRole.DRIVER);
     }
 }
\ No newline at end of file
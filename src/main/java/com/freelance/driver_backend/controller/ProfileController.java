@@ -6,7 +6,9 @@ package com.freelance.driver_backend.controller;
 
 import com.freelance.driver_backend.dto.UserSessionContextDto;
 import com.freelance.driver_backend.model.ClientProfile;
+import com.freelance.driver_backend.model.DriverCard;
 import com.freelance.driver_backend.model.DriverProfile;
+import com.freelance.driver_backend.service.DriverCardService;
 import com.freelance.driver_backend.service.ProfileService;
 import com.freelance.driver_backend.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +29,7 @@ import java.util.UUID;
 public class ProfileController {
 
     private final ProfileService profileService;
+    private final DriverCardService driverCardService;
 
     /**
      * SECURISE: Récupère le profil complet de l'utilisateur actuellement connecté.
@@ -121,6 +124,16 @@ public class ProfileController {
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
+    /**
+     * PUBLIC: Récupère la carte précalculée d'un chauffeur (identité, véhicule principal, note, expérience).
+     */
+    @GetMapping("/user/{userId}/card")
+    public Mono<ResponseEntity<DriverCard>> getDriverCard(@PathVariable UUID userId) {
+        return driverCardService.findByUserId(userId)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
     /**
      * SECURISE: Met à jour l'URL de l'avatar pour l'utilisateur connecté.
      * Cette route déclenche la mise à jour de TOUS les profils associés
@@ -6,12 +6,15 @@ package com.freelance.driver_backend.controller;
 
 import com.freelance.driver_backend.dto.RateCriteriaRequest;
 import com.freelance.driver_backend.dto.CreateReviewRequest;
-import com.freelance.driver_backend.dto.UserSessionContextDto; // Importez la nouvelle structure
-import com.freelance.driver_backend.model.ClientProfile; // Importez ClientProfile
-import com.freelance.driver_backend.model.DriverProfile; // Importez DriverProfile
+import com.freelance.driver_backend.dto.CriteriaRatingSummaryDto;
+import com.freelance.driver_backend.dto.PageResponse;
+import com.freelance.driver_backend.dto.RatingSummaryDto;
 import com.freelance.driver_backend.model.Review;
-import com.freelance.driver_backend.repository.ReviewRepository;
+import com.freelance.driver_backend.service.CriteriaRatingService;
+import com.freelance.driver_backend.service.DriverCardService;
 import com.freelance.driver_backend.service.ProfileService;
+import com.freelance.driver_backend.service.RatingAggregateService;
+import com.freelance.driver_backend.service.ReviewService;
 import com.freelance.driver_backend.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,7 +22,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Instant;
@@ -31,16 +33,24 @@ import java.util.UUID;
 @Slf4j
 public class ReviewController {
 
-    private final ReviewRepository reviewRepository;
+    private final ReviewService reviewService;
     private final ProfileService profileService;
+    private final DriverCardService driverCardService;
+    private final RatingAggregateService ratingAggregateService;
+    private final CriteriaRatingService criteriaRatingService;
 
     @PostMapping("/criteria")
-    public Mono<ResponseEntity<Void>> rateByCriteria(@RequestBody RateCriteriaRequest request) {
-        // Logique pour traiter la notation par critères
-        log.info("Received criteria rating for entity {}: {}", request.getEntityId(), request.getRatings());
-        // Ici, vous ajouteriez la logique pour sauvegarder ces évaluations.
-        // Pour l'instant, nous retournons simplement un succès.
-        return Mono.just(ResponseEntity.ok().build());
+    public Mono<ResponseEntity<Void>> rateByCriteria(@RequestBody RateCriteriaRequest request,
+                                                     @AuthenticationPrincipal Mono<Jwt> jwtMono) {
+        return jwtMono
+            .flatMap(jwt -> criteriaRatingService.rate(request, JwtUtil.getUserIdFromToken(jwt)))
+            .doOnNext(saved -> log.info("Notation par critères enregistrée pour l'entité {}: {}", saved.getKey().getEntityId(), saved.getRatings()))
+            .thenReturn(ResponseEntity.ok().<Void>build());
+    }
+
+    @GetMapping("/criteria/{entityId}")
+    public Mono<CriteriaRatingSummaryDto> getCriteriaSummary(@PathVariable String entityId) {
+        return criteriaRatingService.findSummary(entityId);
     }
 
     @PostMapping
@@ -82,34 +92,25 @@ public class ReviewController {
                 
                 review.setCreatedAt(Instant.now().toEpochMilli());
                 
-                return reviewRepository.save(review);
+                return reviewService.save(review);
             })
+            .flatMap(saved -> ratingAggregateService.recordReview(saved).thenReturn(saved)) // N'échoue pas : l'avis est déjà stocké
+            .flatMap(saved -> driverCardService.refresh(saved.getTargetUserId()).thenReturn(saved)) // Note de la carte, si l'utilisateur noté est chauffeur
             .map(ResponseEntity::ok);
     }
 
     @GetMapping("/user/{userId}")
-    public Flux<Review> getReviewsForUser(@PathVariable UUID userId,
-                                          @RequestHeader(value = "Authorization", required = false) String authorizationHeader) {
+    public Mono<PageResponse<Review>> getReviewsForUser(@PathVariable UUID userId,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) Integer limit) {
         log.info("Récupération des avis pour l'utilisateur ID: {}", userId);
-        return reviewRepository.findByTargetUserId(userId)
-                .flatMap(review -> enrichReviewWithAuthorDetails(review, authorizationHeader)); // Passer l'header
+        // Les informations de l'auteur sont celles stockées sur l'avis, tenues à jour par ReviewService.
+        return reviewService.findByTargetUserIdPage(userId, cursor, limit);
     }
 
-    // MODIFIÉ : Prend l'Authorization header pour pouvoir appeler getUserSessionContext
-    private Mono<Review> enrichReviewWithAuthorDetails(Review review, String authorizationHeader) {
-        return profileService.getUserSessionContext(review.getAuthorId(), authorizationHeader, null) // Utilise getUserSessionContext
-            .flatMap(authorContext -> {
-                if (authorContext.getDriverProfile() != null) {
-                    review.setAuthorFirstName(authorContext.getDriverProfile().getFirstName());
-                    review.setAuthorLastName(authorContext.getDriverProfile().getLastName());
-                    review.setAuthorProfileImageUrl(authorContext.getDriverProfile().getProfileImageUrl());
-                } else if (authorContext.getClientProfile() != null) {
-                    review.setAuthorFirstName(authorContext.getClientProfile().getFirstName());
-                    review.setAuthorLastName(authorContext.getClientProfile().getLastName());
-                    review.setAuthorProfileImageUrl(authorContext.getClientProfile().getProfileImageUrl());
-                }
-                return Mono.just(review);
-            })
-            .defaultIfEmpty(review); // En cas d'erreur ou d'absence de profil, on renvoie l'avis sans les détails enrichis
+    @GetMapping("/user/{userId}/summary")
+    public Mono<RatingSummaryDto> getRatingSummary(@PathVariable UUID userId) {
+        return ratingAggregateService.findByUserId(userId)
+                .map(RatingSummaryDto::of);
     }
-}
\ No newline at end of file
+}
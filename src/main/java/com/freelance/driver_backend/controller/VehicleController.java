@@ -4,9 +4,11 @@
 package com.freelance.driver_backend.controller;
 
 import com.freelance.driver_backend.dto.CreateProductRequest; // Ajouté pour les méthodes POST/PUT
+import com.freelance.driver_backend.dto.PageResponse;
 import com.freelance.driver_backend.dto.UserSessionContextDto; // Nouveau import
 import com.freelance.driver_backend.model.DriverProfile; // Nouveau import
 import com.freelance.driver_backend.model.Product;
+import com.freelance.driver_backend.service.ProductCatalogService;
 import com.freelance.driver_backend.service.ProfileService;
 import com.freelance.driver_backend.service.ResourceService;
 import com.freelance.driver_backend.util.JwtUtil;
@@ -20,7 +22,6 @@ import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -31,6 +32,7 @@ public class VehicleController {
 
     private final ProfileService profileService;
     private final ResourceService resourceService;
+    private final ProductCatalogService productCatalogService;
 
     private static final UUID VEHICLE_CATEGORY_ID = UUID.fromString("e2a7f23e-a3a3-4b0c-852a-227a1c1d6a7e");
 
@@ -38,24 +40,24 @@ public class VehicleController {
      * SECURISE: Récupère tous les véhicules du chauffeur actuellement connecté.
      */
     @GetMapping
-    public Flux<Product> getMyVehicles(
+    public Mono<PageResponse<Product>> getMyVehicles(
             @AuthenticationPrincipal Mono<Jwt> jwtMono,
-            @RequestHeader("Authorization") String authorizationHeader) {
+            @RequestHeader("Authorization") String authorizationHeader,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
 
         return jwtMono
             .flatMap(jwt -> profileService.getUserSessionContext(JwtUtil.getUserIdFromToken(jwt), authorizationHeader, null))
-            .flatMapMany(userContext -> {
+            .flatMap(userContext -> {
                 // Seuls les chauffeurs peuvent avoir des véhicules
                 if (userContext.getDriverProfile() == null) {
-                    return Flux.error(new IllegalStateException("Seuls les chauffeurs peuvent gérer leurs véhicules."));
+                    return Mono.error(new IllegalStateException("Seuls les chauffeurs peuvent gérer leurs véhicules."));
                 }
                 if (userContext.getOrganisation() == null || userContext.getOrganisation().getOrganizationId() == null) {
-                    return Flux.error(new IllegalStateException("L'utilisateur n'a pas d'organisation valide associée."));
+                    return Mono.error(new IllegalStateException("L'utilisateur n'a pas d'organisation valide associée."));
                 }
-                UUID organizationId = userContext.getOrganisation().getOrganizationId();
-                // Filtre les produits par categoryId ET clientId (chauffeur connecté)
-                return resourceService.getProductsByCategory(organizationId, VEHICLE_CATEGORY_ID, authorizationHeader, null)
-                                      .filter(product -> userContext.getUserId().equals(product.getClientId()));
+                // Partition des véhicules du chauffeur connecté (products_by_author)
+                return productCatalogService.getProductsPageByAuthor(userContext.getUserId(), VEHICLE_CATEGORY_ID, cursor, limit);
             });
     }
 
@@ -64,19 +66,15 @@ public class VehicleController {
      * Cette route devrait idéalement être utilisée pour afficher les véhicules d'un CHAUFFEUR public.
      */
     @GetMapping("/user/{userId}")
-    public Flux<Product> getVehiclesForUser(
+    public Mono<PageResponse<Product>> getVehiclesForUser(
             @PathVariable UUID userId,
-            @RequestHeader(value = "Authorization", required = false) String authorizationHeader
+            @RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
     ) {
         log.info("▶️ [VehicleController] Récupération des véhicules pour l'utilisateur ID: {}", userId);
 
-        String token = Optional.ofNullable(authorizationHeader).orElse(null);
-
-        // MODIFIÉ : Récupère l'organisation ID du userId spécifié.
-        // Puis, filtre les produits de cette organisation qui appartiennent à ce userId.
-        return profileService.findOrganisationIdByUserId(userId)
-                .flatMapMany(orgId -> resourceService.getProductsByCategory(orgId, VEHICLE_CATEGORY_ID, token, null)
-                                                    .filter(product -> userId.equals(product.getClientId())));
+        return productCatalogService.getProductsPageByAuthor(userId, VEHICLE_CATEGORY_ID, cursor, limit);
     }
 
     /**
@@ -29,6 +29,10 @@ public class CreateProductRequest {
     // --- Champs de Trajet (Annonces/Plannings) ---
     private String pickupLocation;
     private String dropoffLocation;
+    private Double pickupLatitude;
+    private Double pickupLongitude;
+    private Double dropoffLatitude;
+    private Double dropoffLongitude;
     private String startDate;
     private String startTime;
     private String endDate;
@@ -0,0 +1,33 @@
+package com.freelance.driver_backend.dto;
+
+import com.freelance.driver_backend.model.CriteriaRatingAggregate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Statistiques par critère des notations reçues par une entité.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CriteriaRatingSummaryDto {
+    private String entityId;
+    private List<CriterionStats> criteria;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CriterionStats {
+        private String criterion;
+        private long count;
+        private double mean;
+        private double variance;
+
+        public static CriterionStats of(CriteriaRatingAggregate aggregate) {
+            return new CriterionStats(aggregate.getCriterion(), aggregate.getRatingCount(), aggregate.mean(), aggregate.variance());
+        }
+    }
+}
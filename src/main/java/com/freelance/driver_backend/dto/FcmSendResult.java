@@ -0,0 +1,33 @@
+package com.freelance.driver_backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bilan d'un envoi FCM : nombre de messages acceptés, en échec, tokens refusés par FCM
+ * comme invalides ou désinscrits (à ne plus utiliser) et tokens en échec temporaire
+ * (quota, erreur serveur, réseau), qu'un nouvel essai peut atteindre.
+ */
+@Data
+@NoArgsConstructor
+public class FcmSendResult {
+    private long successCount;
+    private long failureCount;
+    private List<String> invalidTokens = new ArrayList<>();
+    private List<String> retryableTokens = new ArrayList<>();
+
+    public FcmSendResult merge(FcmSendResult other) {
+        successCount += other.successCount;
+        failureCount += other.failureCount;
+        invalidTokens.addAll(other.invalidTokens);
+        retryableTokens.addAll(other.retryableTokens);
+        return this;
+    }
+
+    public boolean hasSuccess() {
+        return successCount > 0;
+    }
+}
@@ -0,0 +1,31 @@
+package com.freelance.driver_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page d'une liste paginée par curseur.
+ * "next" est un jeton opaque à renvoyer dans le paramètre "cursor" ; il vaut null sur la dernière page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageResponse<T> {
+    private List<T> items;
+    private String next;
+
+    public <R> PageResponse<R> map(Function<T, R> mapper) {
+        return new PageResponse<>(items.stream().map(mapper).toList(), next);
+    }
+
+    /**
+     * Même position de curseur, avec un contenu filtré ou remplacé.
+     */
+    public <R> PageResponse<R> withItems(List<R> newItems) {
+        return new PageResponse<>(newItems, next);
+    }
+}
@@ -0,0 +1,33 @@
+package com.freelance.driver_backend.dto;
+
+import com.freelance.driver_backend.model.RatingAggregate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Résumé des notes reçues par un utilisateur : nombre d'avis, moyenne et répartition par étoiles.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingSummaryDto {
+    private UUID userId;
+    private long count;
+    private double average;
+    private Map<Integer, Long> histogram; // nombre d'étoiles -> nombre d'avis
+
+    public static RatingSummaryDto of(RatingAggregate aggregate) {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        histogram.put(1, aggregate.getStars1());
+        histogram.put(2, aggregate.getStars2());
+        histogram.put(3, aggregate.getStars3());
+        histogram.put(4, aggregate.getStars4());
+        histogram.put(5, aggregate.getStars5());
+        return new RatingSummaryDto(aggregate.getTargetUserId(), aggregate.getReviewCount(), aggregate.average(), histogram);
+    }
+}
@@ -8,12 +8,10 @@ import com.freelance.driver_backend.model.FirebaseSetting;
 import com.freelance.driver_backend.model.PushTemplate;
 import com.freelance.driver_backend.model.SmtpSetting;
 import com.freelance.driver_backend.model.mock.MockOrganisation;
-import com.freelance.driver_backend.repository.DesignTemplateRepository;
-import com.freelance.driver_backend.repository.EmailTemplateRepository;
 import com.freelance.driver_backend.repository.FirebaseSettingRepository;
-import com.freelance.driver_backend.repository.PushTemplateRepository;
-import com.freelance.driver_backend.repository.SmtpSettingRepository;
 import com.freelance.driver_backend.repository.mock.MockOrganisationRepository;
+import com.freelance.driver_backend.service.EmailTemplateRegistry;
+import com.freelance.driver_backend.service.PushTemplateRegistry;
 import io.github.cdimascio.dotenv.Dotenv;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -45,11 +43,9 @@ public class ApplicationInitializer implements CommandLineRunner {
     private String mailPassword;
 
     private final MockOrganisationRepository mockOrganisationRepository;
-    private final SmtpSettingRepository smtpSettingRepository;
     private final FirebaseSettingRepository firebaseSettingRepository;
-    private final DesignTemplateRepository designTemplateRepository;
-    private final EmailTemplateRepository emailTemplateRepository;
-    private final PushTemplateRepository pushTemplateRepository;
+    private final EmailTemplateRegistry emailTemplateRegistry;
+    private final PushTemplateRegistry pushTemplateRegistry;
 
 
     @Override
@@ -100,7 +96,7 @@ public class ApplicationInitializer implements CommandLineRunner {
         smtpSetting.setSenderEmail("mbognengj@gmail.com");
         smtpSetting.setSenderName("Freelance Driver App");
 
-        smtpSettingRepository.save(smtpSetting)
+        emailTemplateRegistry.saveSmtpSetting(smtpSetting)
             .doOnSuccess(s -> log.info("✅ Template SMTP créé/mis à jour."))
             .doOnError(e -> log.error("❌ Échec création/mise à jour SMTP: {}", e.getMessage()))
             .block();
@@ -134,7 +130,7 @@ public class ApplicationInitializer implements CommandLineRunner {
         designOtp.setSubject("Votre code de vérification : [[${otpCode}]]");
         designOtp.setHtml("<!DOCTYPE html><html xmlns:th=\"http://www.thymeleaf.org\"><body><h1>Bonjour [[${firstName}]],</h1><p>Votre code de vérification est :</p><h2 style='color: #007AFF;'>[[${otpCode}]]</h2></body></html>");
 
-        designTemplateRepository.save(designOtp)
+        emailTemplateRegistry.saveDesignTemplate(designOtp)
             .doOnSuccess(dt -> log.info("✅ DesignTemplate (OTP) créé/mis à jour."))
             .doOnError(e -> log.error("❌ Échec création/mise à jour DesignTemplate (OTP): {}", e.getMessage()))
             .block();
@@ -147,7 +143,7 @@ public class ApplicationInitializer implements CommandLineRunner {
         emailOtpTemplate.setDesignTemplateId(designEmailOtpId);
         emailOtpTemplate.setTitle("Règle envoi OTP");
 
-        emailTemplateRepository.save(emailOtpTemplate)
+        emailTemplateRegistry.saveEmailTemplate(emailOtpTemplate)
             .doOnSuccess(et -> log.info("✅ EmailTemplate (OTP) créé/mis à jour."))
             .doOnError(e -> log.error("❌ Échec création/mise à jour EmailTemplate (OTP): {}", e.getMessage()))
             .block();
@@ -158,7 +154,7 @@ public class ApplicationInitializer implements CommandLineRunner {
         pushNewPlanning.setSettingId(firebaseSettingId);
         pushNewPlanning.setTitle("Nouveau planning disponible !");
         pushNewPlanning.setBody("Le chauffeur {{driverName}} propose un trajet vers {{destination}} à {{cost}} FCFA.");
-        pushTemplateRepository.save(pushNewPlanning)
+        pushTemplateRegistry.save(pushNewPlanning)
             .doOnSuccess(pt -> log.info("✅ PushTemplate (New Planning) créé/mis à jour."))
             .doOnError(e -> log.error("❌ Échec création/mise à jour PushTemplate (New Planning): {}", e.getMessage()))
             .block();
@@ -169,7 +165,7 @@ public class ApplicationInitializer implements CommandLineRunner {
         pushNewAnnouncement.setSettingId(firebaseSettingId);
         pushNewAnnouncement.setTitle("Nouvelle course client !");
         pushNewAnnouncement.setBody("Un client a posté un nouveau trajet : {{tripTitle}}");
-        pushTemplateRepository.save(pushNewAnnouncement)
+        pushTemplateRegistry.save(pushNewAnnouncement)
             .doOnSuccess(pt -> log.info("✅ PushTemplate (New Announcement) créé/mis à jour."))
             .doOnError(e -> log.error("❌ Échec création/mise à jour PushTemplate (New Announcement): {}", e.getMessage()))
             .block();
@@ -180,7 +176,7 @@ public class ApplicationInitializer implements CommandLineRunner {
         pushAnnouncementAccepted.setSettingId(firebaseSettingId);
         pushAnnouncementAccepted.setTitle("Votre course a un chauffeur !");
         pushAnnouncementAccepted.setBody("Le chauffeur {{driverName}} a postulé pour votre trajet \"{{tripTitle}}\". Appuyez pour accepter.");
-        pushTemplateRepository.save(pushAnnouncementAccepted)
+        pushTemplateRegistry.save(pushAnnouncementAccepted)
             .doOnSuccess(pt -> log.info("✅ PushTemplate (Announcement Accepted - Postulation) créé/mis à jour."))
             .doOnError(e -> log.error("❌ Échec création/mise à jour PushTemplate (Announcement Accepted - Postulation): {}", e.getMessage()))
             .block();
@@ -191,7 +187,7 @@ public class ApplicationInitializer implements CommandLineRunner {
         pushAnnouncementConfirmed.setSettingId(firebaseSettingId);
         pushAnnouncementConfirmed.setTitle("Félicitations ! Votre postulation a été acceptée !");
         pushAnnouncementConfirmed.setBody("Le client {{clientName}} a confirmé votre postulation pour le trajet \"{{tripTitle}}\". La course est en cours !");
-        pushTemplateRepository.save(pushAnnouncementConfirmed)
+        pushTemplateRegistry.save(pushAnnouncementConfirmed)
             .doOnSuccess(pt -> log.info("✅ PushTemplate (Announcement Confirmed - Chauffeur) créé/mis à jour."))
             .doOnError(e -> log.error("❌ Échec création/mise à jour PushTemplate (Announcement Confirmed - Chauffeur): {}", e.getMessage()))
             .block();
@@ -202,7 +198,7 @@ public class ApplicationInitializer implements CommandLineRunner {
         pushPostulationCancelled.setSettingId(firebaseSettingId);
         pushPostulationCancelled.setTitle("Annulation de postulation !");
         pushPostulationCancelled.setBody("Le chauffeur {{driverName}} a annulé sa postulation pour votre annonce \"{{tripTitle}}\". L'annonce est de nouveau publiée.");
-        pushTemplateRepository.save(pushPostulationCancelled)
+        pushTemplateRegistry.save(pushPostulationCancelled)
             .doOnSuccess(pt -> log.info("✅ PushTemplate (Postulation Cancelled) créé/mis à jour."))
             .doOnError(e -> log.error("❌ Échec création/mise à jour PushTemplate (Postulation Cancelled): {}", e.getMessage()))
             .block();
@@ -214,7 +210,7 @@ public class ApplicationInitializer implements CommandLineRunner {
         pushPlanningBookingRequestedToDriver.setSettingId(firebaseSettingId);
         pushPlanningBookingRequestedToDriver.setTitle("Demande de réservation reçue !");
         pushPlanningBookingRequestedToDriver.setBody("Le client {{clientName}} souhaite réserver votre planning \"{{tripTitle}}\". Appuyez pour accepter ou refuser.");
-        pushTemplateRepository.save(pushPlanningBookingRequestedToDriver)
+        pushTemplateRegistry.save(pushPlanningBookingRequestedToDriver)
             .doOnSuccess(pt -> log.info("✅ PushTemplate (Planning Booking Requested To Driver) créé/mis à jour."))
             .doOnError(e -> log.error("❌ Échec création/mise à jour PushTemplate (Planning Booking Requested To Driver): {}", e.getMessage()))
             .block();
@@ -226,7 +222,7 @@ public class ApplicationInitializer implements CommandLineRunner {
         pushPlanningBookingAcceptedToClient.setSettingId(firebaseSettingId);
         pushPlanningBookingAcceptedToClient.setTitle("Votre réservation a été acceptée !");
         pushPlanningBookingAcceptedToClient.setBody("Le chauffeur {{driverName}} a accepté votre demande de réservation pour le planning \"{{tripTitle}}\". La course est en cours !");
-        pushTemplateRepository.save(pushPlanningBookingAcceptedToClient)
+        pushTemplateRegistry.save(pushPlanningBookingAcceptedToClient)
             .doOnSuccess(pt -> log.info("✅ PushTemplate (Planning Booking Accepted To Client) créé/mis à jour."))
             .doOnError(e -> log.error("❌ Échec création/mise à jour PushTemplate (Planning Booking Accepted To Client): {}", e.getMessage()))
             .block();
@@ -238,7 +234,7 @@ public class ApplicationInitializer implements CommandLineRunner {
         pushPlanningReservationCancelled.setSettingId(firebaseSettingId);
         pushPlanningReservationCancelled.setTitle("Réservation de planning annulée !");
         pushPlanningReservationCancelled.setBody("Le client {{clientName}} a annulé sa réservation pour votre planning \"{{tripTitle}}\". Le planning est de nouveau publié.");
-        pushTemplateRepository.save(pushPlanningReservationCancelled)
+        pushTemplateRegistry.save(pushPlanningReservationCancelled)
             .doOnSuccess(pt -> log.info("✅ PushTemplate (Planning Reservation Cancelled) créé/mis à jour."))
             .doOnError(e -> log.error("❌ Échec création/mise à jour PushTemplate (Planning Reservation Cancelled): {}", e.getMessage()))
             .block();
@@ -0,0 +1,60 @@
+package com.freelance.driver_backend.initializer;
+
+import com.freelance.driver_backend.service.ProductIndexService;
+import com.freelance.driver_backend.service.RatingAggregateService;
+import com.freelance.driver_backend.service.ReviewService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Reconstruit, si demandé, les données dérivées au démarrage. Chaque tâche est activée par sa propriété,
+ * une seule fois après une migration :
+ * - freelancedriver.products.reindex-on-startup : tables d'index des produits ;
+ * - freelancedriver.reviews.reindex-on-startup : tables dérivées des avis ("reviews_by_target", "reviews_by_author") ;
+ * - freelancedriver.reviews.backfill-aggregates-on-startup : avis antérieurs à la bascule des agrégats ("rating_baselines").
+ * Les tâches activées s'enchaînent en arrière-plan, sans retarder le démarrage ; l'échec de l'une n'empêche pas les suivantes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DataMigrationInitializer implements CommandLineRunner {
+
+    private final ProductIndexService productIndexService;
+    private final ReviewService reviewService;
+    private final RatingAggregateService ratingAggregateService;
+
+    @Value("${freelancedriver.products.reindex-on-startup:false}")
+    private boolean reindexProducts;
+
+    @Value("${freelancedriver.reviews.reindex-on-startup:false}")
+    private boolean reindexReviews;
+
+    @Value("${freelancedriver.reviews.backfill-aggregates-on-startup:false}")
+    private boolean backfillRatingAggregates;
+
+    @Override
+    public void run(String... args) {
+        step(reindexProducts, "la réindexation des produits", productIndexService::reindexAll)
+            .then(step(reindexReviews, "la réindexation des avis", reviewService::reindexAll))
+            .then(step(backfillRatingAggregates, "la construction des agrégats de notes", ratingAggregateService::backfillBaselines))
+            .subscribe();
+    }
+
+    private Mono<Void> step(boolean enabled, String label, Supplier<Mono<?>> task) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return Mono.defer(task)
+            .onErrorResume(e -> {
+                log.error("❌ Échec de {}: {}", label, e.getMessage());
+                return Mono.empty();
+            })
+            .then();
+    }
+}
@@ -0,0 +1,53 @@
+package com.freelance.driver_backend.initializer;
+
+import com.freelance.driver_backend.service.DriverAvailabilityIndex;
+import com.freelance.driver_backend.service.ProductFeedService;
+import com.freelance.driver_backend.service.TripMatchingEngine;
+import com.freelance.driver_backend.service.TripSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * Charge au démarrage les index en mémoire (recherche textuelle, rapprochement, disponibilités des chauffeurs)
+ * avec les annonces et plannings du fil ; les écritures suivantes les maintiennent à jour via ProductIndexService.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TripSearchIndexInitializer implements CommandLineRunner {
+
+    private final ProductFeedService productFeedService;
+    private final TripSearchIndex tripSearchIndex;
+    private final TripMatchingEngine tripMatchingEngine;
+    private final DriverAvailabilityIndex driverAvailabilityIndex;
+
+    @Override
+    public void run(String... args) {
+        // Exécuté en arrière-plan pour ne pas retarder le démarrage de l'application.
+        Flux.just(TripSearchIndex.ANNOUNCEMENT_CATEGORY_ID, TripSearchIndex.PLANNING_CATEGORY_ID)
+            .flatMap(productFeedService::findPublished)
+            .doOnNext(product -> {
+                tripSearchIndex.update(product);
+                tripMatchingEngine.update(product);
+                driverAvailabilityIndex.update(product);
+            })
+            .count()
+            .subscribe(
+                count -> log.info("✅ Index de recherche des trajets chargé : {} trajet(s).", tripSearchIndex.size()),
+                e -> log.error("❌ Échec du chargement de l'index de recherche des trajets: {}", e.getMessage()));
+
+        // Les plannings réservés ou en attente ne sont pas dans le fil publié mais comptent pour les disponibilités.
+        Flux.fromIterable(DriverAvailabilityIndex.BOOKED_STATUSES)
+            .concatWith(Flux.fromIterable(DriverAvailabilityIndex.OFFERING_STATUSES))
+            .filter(status -> !ProductFeedService.STATUS_PUBLISHED.equalsIgnoreCase(status))
+            .flatMap(status -> productFeedService.findByStatus(TripSearchIndex.PLANNING_CATEGORY_ID, status))
+            .doOnNext(driverAvailabilityIndex::update)
+            .count()
+            .subscribe(
+                count -> log.info("✅ Calendrier des disponibilités chargé ({} planning(s) réservé(s) ou en attente).", count),
+                e -> log.error("❌ Échec du chargement du calendrier des disponibilités: {}", e.getMessage()));
+    }
+}
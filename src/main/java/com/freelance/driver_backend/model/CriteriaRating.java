@@ -0,0 +1,31 @@
+package com.freelance.driver_backend.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Notation par critères (ponctualité, conduite, propreté...) d'une entité.
+ * Table en ajout seul : les lignes ne sont jamais relues pour calculer les moyennes,
+ * qui sont tenues à jour dans "criteria_rating_aggregates".
+ * Partitionnée par entité et par mois, pour qu'une entité très notée ne concentre pas tout dans une partition.
+ */
+@Table("criteria_ratings_by_month")
+@Data
+@NoArgsConstructor
+public class CriteriaRating {
+
+    @PrimaryKey
+    private CriteriaRatingKey key;
+
+    @Column("author_id")
+    private UUID authorId;
+
+    @Column("ratings")
+    private Map<String, Integer> ratings;
+}
@@ -0,0 +1,52 @@
+package com.freelance.driver_backend.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.CassandraType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+/**
+ * Agrégat courant d'un critère pour une entité (table de compteurs) : nombre de notes,
+ * somme et somme des carrés, d'où se déduisent la moyenne et la variance.
+ */
+@Table("criteria_rating_aggregates")
+@Data
+@NoArgsConstructor
+public class CriteriaRatingAggregate {
+
+    @PrimaryKeyColumn(name = "entity_id", ordinal = 0, type = PrimaryKeyType.PARTITIONED)
+    private String entityId;
+
+    @PrimaryKeyColumn(name = "criterion", ordinal = 1, type = PrimaryKeyType.CLUSTERED)
+    private String criterion;
+
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    @Column("rating_count")
+    private long ratingCount;
+
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    @Column("score_sum")
+    private long scoreSum;
+
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    @Column("score_sum_sq")
+    private long scoreSumSq;
+
+    public double mean() {
+        return ratingCount == 0 ? 0 : (double) scoreSum / ratingCount;
+    }
+
+    /**
+     * Variance de population des notes du critère.
+     */
+    public double variance() {
+        if (ratingCount == 0) {
+            return 0;
+        }
+        double mean = mean();
+        return Math.max(0, (double) scoreSumSq / ratingCount - mean * mean);
+    }
+}
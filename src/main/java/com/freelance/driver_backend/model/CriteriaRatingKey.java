@@ -0,0 +1,41 @@
+package com.freelance.driver_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.Ordering;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyClass;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+@PrimaryKeyClass
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CriteriaRatingKey implements Serializable {
+    @PrimaryKeyColumn(name = "entity_id", ordinal = 0, type = PrimaryKeyType.PARTITIONED)
+    private String entityId;
+
+    @PrimaryKeyColumn(name = "month_bucket", ordinal = 1, type = PrimaryKeyType.PARTITIONED)
+    private LocalDate monthBucket; // Premier jour (UTC) du mois de la notation : une partition par entité et par mois
+
+    @PrimaryKeyColumn(name = "created_at", ordinal = 2, type = PrimaryKeyType.CLUSTERED, ordering = Ordering.DESCENDING)
+    private long createdAt;
+
+    @PrimaryKeyColumn(name = "id", ordinal = 3, type = PrimaryKeyType.CLUSTERED)
+    private UUID id;
+
+    public static CriteriaRatingKey of(String entityId, long createdAt, UUID id) {
+        return new CriteriaRatingKey(entityId, monthBucketOf(createdAt), createdAt, id);
+    }
+
+    public static LocalDate monthBucketOf(long epochMilli) {
+        return Instant.ofEpochMilli(epochMilli).atZone(ZoneOffset.UTC).toLocalDate().withDayOfMonth(1);
+    }
+}
@@ -0,0 +1,69 @@
+package com.freelance.driver_backend.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Carte publique d'un chauffeur (identité, véhicule principal, note, expérience), précalculée
+ * à chaque écriture de son profil, de ses véhicules, de ses expériences ou d'un avis le concernant.
+ * Les pages de recherche lisent une seule ligne par chauffeur.
+ */
+@Table("driver_cards")
+@Data
+@NoArgsConstructor
+public class DriverCard {
+
+    @PrimaryKey("user_id")
+    private UUID userId;
+
+    @Column("first_name")
+    private String firstName;
+
+    @Column("last_name")
+    private String lastName;
+
+    @Column("nickname")
+    private String nickname;
+
+    @Column("profile_image_url")
+    private String profileImageUrl;
+
+    @Column("language")
+    private String language;
+
+    // --- Véhicule principal (le plus récemment ajouté) ---
+    @Column("primary_vehicle_id")
+    private UUID primaryVehicleId;
+
+    @Column("primary_vehicle_name")
+    private String primaryVehicleName;
+
+    @Column("primary_vehicle_description")
+    private String primaryVehicleDescription;
+
+    @Column("vehicle_count")
+    private int vehicleCount;
+
+    // --- Note ---
+    @Column("rating_average")
+    private double ratingAverage;
+
+    @Column("rating_count")
+    private long ratingCount;
+
+    // --- Expérience ---
+    @Column("experience_count")
+    private int experienceCount;
+
+    @Column("latest_experience")
+    private String latestExperience;
+
+    @Column("updated_at")
+    private Instant updatedAt;
+}
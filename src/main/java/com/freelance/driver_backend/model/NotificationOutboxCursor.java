@@ -0,0 +1,23 @@
+package com.freelance.driver_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+/**
+ * Premier bucket de l'outbox encore susceptible de contenir des lignes, par shard.
+ * Les buckets antérieurs ont été vidés et ne sont plus relus par les workers.
+ */
+@Table("notification_outbox_cursors")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NotificationOutboxCursor {
+
+    @PrimaryKey
+    private int shard;
+
+    private long bucket;
+}
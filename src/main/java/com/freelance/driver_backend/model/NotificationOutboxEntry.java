@@ -0,0 +1,81 @@
+package com.freelance.driver_backend.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Notification push en attente d'envoi. Les lignes sont réparties sur un petit nombre de shards et rangées
+ * par minute d'échéance (bucket) : un envoi à réessayer est déplacé dans le bucket de son prochain essai,
+ * si bien qu'un bucket passé ne reçoit plus de lignes et n'est plus relu une fois vidé.
+ * Un worker ne traite une ligne qu'après l'avoir louée (lease_owner, lease_until) par une écriture conditionnelle ;
+ * la ligne est supprimée une fois l'envoi terminé.
+ */
+@Table("notification_outbox")
+@Data
+@NoArgsConstructor
+public class NotificationOutboxEntry {
+
+    @PrimaryKey
+    private NotificationOutboxKey key;
+
+    @Column("organization_id")
+    private UUID organizationId;
+
+    @Column("template_id")
+    private UUID templateId;
+
+    @Column("recipient_ids")
+    private List<UUID> recipientIds;
+
+    // Tokens restant à atteindre (token -> utilisateur). Null tant que les tokens des destinataires n'ont pas été lus.
+    @Column("pending_tokens")
+    private Map<String, UUID> pendingTokens;
+
+    private Map<String, String> metadata;
+
+    private Map<String, String> data;
+
+    private int attempts;
+
+    @Column("success_count")
+    private long successCount;
+
+    @Column("created_at")
+    private long createdAt;
+
+    @Column("lease_owner")
+    private String leaseOwner;
+
+    // Fin de la location en cours (epoch millis) ; 0 si la ligne n'a jamais été louée.
+    @Column("lease_until")
+    private long leaseUntil;
+
+    @Column("last_error")
+    private String lastError;
+
+    /**
+     * Copie de la ligne pour un nouvel essai : même notification, nouvelle échéance, sans location.
+     */
+    public NotificationOutboxEntry rescheduled(long dueAt) {
+        NotificationOutboxEntry next = new NotificationOutboxEntry();
+        next.setKey(NotificationOutboxKey.of(key.getShard(), dueAt, key.getId()));
+        next.setOrganizationId(organizationId);
+        next.setTemplateId(templateId);
+        next.setRecipientIds(recipientIds);
+        next.setPendingTokens(pendingTokens);
+        next.setMetadata(metadata);
+        next.setData(data);
+        next.setAttempts(attempts);
+        next.setSuccessCount(successCount);
+        next.setCreatedAt(createdAt);
+        next.setLastError(lastError);
+        return next;
+    }
+}
@@ -0,0 +1,45 @@
+package com.freelance.driver_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.Ordering;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyClass;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Clé de "notification_outbox" : une partition par (shard, minute d'échéance), lignes rangées par échéance.
+ */
+@PrimaryKeyClass
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NotificationOutboxKey implements Serializable {
+
+    // Largeur d'un bucket d'échéance. Ne pas modifier tant que l'outbox n'est pas vide.
+    public static final long BUCKET_MILLIS = 60_000L;
+
+    @PrimaryKeyColumn(name = "shard", ordinal = 0, type = PrimaryKeyType.PARTITIONED)
+    private int shard;
+
+    @PrimaryKeyColumn(name = "bucket", ordinal = 1, type = PrimaryKeyType.PARTITIONED)
+    private long bucket;
+
+    @PrimaryKeyColumn(name = "due_at", ordinal = 2, type = PrimaryKeyType.CLUSTERED, ordering = Ordering.ASCENDING)
+    private long dueAt;
+
+    @PrimaryKeyColumn(name = "id", ordinal = 3, type = PrimaryKeyType.CLUSTERED)
+    private UUID id;
+
+    public static NotificationOutboxKey of(int shard, long dueAt, UUID id) {
+        return new NotificationOutboxKey(shard, bucketOf(dueAt), dueAt, id);
+    }
+
+    public static long bucketOf(long epochMillis) {
+        return Math.floorDiv(epochMillis, BUCKET_MILLIS);
+    }
+}
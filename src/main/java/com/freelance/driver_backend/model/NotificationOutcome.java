@@ -0,0 +1,56 @@
+package com.freelance.driver_backend.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.util.UUID;
+
+/**
+ * Résultat final d'une notification de l'outbox, conservé pour le suivi (écrit avec une durée de vie).
+ */
+@Table("notification_outcomes")
+@Data
+@NoArgsConstructor
+public class NotificationOutcome {
+
+    // Tous les envois ont abouti ou au moins un appareil a reçu la notification.
+    public static final String DELIVERED = "DELIVERED";
+    // Aucun appareil atteint après le dernier essai, ou erreur non récupérable (modèle introuvable...).
+    public static final String FAILED = "FAILED";
+    // Aucun token d'appareil enregistré pour les destinataires.
+    public static final String NO_DEVICE = "NO_DEVICE";
+
+    @PrimaryKey
+    private UUID id;
+
+    @Column("organization_id")
+    private UUID organizationId;
+
+    @Column("template_id")
+    private UUID templateId;
+
+    private String status;
+
+    private int attempts;
+
+    @Column("success_count")
+    private long successCount;
+
+    @Column("failure_count")
+    private long failureCount;
+
+    @Column("invalid_token_count")
+    private int invalidTokenCount;
+
+    @Column("last_error")
+    private String lastError;
+
+    @Column("created_at")
+    private long createdAt;
+
+    @Column("completed_at")
+    private long completedAt;
+}
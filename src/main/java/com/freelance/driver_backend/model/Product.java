@@ -8,6 +8,7 @@ import org.springframework.data.cassandra.core.mapping.Indexed;
 import org.springframework.data.cassandra.core.mapping.PrimaryKey;
 import org.springframework.data.cassandra.core.mapping.Table;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
 
@@ -44,6 +45,19 @@ public class Product {
     
     @Column("dropoff_location")
     private String dropoffLocation;
+
+    // Coordonnées GPS (WGS84) des lieux, utilisées par la recherche par rayon
+    @Column("pickup_latitude")
+    private Double pickupLatitude;
+
+    @Column("pickup_longitude")
+    private Double pickupLongitude;
+
+    @Column("dropoff_latitude")
+    private Double dropoffLatitude;
+
+    @Column("dropoff_longitude")
+    private Double dropoffLongitude;
     
     @Column("start_date")
     private String startDate;
@@ -57,6 +71,13 @@ public class Product {
     @Column("end_time")
     private String endTime;
 
+    // Versions normalisées (epoch ms) des dates/heures texte ci-dessus, calculées à chaque écriture
+    @Column("start_at")
+    private Long startAt;
+
+    @Column("end_at")
+    private Long endAt;
+
     @Column("baggage_info")
     private String baggageInfo;
     
@@ -92,6 +113,9 @@ public class Product {
     @Column("metadata") 
     private Map<String, String> metadata; // Pour les détails du véhicule, les options de paiement du planning, etc.
 
+    @Column("created_at")
+    private Instant createdAt; // Date de création, sert au tri et au découpage par jour du fil des publications
+
     // --- Champs Transitoires pour l'enrichissement ---
     @Transient
     private UUID authorId;
@@ -101,6 +125,8 @@ public class Product {
     private String authorPhoneNumber;
     @Transient
     private String authorProfileImageUrl;
+    @Transient
+    private Double distanceKm; // Distance au point de recherche (recherche par rayon uniquement)
 
 
     // --- Méthodes d'accès pratiques ---
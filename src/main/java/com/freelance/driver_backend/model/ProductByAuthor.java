@@ -0,0 +1,59 @@
+package com.freelance.driver_backend.model;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.util.UUID;
+
+/**
+ * Produits d'un auteur (client pour les annonces, chauffeur pour les plannings),
+ * partitionnés par (auteur, catégorie) et triés du plus récent au plus ancien.
+ */
+@Table("products_by_author")
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class ProductByAuthor extends ProductSnapshot implements ProductIndexEntry {
+
+    @PrimaryKey
+    private ProductByAuthorKey key;
+
+    @Column("organization_id")
+    private UUID organizationId;
+
+    @Column("reserved_by_driver_id")
+    private UUID reservedByDriverId;
+
+    @Column("start_at")
+    private Long startAt;
+
+    public static ProductByAuthor from(Product product) {
+        ProductByAuthor entry = new ProductByAuthor();
+        entry.copyFrom(product);
+        entry.setKey(new ProductByAuthorKey(product.getClientId(), product.getCategoryId(), product.getCreatedAt(), product.getId()));
+        entry.setOrganizationId(product.getOrganizationId());
+        entry.setReservedByDriverId(product.getReservedByDriverId());
+        entry.setStartAt(product.getStartAt());
+        return entry;
+    }
+
+    public static boolean isIndexable(Product product) {
+        return product.getClientId() != null && product.getCategoryId() != null && product.getCreatedAt() != null;
+    }
+
+    @Override
+    public Product toProduct() {
+        Product product = toProductContent();
+        product.setKey(new ProductKey(organizationId, key.getId()));
+        product.setClientId(key.getClientId());
+        product.setCategoryId(key.getCategoryId());
+        product.setCreatedAt(key.getCreatedAt());
+        product.setReservedByDriverId(reservedByDriverId);
+        product.setStartAt(startAt);
+        return product;
+    }
+}
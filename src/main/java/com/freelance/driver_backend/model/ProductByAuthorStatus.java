@@ -0,0 +1,65 @@
+package com.freelance.driver_backend.model;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.util.UUID;
+
+/**
+ * Produits d'un auteur dans un statut donné (par exemple les plannings publiés d'un chauffeur),
+ * partitionnés par (auteur, catégorie, statut) et triés du plus récent au plus ancien :
+ * chaque page est pleine, sans filtrage en mémoire.
+ */
+@Table("products_by_author_status")
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class ProductByAuthorStatus extends ProductSnapshot implements ProductIndexEntry {
+
+    @PrimaryKey
+    private ProductByAuthorStatusKey key;
+
+    @Column("organization_id")
+    private UUID organizationId;
+
+    @Column("reserved_by_driver_id")
+    private UUID reservedByDriverId;
+
+    @Column("start_at")
+    private Long startAt;
+
+    public static ProductByAuthorStatus from(Product product) {
+        ProductByAuthorStatus entry = new ProductByAuthorStatus();
+        entry.copyFrom(product);
+        entry.setKey(new ProductByAuthorStatusKey(
+                product.getClientId(),
+                product.getCategoryId(),
+                ProductFeedEntry.normalizeStatus(product.getStatus()),
+                product.getCreatedAt(),
+                product.getId()));
+        entry.setOrganizationId(product.getOrganizationId());
+        entry.setReservedByDriverId(product.getReservedByDriverId());
+        entry.setStartAt(product.getStartAt());
+        return entry;
+    }
+
+    public static boolean isIndexable(Product product) {
+        return ProductByAuthor.isIndexable(product) && product.getStatus() != null;
+    }
+
+    @Override
+    public Product toProduct() {
+        Product product = toProductContent();
+        product.setKey(new ProductKey(organizationId, key.getId()));
+        product.setClientId(key.getClientId());
+        product.setCategoryId(key.getCategoryId());
+        product.setCreatedAt(key.getCreatedAt());
+        product.setReservedByDriverId(reservedByDriverId);
+        product.setStartAt(startAt);
+        return product;
+    }
+}
@@ -0,0 +1,34 @@
+package com.freelance.driver_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.Ordering;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyClass;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+@PrimaryKeyClass
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductByAuthorStatusKey implements Serializable {
+    @PrimaryKeyColumn(name = "client_id", ordinal = 0, type = PrimaryKeyType.PARTITIONED)
+    private UUID clientId;
+
+    @PrimaryKeyColumn(name = "category_id", ordinal = 1, type = PrimaryKeyType.PARTITIONED)
+    private UUID categoryId;
+
+    @PrimaryKeyColumn(name = "status_bucket", ordinal = 2, type = PrimaryKeyType.PARTITIONED)
+    private String statusBucket; // Statut normalisé en majuscules (PUBLISHED, ONGOING...)
+
+    @PrimaryKeyColumn(name = "created_at", ordinal = 3, type = PrimaryKeyType.CLUSTERED, ordering = Ordering.DESCENDING)
+    private Instant createdAt;
+
+    @PrimaryKeyColumn(name = "id", ordinal = 4, type = PrimaryKeyType.CLUSTERED)
+    private UUID id;
+}
@@ -0,0 +1,87 @@
+package com.freelance.driver_backend.model;
+
+import com.freelance.driver_backend.util.GeoHashUtil;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Index géographique : produits partitionnés par (catégorie, statut, cellule geohash du lieu de départ).
+ * Chaque produit est écrit à plusieurs précisions pour que la recherche lise peu de partitions
+ * quel que soit le rayon demandé.
+ */
+@Table("products_by_geocell")
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class ProductByGeoCell extends ProductSnapshot implements ProductIndexEntry {
+
+    public static final int COARSE_PRECISION = 4;
+    public static final int FINE_PRECISION = 5;
+
+    @PrimaryKey
+    private ProductByGeoCellKey key;
+
+    @Column("organization_id")
+    private UUID organizationId;
+
+    @Column("client_id")
+    private UUID clientId;
+
+    @Column("reserved_by_driver_id")
+    private UUID reservedByDriverId;
+
+    @Column("start_at")
+    private Long startAt;
+
+    @Column("created_at")
+    private Instant createdAt;
+
+    public static List<ProductByGeoCell> from(Product product) {
+        List<ProductByGeoCell> entries = new ArrayList<>(2);
+        for (int precision : new int[] { COARSE_PRECISION, FINE_PRECISION }) {
+            ProductByGeoCell entry = new ProductByGeoCell();
+            entry.copyFrom(product);
+            entry.setKey(new ProductByGeoCellKey(
+                    product.getCategoryId(),
+                    ProductFeedEntry.normalizeStatus(product.getStatus()),
+                    GeoHashUtil.encode(product.getPickupLatitude(), product.getPickupLongitude(), precision),
+                    product.getId()));
+            entry.setOrganizationId(product.getOrganizationId());
+            entry.setClientId(product.getClientId());
+            entry.setReservedByDriverId(product.getReservedByDriverId());
+            entry.setCreatedAt(product.getCreatedAt());
+            entry.setStartAt(product.getStartAt());
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    /**
+     * Seuls les produits dont le lieu de départ a des coordonnées valides sont indexés.
+     */
+    public static boolean isIndexable(Product product) {
+        return product.getCategoryId() != null && product.getStatus() != null
+                && GeoHashUtil.isValid(product.getPickupLatitude(), product.getPickupLongitude());
+    }
+
+    @Override
+    public Product toProduct() {
+        Product product = toProductContent();
+        product.setKey(new ProductKey(organizationId, key.getId()));
+        product.setCategoryId(key.getCategoryId());
+        product.setClientId(clientId);
+        product.setReservedByDriverId(reservedByDriverId);
+        product.setStartAt(startAt);
+        product.setCreatedAt(createdAt);
+        return product;
+    }
+}
@@ -0,0 +1,29 @@
+package com.freelance.driver_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyClass;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@PrimaryKeyClass
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductByGeoCellKey implements Serializable {
+    @PrimaryKeyColumn(name = "category_id", ordinal = 0, type = PrimaryKeyType.PARTITIONED)
+    private UUID categoryId;
+
+    @PrimaryKeyColumn(name = "status_bucket", ordinal = 1, type = PrimaryKeyType.PARTITIONED)
+    private String statusBucket; // Statut normalisé en majuscules (PUBLISHED, ONGOING...)
+
+    @PrimaryKeyColumn(name = "cell", ordinal = 2, type = PrimaryKeyType.PARTITIONED)
+    private String cell; // Geohash du lieu de départ ; sa longueur donne la précision
+
+    @PrimaryKeyColumn(name = "id", ordinal = 3, type = PrimaryKeyType.CLUSTERED)
+    private UUID id;
+}
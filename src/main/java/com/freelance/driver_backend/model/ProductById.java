@@ -0,0 +1,27 @@
+package com.freelance.driver_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+import java.util.UUID;
+
+/**
+ * Table de correspondance "id produit -> organisation".
+ * Permet de retrouver la clé complète d'un produit (organization_id, id) à partir
+ * de son seul ID, sans parcourir toute la table "products".
+ */
+@Table("products_by_id")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductById {
+
+    @PrimaryKey
+    private UUID id;
+
+    @Column("organization_id")
+    private UUID organizationId;
+}
@@ -0,0 +1,70 @@
+package com.freelance.driver_backend.model;
+
+import com.freelance.driver_backend.util.TripDateUtil;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Produits réservés (ou demandés) par un utilisateur : annonces postulées par un chauffeur,
+ * plannings demandés par un client. Triés par date de début du trajet.
+ */
+@Table("products_by_reserver")
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class ProductByReserver extends ProductSnapshot implements ProductIndexEntry {
+
+    @PrimaryKey
+    private ProductByReserverKey key;
+
+    @Column("organization_id")
+    private UUID organizationId;
+
+    @Column("category_id")
+    private UUID categoryId;
+
+    @Column("client_id")
+    private UUID clientId;
+
+    @Column("created_at")
+    private Instant createdAt;
+
+    public static ProductByReserver from(Product product) {
+        ProductByReserver entry = new ProductByReserver();
+        entry.copyFrom(product);
+        entry.setKey(new ProductByReserverKey(
+                product.getReservedByDriverId(),
+                product.getStartAt() != null
+                        ? product.getStartAt()
+                        : TripDateUtil.toSortableEpochMilli(product.getStartDate(), product.getStartTime()),
+                product.getId()));
+        entry.setOrganizationId(product.getOrganizationId());
+        entry.setCategoryId(product.getCategoryId());
+        entry.setClientId(product.getClientId());
+        entry.setCreatedAt(product.getCreatedAt());
+        return entry;
+    }
+
+    public static boolean isIndexable(Product product) {
+        return product.getReservedByDriverId() != null;
+    }
+
+    @Override
+    public Product toProduct() {
+        Product product = toProductContent();
+        product.setKey(new ProductKey(organizationId, key.getId()));
+        product.setReservedByDriverId(key.getReservedByDriverId());
+        product.setCategoryId(categoryId);
+        product.setClientId(clientId);
+        product.setCreatedAt(createdAt);
+        product.setStartAt(key.getStartAt() == TripDateUtil.UNKNOWN_EPOCH_MILLI ? null : key.getStartAt());
+        return product;
+    }
+}
@@ -0,0 +1,26 @@
+package com.freelance.driver_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyClass;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@PrimaryKeyClass
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductByReserverKey implements Serializable {
+    @PrimaryKeyColumn(name = "reserved_by_driver_id", ordinal = 0, type = PrimaryKeyType.PARTITIONED)
+    private UUID reservedByDriverId;
+
+    @PrimaryKeyColumn(name = "start_at", ordinal = 1, type = PrimaryKeyType.CLUSTERED)
+    private long startAt; // Début du trajet en epoch ms, Long.MAX_VALUE si la date est inconnue
+
+    @PrimaryKeyColumn(name = "id", ordinal = 2, type = PrimaryKeyType.CLUSTERED)
+    private UUID id;
+}
@@ -0,0 +1,73 @@
+package com.freelance.driver_backend.model;
+
+import com.freelance.driver_backend.util.TripDateUtil;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Trajets partitionnés par (catégorie, statut, jour de départ) et triés par heure de départ,
+ * pour servir les filtres de fenêtre temporelle (from/to) par tranches de clustering.
+ */
+@Table("products_by_start")
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class ProductByStart extends ProductSnapshot implements ProductIndexEntry {
+
+    @PrimaryKey
+    private ProductByStartKey key;
+
+    @Column("organization_id")
+    private UUID organizationId;
+
+    @Column("client_id")
+    private UUID clientId;
+
+    @Column("reserved_by_driver_id")
+    private UUID reservedByDriverId;
+
+    @Column("created_at")
+    private Instant createdAt;
+
+    public static ProductByStart from(Product product) {
+        ProductByStart entry = new ProductByStart();
+        entry.copyFrom(product);
+        entry.setKey(new ProductByStartKey(
+                product.getCategoryId(),
+                ProductFeedEntry.normalizeStatus(product.getStatus()),
+                TripDateUtil.tripDayOf(product.getStartAt()),
+                product.getStartAt(),
+                product.getId()));
+        entry.setOrganizationId(product.getOrganizationId());
+        entry.setClientId(product.getClientId());
+        entry.setReservedByDriverId(product.getReservedByDriverId());
+        entry.setCreatedAt(product.getCreatedAt());
+        return entry;
+    }
+
+    /**
+     * Seuls les trajets dont la date de départ a pu être lue sont indexés.
+     */
+    public static boolean isIndexable(Product product) {
+        return product.getCategoryId() != null && product.getStatus() != null && product.getStartAt() != null;
+    }
+
+    @Override
+    public Product toProduct() {
+        Product product = toProductContent();
+        product.setKey(new ProductKey(organizationId, key.getId()));
+        product.setCategoryId(key.getCategoryId());
+        product.setStartAt(key.getStartAt());
+        product.setClientId(clientId);
+        product.setReservedByDriverId(reservedByDriverId);
+        product.setCreatedAt(createdAt);
+        return product;
+    }
+}
@@ -0,0 +1,33 @@
+package com.freelance.driver_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyClass;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@PrimaryKeyClass
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductByStartKey implements Serializable {
+    @PrimaryKeyColumn(name = "category_id", ordinal = 0, type = PrimaryKeyType.PARTITIONED)
+    private UUID categoryId;
+
+    @PrimaryKeyColumn(name = "status_bucket", ordinal = 1, type = PrimaryKeyType.PARTITIONED)
+    private String statusBucket; // Statut normalisé en majuscules (PUBLISHED, ONGOING...)
+
+    @PrimaryKeyColumn(name = "start_day", ordinal = 2, type = PrimaryKeyType.PARTITIONED)
+    private LocalDate startDay; // Jour de départ du trajet (fuseau du Cameroun)
+
+    @PrimaryKeyColumn(name = "start_at", ordinal = 3, type = PrimaryKeyType.CLUSTERED)
+    private long startAt; // Début du trajet en epoch ms
+
+    @PrimaryKeyColumn(name = "id", ordinal = 4, type = PrimaryKeyType.CLUSTERED)
+    private UUID id;
+}
@@ -0,0 +1,28 @@
+package com.freelance.driver_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+/**
+ * Jours ayant reçu au moins une entrée du fil "products_feed", par (catégorie, statut), du plus récent au plus ancien.
+ * Permet de ne lire que les partitions journalières non vides au lieu de parcourir le calendrier.
+ * Ligne en ajout seul : elle n'est pas supprimée quand le jour se vide, ce qui coûte au pire une lecture vide.
+ * Alimentée par ProductIndexService ; pour un fil existant, une réindexation (freelancedriver.products.reindex-on-startup) la remplit.
+ */
+@Table("products_feed_days")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductFeedDay {
+
+    @PrimaryKey
+    private ProductFeedDayKey key;
+
+    public static ProductFeedDay of(ProductFeedEntry entry) {
+        ProductFeedKey feedKey = entry.getKey();
+        return new ProductFeedDay(new ProductFeedDayKey(feedKey.getCategoryId(), feedKey.getStatusBucket(), feedKey.getDayBucket()));
+    }
+}
@@ -0,0 +1,82 @@
+package com.freelance.driver_backend.model;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Fil des publications : produits partitionnés par (catégorie, statut, jour de création)
+ * et triés du plus récent au plus ancien, pour servir les listes publiques sans ALLOW FILTERING.
+ */
+@Table("products_feed")
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class ProductFeedEntry extends ProductSnapshot implements ProductIndexEntry {
+
+    @PrimaryKey
+    private ProductFeedKey key;
+
+    @Column("organization_id")
+    private UUID organizationId;
+
+    @Column("client_id")
+    private UUID clientId;
+
+    @Column("reserved_by_driver_id")
+    private UUID reservedByDriverId;
+
+    @Column("start_at")
+    private Long startAt;
+
+    public static ProductFeedEntry from(Product product) {
+        ProductFeedEntry entry = new ProductFeedEntry();
+        entry.copyFrom(product);
+        entry.setKey(new ProductFeedKey(
+                product.getCategoryId(),
+                normalizeStatus(product.getStatus()),
+                dayBucketOf(product),
+                product.getCreatedAt(),
+                product.getId()));
+        entry.setOrganizationId(product.getOrganizationId());
+        entry.setClientId(product.getClientId());
+        entry.setReservedByDriverId(product.getReservedByDriverId());
+        entry.setStartAt(product.getStartAt());
+        return entry;
+    }
+
+    /**
+     * Un produit n'apparaît dans le fil que si toutes les colonnes de partition sont renseignées.
+     */
+    public static boolean isIndexable(Product product) {
+        return product.getCategoryId() != null && product.getStatus() != null && product.getCreatedAt() != null;
+    }
+
+    public static String normalizeStatus(String status) {
+        return status == null ? null : status.trim().toUpperCase(Locale.ROOT);
+    }
+
+    public static LocalDate dayBucketOf(Product product) {
+        return product.getCreatedAt().atZone(ZoneOffset.UTC).toLocalDate();
+    }
+
+    @Override
+    public Product toProduct() {
+        Product product = toProductContent();
+        product.setKey(new ProductKey(organizationId, key.getId()));
+        product.setCategoryId(key.getCategoryId());
+        product.setCreatedAt(key.getCreatedAt());
+        product.setClientId(clientId);
+        product.setReservedByDriverId(reservedByDriverId);
+        product.setStartAt(startAt);
+        return product;
+    }
+}
@@ -0,0 +1,11 @@
+package com.freelance.driver_backend.model;
+
+/**
+ * Ligne d'une table d'index dérivée de la table "products".
+ * La clé sert à détecter les lignes devenues obsolètes lorsqu'un produit change
+ * de partition (changement de statut, de réservant, etc.).
+ */
+public interface ProductIndexEntry {
+
+    Object getKey();
+}
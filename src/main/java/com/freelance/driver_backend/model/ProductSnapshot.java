@@ -0,0 +1,155 @@
+package com.freelance.driver_backend.model;
+
+import lombok.Data;
+import org.springframework.data.cassandra.core.mapping.Column;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Copie dénormalisée des colonnes "contenu" d'un produit, partagée par les tables d'index.
+ * Les colonnes qui servent de clé dans au moins une table d'index (catégorie, auteur,
+ * réservant, date de création...) sont déclarées par chaque table elle-même.
+ */
+@Data
+public abstract class ProductSnapshot {
+
+    private String name;
+
+    @Column("short_description")
+    private String shortDescription;
+
+    @Column("is_active")
+    private Boolean isActive;
+
+    @Column("status")
+    private String status;
+
+    @Column("default_sell_price")
+    private BigDecimal defaultSellPrice;
+
+    @Column("pickup_location")
+    private String pickupLocation;
+
+    @Column("dropoff_location")
+    private String dropoffLocation;
+
+    @Column("pickup_latitude")
+    private Double pickupLatitude;
+
+    @Column("pickup_longitude")
+    private Double pickupLongitude;
+
+    @Column("dropoff_latitude")
+    private Double dropoffLatitude;
+
+    @Column("dropoff_longitude")
+    private Double dropoffLongitude;
+
+    @Column("start_date")
+    private String startDate;
+
+    @Column("start_time")
+    private String startTime;
+
+    @Column("end_date")
+    private String endDate;
+
+    @Column("end_time")
+    private String endTime;
+
+    @Column("end_at")
+    private Long endAt;
+
+    @Column("baggage_info")
+    private String baggageInfo;
+
+    @Column("is_negotiable")
+    private Boolean isNegotiable;
+
+    @Column("payment_method")
+    private String paymentMethod;
+
+    @Column("client_name")
+    private String clientName;
+
+    @Column("client_phone_number")
+    private String clientPhoneNumber;
+
+    @Column("client_profile_image_url")
+    private String clientProfileImageUrl;
+
+    @Column("reserved_by_driver_name")
+    private String reservedByDriverName;
+
+    @Column("metadata")
+    private Map<String, String> metadata;
+
+    /**
+     * Recopie les colonnes "contenu" du produit dans cette ligne d'index.
+     */
+    protected void copyFrom(Product product) {
+        this.name = product.getName();
+        this.shortDescription = product.getShortDescription();
+        this.isActive = product.getIsActive();
+        this.status = product.getStatus();
+        this.defaultSellPrice = product.getDefaultSellPrice();
+        this.pickupLocation = product.getPickupLocation();
+        this.dropoffLocation = product.getDropoffLocation();
+        this.pickupLatitude = product.getPickupLatitude();
+        this.pickupLongitude = product.getPickupLongitude();
+        this.dropoffLatitude = product.getDropoffLatitude();
+        this.dropoffLongitude = product.getDropoffLongitude();
+        this.startDate = product.getStartDate();
+        this.startTime = product.getStartTime();
+        this.endDate = product.getEndDate();
+        this.endTime = product.getEndTime();
+        this.endAt = product.getEndAt();
+        this.baggageInfo = product.getBaggageInfo();
+        this.isNegotiable = product.getIsNegotiable();
+        this.paymentMethod = product.getPaymentMethod();
+        this.clientName = product.getClientName();
+        this.clientPhoneNumber = product.getClientPhoneNumber();
+        this.clientProfileImageUrl = product.getClientProfileImageUrl();
+        this.reservedByDriverName = product.getReservedByDriverName();
+        this.metadata = product.getMetadata();
+    }
+
+    /**
+     * Reconstruit un produit à partir des colonnes "contenu" ; chaque table complète ensuite
+     * les colonnes qu'elle porte dans sa clé.
+     */
+    protected Product toProductContent() {
+        Product product = new Product();
+        product.setName(name);
+        product.setShortDescription(shortDescription);
+        product.setIsActive(isActive);
+        product.setStatus(status);
+        product.setDefaultSellPrice(defaultSellPrice);
+        product.setPickupLocation(pickupLocation);
+        product.setDropoffLocation(dropoffLocation);
+        product.setPickupLatitude(pickupLatitude);
+        product.setPickupLongitude(pickupLongitude);
+        product.setDropoffLatitude(dropoffLatitude);
+        product.setDropoffLongitude(dropoffLongitude);
+        product.setStartDate(startDate);
+        product.setStartTime(startTime);
+        product.setEndDate(endDate);
+        product.setEndTime(endTime);
+        product.setEndAt(endAt);
+        product.setBaggageInfo(baggageInfo);
+        product.setIsNegotiable(isNegotiable);
+        product.setPaymentMethod(paymentMethod);
+        product.setClientName(clientName);
+        product.setClientPhoneNumber(clientPhoneNumber);
+        product.setClientProfileImageUrl(clientProfileImageUrl);
+        product.setReservedByDriverName(reservedByDriverName);
+        product.setMetadata(metadata);
+        return product;
+    }
+
+    /**
+     * Reconstruit le produit complet représenté par cette ligne d'index.
+     */
+    public abstract Product toProduct();
+}
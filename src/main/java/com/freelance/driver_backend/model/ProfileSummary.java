@@ -0,0 +1,57 @@
+package com.freelance.driver_backend.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+/**
+ * Résumé public d'un profil (nom, téléphone, avatar), indexé par l'ID utilisateur.
+ * Permet d'enrichir les listes avec les informations des auteurs en lisant plusieurs
+ * partitions d'un coup (IN), au lieu d'une recherche par index secondaire par produit.
+ */
+@Table("profile_summaries")
+@Data
+@NoArgsConstructor
+public class ProfileSummary {
+
+    @PrimaryKey
+    private ProfileSummaryKey key;
+
+    @Column("first_name")
+    private String firstName;
+
+    @Column("last_name")
+    private String lastName;
+
+    @Column("phone_number")
+    private String phoneNumber;
+
+    @Column("profile_image_url")
+    private String profileImageUrl;
+
+    public static ProfileSummary of(DriverProfile profile) {
+        ProfileSummary summary = new ProfileSummary();
+        summary.setKey(new ProfileSummaryKey(profile.getUserId(), "DRIVER"));
+        summary.setFirstName(profile.getFirstName());
+        summary.setLastName(profile.getLastName());
+        summary.setPhoneNumber(profile.getPhoneNumber());
+        summary.setProfileImageUrl(profile.getProfileImageUrl());
+        return summary;
+    }
+
+    public static ProfileSummary of(ClientProfile profile) {
+        ProfileSummary summary = new ProfileSummary();
+        summary.setKey(new ProfileSummaryKey(profile.getUserId(), "CLIENT"));
+        summary.setFirstName(profile.getFirstName());
+        summary.setLastName(profile.getLastName());
+        summary.setPhoneNumber(profile.getPhoneNumber());
+        summary.setProfileImageUrl(profile.getProfileImageUrl());
+        return summary;
+    }
+
+    public String fullName() {
+        return firstName + " " + lastName;
+    }
+}
@@ -0,0 +1,80 @@
+package com.freelance.driver_backend.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.mapping.CassandraType;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.util.UUID;
+
+/**
+ * Agrégat des notes reçues par un utilisateur (table de compteurs) : nombre d'avis, somme des notes
+ * et histogramme par nombre d'étoiles. Incrémenté à chaque avis créé après la date de bascule ;
+ * les avis antérieurs sont comptés une fois pour toutes dans RatingBaseline.
+ */
+@Table("rating_aggregates")
+@Data
+@NoArgsConstructor
+public class RatingAggregate {
+
+    public static final int MIN_STARS = 1;
+    public static final int MAX_STARS = 5;
+
+    @PrimaryKey("target_user_id")
+    private UUID targetUserId;
+
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    @Column("review_count")
+    private long reviewCount;
+
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    @Column("score_sum")
+    private long scoreSum;
+
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    @Column("stars_1")
+    private long stars1;
+
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    @Column("stars_2")
+    private long stars2;
+
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    @Column("stars_3")
+    private long stars3;
+
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    @Column("stars_4")
+    private long stars4;
+
+    @CassandraType(type = CassandraType.Name.COUNTER)
+    @Column("stars_5")
+    private long stars5;
+
+    public double average() {
+        return reviewCount == 0 ? 0 : (double) scoreSum / reviewCount;
+    }
+
+    /**
+     * Agrégat complet : compteurs des avis récents et totaux des avis antérieurs à la bascule.
+     */
+    public RatingAggregate plus(RatingBaseline baseline) {
+        RatingAggregate total = empty(targetUserId);
+        total.setReviewCount(reviewCount + baseline.getReviewCount());
+        total.setScoreSum(scoreSum + baseline.getScoreSum());
+        total.setStars1(stars1 + baseline.getStars1());
+        total.setStars2(stars2 + baseline.getStars2());
+        total.setStars3(stars3 + baseline.getStars3());
+        total.setStars4(stars4 + baseline.getStars4());
+        total.setStars5(stars5 + baseline.getStars5());
+        return total;
+    }
+
+    public static RatingAggregate empty(UUID targetUserId) {
+        RatingAggregate aggregate = new RatingAggregate();
+        aggregate.setTargetUserId(targetUserId);
+        return aggregate;
+    }
+}
@@ -0,0 +1,70 @@
+package com.freelance.driver_backend.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.util.UUID;
+
+/**
+ * Totaux des avis reçus par un utilisateur avant la date de bascule (freelancedriver.reviews.aggregates-since),
+ * calculés une fois à partir de la table "reviews". Les avis postérieurs sont comptés dans RatingAggregate ;
+ * la ligne est écrite en une seule requête IF NOT EXISTS, ce qui rend le rattrapage rejouable.
+ */
+@Table("rating_baselines")
+@Data
+@NoArgsConstructor
+public class RatingBaseline {
+
+    @PrimaryKey("target_user_id")
+    private UUID targetUserId;
+
+    @Column("cutoff")
+    private long cutoff; // Les avis créés avant cet instant (epoch ms) sont comptés ici
+
+    @Column("review_count")
+    private long reviewCount;
+
+    @Column("score_sum")
+    private long scoreSum;
+
+    @Column("stars_1")
+    private long stars1;
+
+    @Column("stars_2")
+    private long stars2;
+
+    @Column("stars_3")
+    private long stars3;
+
+    @Column("stars_4")
+    private long stars4;
+
+    @Column("stars_5")
+    private long stars5;
+
+    public static RatingBaseline empty(UUID targetUserId, long cutoff) {
+        RatingBaseline baseline = new RatingBaseline();
+        baseline.setTargetUserId(targetUserId);
+        baseline.setCutoff(cutoff);
+        return baseline;
+    }
+
+    /**
+     * Ajoute un avis aux totaux ; la note n'alimente l'histogramme que si elle est comprise entre 1 et 5.
+     */
+    public void add(int stars) {
+        reviewCount++;
+        scoreSum += stars;
+        switch (stars) {
+            case 1 -> stars1++;
+            case 2 -> stars2++;
+            case 3 -> stars3++;
+            case 4 -> stars4++;
+            case 5 -> stars5++;
+            default -> { }
+        }
+    }
+}
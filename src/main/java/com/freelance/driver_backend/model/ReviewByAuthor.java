@@ -0,0 +1,36 @@
+package com.freelance.driver_backend.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.util.UUID;
+
+/**
+ * Avis écrits par un utilisateur. Ne porte que de quoi retrouver les lignes de "reviews" et de
+ * "reviews_by_target", pour y réécrire l'instantané de l'auteur quand son profil change.
+ */
+@Table("reviews_by_author")
+@Data
+@NoArgsConstructor
+public class ReviewByAuthor {
+
+    @PrimaryKey
+    private ReviewByAuthorKey key;
+
+    @Column("target_user_id")
+    private UUID targetUserId;
+
+    public static ReviewByAuthor from(Review review) {
+        ReviewByAuthor entry = new ReviewByAuthor();
+        entry.setKey(new ReviewByAuthorKey(review.getAuthorId(), review.getCreatedAt(), review.getId()));
+        entry.setTargetUserId(review.getTargetUserId());
+        return entry;
+    }
+
+    public static boolean isIndexable(Review review) {
+        return review.getAuthorId() != null && review.getId() != null;
+    }
+}
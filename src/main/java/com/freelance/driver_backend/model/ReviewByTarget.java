@@ -0,0 +1,58 @@
+package com.freelance.driver_backend.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.util.UUID;
+
+/**
+ * Avis reçus par un utilisateur, partitionnés par utilisateur noté et triés du plus récent au plus ancien.
+ */
+@Table("reviews_by_target")
+@Data
+@NoArgsConstructor
+public class ReviewByTarget {
+
+    @PrimaryKey
+    private ReviewByTargetKey key;
+
+    @Column("author_id")
+    private UUID authorId;
+
+    @Column("author_first_name")
+    private String authorFirstName;
+
+    @Column("author_last_name")
+    private String authorLastName;
+
+    @Column("author_profile_image_url")
+    private String authorProfileImageUrl;
+
+    private int score;
+
+    private String comment;
+
+    public static ReviewByTarget from(Review review) {
+        ReviewByTarget entry = new ReviewByTarget();
+        entry.setKey(new ReviewByTargetKey(review.getTargetUserId(), review.getCreatedAt(), review.getId()));
+        entry.setAuthorId(review.getAuthorId());
+        entry.setAuthorFirstName(review.getAuthorFirstName());
+        entry.setAuthorLastName(review.getAuthorLastName());
+        entry.setAuthorProfileImageUrl(review.getAuthorProfileImageUrl());
+        entry.setScore(review.getScore());
+        entry.setComment(review.getComment());
+        return entry;
+    }
+
+    public static boolean isIndexable(Review review) {
+        return review.getTargetUserId() != null && review.getId() != null;
+    }
+
+    public Review toReview() {
+        return new Review(key.getId(), key.getTargetUserId(), authorId, authorFirstName, authorLastName,
+                authorProfileImageUrl, score, comment, key.getCreatedAt());
+    }
+}
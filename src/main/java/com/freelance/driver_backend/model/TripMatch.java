@@ -0,0 +1,77 @@
+package com.freelance.driver_backend.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.mapping.Column;
+import org.springframework.data.cassandra.core.mapping.PrimaryKey;
+import org.springframework.data.cassandra.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Candidat compatible avec une annonce (un planning) ou avec un planning (une annonce),
+ * trié par score décroissant dans la partition de la source.
+ * Chaque paire est écrite dans les deux partitions ; "origins" liste les trajets dont le calcul
+ * a retenu la paire, et la paire n'est supprimée que lorsque plus aucun ne la retient.
+ */
+@Table("trip_matches")
+@Data
+@NoArgsConstructor
+public class TripMatch {
+
+    @PrimaryKey
+    private TripMatchKey key;
+
+    @Column("candidate_organization_id")
+    private UUID candidateOrganizationId;
+
+    @Column("candidate_category_id")
+    private UUID candidateCategoryId;
+
+    @Column("candidate_author_id")
+    private UUID candidateAuthorId;
+
+    @Column("candidate_author_name")
+    private String candidateAuthorName;
+
+    @Column("candidate_name")
+    private String candidateName;
+
+    @Column("candidate_pickup_location")
+    private String candidatePickupLocation;
+
+    @Column("candidate_dropoff_location")
+    private String candidateDropoffLocation;
+
+    @Column("candidate_start_at")
+    private Long candidateStartAt;
+
+    @Column("candidate_price")
+    private BigDecimal candidatePrice;
+
+    @Column("computed_at")
+    private Instant computedAt;
+
+    @Column("origins")
+    private Set<UUID> origins;
+
+    public static TripMatch of(UUID sourceId, Product candidate, double score, Instant computedAt, Set<UUID> origins) {
+        TripMatch match = new TripMatch();
+        match.setKey(new TripMatchKey(sourceId, score, candidate.getId()));
+        match.setCandidateOrganizationId(candidate.getOrganizationId());
+        match.setCandidateCategoryId(candidate.getCategoryId());
+        match.setCandidateAuthorId(candidate.getClientId());
+        match.setCandidateAuthorName(candidate.getClientName());
+        match.setCandidateName(candidate.getName());
+        match.setCandidatePickupLocation(candidate.getPickupLocation());
+        match.setCandidateDropoffLocation(candidate.getDropoffLocation());
+        match.setCandidateStartAt(candidate.getStartAt());
+        match.setCandidatePrice(candidate.getDefaultSellPrice());
+        match.setComputedAt(computedAt);
+        match.setOrigins(origins);
+        return match;
+    }
+}
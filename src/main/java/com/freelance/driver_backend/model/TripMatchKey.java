@@ -0,0 +1,27 @@
+package com.freelance.driver_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.cassandra.core.cql.Ordering;
+import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyClass;
+import org.springframework.data.cassandra.core.mapping.PrimaryKeyColumn;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@PrimaryKeyClass
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TripMatchKey implements Serializable {
+    @PrimaryKeyColumn(name = "source_id", ordinal = 0, type = PrimaryKeyType.PARTITIONED)
+    private UUID sourceId; // Annonce ou planning pour lequel les candidats ont été calculés
+
+    @PrimaryKeyColumn(name = "score", ordinal = 1, type = PrimaryKeyType.CLUSTERED, ordering = Ordering.DESCENDING)
+    private double score; // Compatibilité entre 0 et 1
+
+    @PrimaryKeyColumn(name = "candidate_id", ordinal = 2, type = PrimaryKeyType.CLUSTERED)
+    private UUID candidateId;
+}
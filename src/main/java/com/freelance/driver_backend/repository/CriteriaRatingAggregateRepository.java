@@ -0,0 +1,50 @@
+package com.freelance.driver_backend.repository;
+
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchStatementBuilder;
+import com.datastax.oss.driver.api.core.cql.DefaultBatchType;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.freelance.driver_backend.model.CriteriaRatingAggregate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.query.Criteria;
+import org.springframework.data.cassandra.core.query.Query;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Accès à la table de compteurs "criteria_rating_aggregates" (une ligne par entité et par critère).
+ */
+@Repository
+@RequiredArgsConstructor
+public class CriteriaRatingAggregateRepository {
+
+    private static final String ADD_RATING =
+            "UPDATE criteria_rating_aggregates SET rating_count = rating_count + 1, score_sum = score_sum + ?, score_sum_sq = score_sum_sq + ?"
+                    + " WHERE entity_id = ? AND criterion = ?";
+
+    private final ReactiveCassandraOperations reactiveCassandraOperations;
+
+    /**
+     * Lit tous les critères d'une entité (une seule partition).
+     */
+    public Flux<CriteriaRatingAggregate> findByEntityId(String entityId) {
+        return reactiveCassandraOperations.select(Query.query(Criteria.where("entity_id").is(entityId)), CriteriaRatingAggregate.class);
+    }
+
+    /**
+     * Ajoute une notation (critère -> note) aux agrégats de l'entité, dans un batch de compteurs
+     * mono-partition.
+     */
+    public Mono<Void> add(String entityId, Map<String, Integer> ratings) {
+        BatchStatementBuilder batch = BatchStatement.builder(DefaultBatchType.COUNTER);
+        ratings.forEach((criterion, score) ->
+                batch.addStatement(SimpleStatement.newInstance(ADD_RATING, (long) score, (long) score * score, entityId, criterion)));
+        return reactiveCassandraOperations.getReactiveCqlOperations()
+                .execute(batch.build())
+                .then();
+    }
+}
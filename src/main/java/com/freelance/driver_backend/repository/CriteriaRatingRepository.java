@@ -0,0 +1,10 @@
+package com.freelance.driver_backend.repository;
+
+import com.freelance.driver_backend.model.CriteriaRating;
+import com.freelance.driver_backend.model.CriteriaRatingKey;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CriteriaRatingRepository extends ReactiveCassandraRepository<CriteriaRating, CriteriaRatingKey> {
+}
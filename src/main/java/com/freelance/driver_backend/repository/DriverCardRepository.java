@@ -0,0 +1,15 @@
+package com.freelance.driver_backend.repository;
+
+import com.freelance.driver_backend.model.DriverCard;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+import java.util.UUID;
+
+@Repository
+public interface DriverCardRepository extends ReactiveCassandraRepository<DriverCard, UUID> {
+
+    Flux<DriverCard> findByUserIdIn(Collection<UUID> userIds);
+}
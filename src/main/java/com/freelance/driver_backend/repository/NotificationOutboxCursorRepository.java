@@ -0,0 +1,9 @@
+package com.freelance.driver_backend.repository;
+
+import com.freelance.driver_backend.model.NotificationOutboxCursor;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NotificationOutboxCursorRepository extends ReactiveCassandraRepository<NotificationOutboxCursor, Integer> {
+}
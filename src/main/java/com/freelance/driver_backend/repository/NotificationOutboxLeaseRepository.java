@@ -0,0 +1,46 @@
+package com.freelance.driver_backend.repository;
+
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.freelance.driver_backend.model.NotificationOutboxKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Locations des lignes de "notification_outbox", exécutées en transactions légères (LWT).
+ * Chaque méthode renvoie la colonne [applied] : false signifie qu'un autre worker a pris la ligne
+ * (ou qu'elle a été supprimée) entre-temps.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationOutboxLeaseRepository {
+
+    private static final String KEY = " WHERE shard = ? AND bucket = ? AND due_at = ? AND id = ?";
+    private static final String ACQUIRE =
+            "UPDATE notification_outbox SET lease_owner = ?, lease_until = ?" + KEY + " IF lease_until = ?";
+    private static final String DELETE_IF_OWNED =
+            "DELETE FROM notification_outbox" + KEY + " IF lease_owner = ?";
+
+    private final ReactiveCassandraOperations reactiveCassandraOperations;
+
+    /**
+     * Loue la ligne jusqu'à leaseUntil, uniquement si sa location est toujours celle lue par le worker.
+     */
+    public Mono<Boolean> acquire(NotificationOutboxKey key, long observedLeaseUntil, String owner, long leaseUntil) {
+        return execute(ACQUIRE, owner, leaseUntil, key.getShard(), key.getBucket(), key.getDueAt(), key.getId(), observedLeaseUntil);
+    }
+
+    /**
+     * Supprime la ligne uniquement si elle est toujours louée par ce worker (utilisé quand la ligne
+     * est déplacée vers le bucket de son prochain essai).
+     */
+    public Mono<Boolean> deleteIfOwned(NotificationOutboxKey key, String owner) {
+        return execute(DELETE_IF_OWNED, key.getShard(), key.getBucket(), key.getDueAt(), key.getId(), owner);
+    }
+
+    private Mono<Boolean> execute(String cql, Object... values) {
+        return reactiveCassandraOperations.getReactiveCqlOperations()
+                .execute(SimpleStatement.newInstance(cql, values));
+    }
+}
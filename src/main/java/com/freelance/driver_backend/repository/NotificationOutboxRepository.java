@@ -0,0 +1,15 @@
+package com.freelance.driver_backend.repository;
+
+import com.freelance.driver_backend.model.NotificationOutboxEntry;
+import com.freelance.driver_backend.model.NotificationOutboxKey;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface NotificationOutboxRepository extends ReactiveCassandraRepository<NotificationOutboxEntry, NotificationOutboxKey> {
+
+    Mono<Slice<NotificationOutboxEntry>> findByKeyShardAndKeyBucket(int shard, long bucket, Pageable pageable);
+}
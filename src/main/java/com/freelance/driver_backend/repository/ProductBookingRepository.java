@@ -0,0 +1,111 @@
+package com.freelance.driver_backend.repository;
+
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.freelance.driver_backend.model.Product;
+import com.freelance.driver_backend.model.ProductKey;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Transitions de réservation et modifications de la table "products", exécutées en transactions légères (LWT).
+ * Chaque méthode fait un seul aller-retour et renvoie la colonne [applied] :
+ * false signifie qu'une autre requête a modifié la réservation entre-temps.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class ProductBookingRepository {
+
+    private static final String SET_RESERVATION =
+            "UPDATE products SET reserved_by_driver_id = ?, reserved_by_driver_name = ?, status = ? WHERE organization_id = ? AND id = ?";
+    private static final String RELEASE_RESERVATION =
+            "UPDATE products SET reserved_by_driver_id = null, reserved_by_driver_name = null, status = ? WHERE organization_id = ? AND id = ?";
+    private static final String SET_STATUS =
+            "UPDATE products SET status = ? WHERE organization_id = ? AND id = ?";
+    // Toutes les colonnes modifiables, sauf la réservation (reserved_by_driver_id, reserved_by_driver_name).
+    private static final String SET_DETAILS =
+            "UPDATE products SET name = ?, short_description = ?, category_id = ?, is_active = ?, status = ?, default_sell_price = ?,"
+                    + " pickup_location = ?, dropoff_location = ?, pickup_latitude = ?, pickup_longitude = ?, dropoff_latitude = ?, dropoff_longitude = ?,"
+                    + " start_date = ?, start_time = ?, end_date = ?, end_time = ?, start_at = ?, end_at = ?, baggage_info = ?, is_negotiable = ?,"
+                    + " payment_method = ?, client_id = ?, client_name = ?, client_phone_number = ?, client_profile_image_url = ?, metadata = ?, created_at = ?"
+                    + " WHERE organization_id = ? AND id = ?";
+
+    private final ReactiveCassandraOperations reactiveCassandraOperations;
+
+    /**
+     * Réserve le produit uniquement s'il n'est réservé par personne.
+     */
+    public Mono<Boolean> reserve(ProductKey key, UUID reserverId, String reserverName, String newStatus) {
+        return execute(key.getId(), SET_RESERVATION + " IF reserved_by_driver_id = null",
+                reserverId, reserverName, newStatus, key.getOrganizationId(), key.getId());
+    }
+
+    /**
+     * Change le statut uniquement si le produit est toujours réservé par le même utilisateur, dans le statut attendu.
+     */
+    public Mono<Boolean> updateStatus(ProductKey key, UUID expectedReserverId, String expectedStatus, String newStatus) {
+        return execute(key.getId(), SET_STATUS + " IF reserved_by_driver_id = ? AND status = ?",
+                newStatus, key.getOrganizationId(), key.getId(), expectedReserverId, expectedStatus);
+    }
+
+    /**
+     * Libère la réservation uniquement si elle appartient toujours à l'utilisateur, dans l'un des statuts attendus.
+     */
+    public Mono<Boolean> release(ProductKey key, UUID expectedReserverId, Collection<String> expectedStatuses, String newStatus) {
+        return execute(key.getId(), RELEASE_RESERVATION + " IF reserved_by_driver_id = ? AND status IN ?",
+                newStatus, key.getOrganizationId(), key.getId(), expectedReserverId, List.copyOf(expectedStatuses));
+    }
+
+    /**
+     * Réécrit les champs modifiables du produit (réservation exclue), uniquement si son statut et son réservataire
+     * sont toujours ceux lus avant la modification : une modification ne peut pas écraser une réservation concurrente.
+     */
+    public Mono<Boolean> updateDetails(Product product, String expectedStatus, UUID expectedReserverId) {
+        List<Object> values = new ArrayList<>(Arrays.asList(
+                product.getName(), product.getShortDescription(), product.getCategoryId(), product.getIsActive(), product.getStatus(),
+                product.getDefaultSellPrice(), product.getPickupLocation(), product.getDropoffLocation(),
+                product.getPickupLatitude(), product.getPickupLongitude(), product.getDropoffLatitude(), product.getDropoffLongitude(),
+                product.getStartDate(), product.getStartTime(), product.getEndDate(), product.getEndTime(), product.getStartAt(), product.getEndAt(),
+                product.getBaggageInfo(), product.getIsNegotiable(), product.getPaymentMethod(), product.getClientId(), product.getClientName(),
+                product.getClientPhoneNumber(), product.getClientProfileImageUrl(), product.getMetadata(), product.getCreatedAt(),
+                product.getOrganizationId(), product.getId()));
+        StringBuilder cql = new StringBuilder(SET_DETAILS).append(" IF status = ");
+        appendCondition(cql, values, expectedStatus);
+        cql.append(" AND reserved_by_driver_id = ");
+        appendCondition(cql, values, expectedReserverId);
+        return execute(product.getId(), cql.toString(), values.toArray());
+    }
+
+    private static void appendCondition(StringBuilder cql, List<Object> values, Object expected) {
+        if (expected == null) {
+            cql.append("null");
+        } else {
+            cql.append('?');
+            values.add(expected);
+        }
+    }
+
+    /**
+     * Exécute la mise à jour conditionnelle. La requête n'est tracée qu'en debug ; un refus (condition non remplie)
+     * est signalé en info avec le seul identifiant du produit.
+     */
+    private Mono<Boolean> execute(UUID productId, String cql, Object... values) {
+        return reactiveCassandraOperations.getReactiveCqlOperations()
+                .execute(SimpleStatement.newInstance(cql, values))
+                .doOnNext(applied -> {
+                    log.debug("[BOOKING] {} -> [applied]={}", cql, applied);
+                    if (!applied) {
+                        log.info("[BOOKING] Produit {} : mise à jour conditionnelle non appliquée ([applied]=false).", productId);
+                    }
+                });
+    }
+}
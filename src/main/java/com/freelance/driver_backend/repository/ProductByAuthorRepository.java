@@ -0,0 +1,20 @@
+package com.freelance.driver_backend.repository;
+
+import com.freelance.driver_backend.model.ProductByAuthor;
+import com.freelance.driver_backend.model.ProductByAuthorKey;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@Repository
+public interface ProductByAuthorRepository extends ReactiveCassandraRepository<ProductByAuthor, ProductByAuthorKey> {
+
+    Flux<ProductByAuthor> findByKeyClientIdAndKeyCategoryId(UUID clientId, UUID categoryId);
+
+    Mono<Slice<ProductByAuthor>> findByKeyClientIdAndKeyCategoryId(UUID clientId, UUID categoryId, Pageable pageable);
+}
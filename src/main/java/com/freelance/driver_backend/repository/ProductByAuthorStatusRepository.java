@@ -0,0 +1,17 @@
+package com.freelance.driver_backend.repository;
+
+import com.freelance.driver_backend.model.ProductByAuthorStatus;
+import com.freelance.driver_backend.model.ProductByAuthorStatusKey;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@Repository
+public interface ProductByAuthorStatusRepository extends ReactiveCassandraRepository<ProductByAuthorStatus, ProductByAuthorStatusKey> {
+
+    Mono<Slice<ProductByAuthorStatus>> findByKeyClientIdAndKeyCategoryIdAndKeyStatusBucket(UUID clientId, UUID categoryId, String statusBucket, Pageable pageable);
+}
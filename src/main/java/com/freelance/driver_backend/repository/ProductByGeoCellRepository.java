@@ -0,0 +1,15 @@
+package com.freelance.driver_backend.repository;
+
+import com.freelance.driver_backend.model.ProductByGeoCell;
+import com.freelance.driver_backend.model.ProductByGeoCellKey;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+@Repository
+public interface ProductByGeoCellRepository extends ReactiveCassandraRepository<ProductByGeoCell, ProductByGeoCellKey> {
+
+    Flux<ProductByGeoCell> findByKeyCategoryIdAndKeyStatusBucketAndKeyCell(UUID categoryId, String statusBucket, String cell);
+}
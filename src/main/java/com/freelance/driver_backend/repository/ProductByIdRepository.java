@@ -0,0 +1,10 @@
+package com.freelance.driver_backend.repository;
+
+import com.freelance.driver_backend.model.ProductById;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+import java.util.UUID;
+
+@Repository
+public interface ProductByIdRepository extends ReactiveCassandraRepository<ProductById, UUID> {
+}
@@ -0,0 +1,17 @@
+package com.freelance.driver_backend.repository;
+
+import com.freelance.driver_backend.model.ProductByReserver;
+import com.freelance.driver_backend.model.ProductByReserverKey;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@Repository
+public interface ProductByReserverRepository extends ReactiveCassandraRepository<ProductByReserver, ProductByReserverKey> {
+
+    Mono<Slice<ProductByReserver>> findByKeyReservedByDriverId(UUID reservedByDriverId, Pageable pageable);
+}
@@ -0,0 +1,20 @@
+package com.freelance.driver_backend.repository;
+
+import com.freelance.driver_backend.model.ProductByStart;
+import com.freelance.driver_backend.model.ProductByStartKey;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Repository
+public interface ProductByStartRepository extends ReactiveCassandraRepository<ProductByStart, ProductByStartKey> {
+
+    // Tranche [from, to[ d'une partition journalière, triée par heure de départ.
+    Mono<Slice<ProductByStart>> findByKeyCategoryIdAndKeyStatusBucketAndKeyStartDayAndKeyStartAtGreaterThanEqualAndKeyStartAtLessThan(
+            UUID categoryId, String statusBucket, LocalDate startDay, long from, long to, Pageable pageable);
+}
@@ -0,0 +1,21 @@
+package com.freelance.driver_backend.repository;
+
+import com.freelance.driver_backend.model.ProductFeedDay;
+import com.freelance.driver_backend.model.ProductFeedDayKey;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Repository
+public interface ProductFeedDayRepository extends ReactiveCassandraRepository<ProductFeedDay, ProductFeedDayKey> {
+
+    // Tous les jours non vides du fil, du plus récent au plus ancien.
+    Flux<ProductFeedDay> findByKeyCategoryIdAndKeyStatusBucket(UUID categoryId, String statusBucket);
+
+    // Jour non vide le plus récent, au plus tard "day".
+    Mono<ProductFeedDay> findFirstByKeyCategoryIdAndKeyStatusBucketAndKeyDayBucketLessThanEqual(UUID categoryId, String statusBucket, LocalDate day);
+}
@@ -0,0 +1,21 @@
+package com.freelance.driver_backend.repository;
+
+import com.freelance.driver_backend.model.ProductFeedEntry;
+import com.freelance.driver_backend.model.ProductFeedKey;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Repository
+public interface ProductFeedRepository extends ReactiveCassandraRepository<ProductFeedEntry, ProductFeedKey> {
+
+    Flux<ProductFeedEntry> findByKeyCategoryIdAndKeyStatusBucketAndKeyDayBucket(UUID categoryId, String statusBucket, LocalDate dayBucket);
+
+    Mono<Slice<ProductFeedEntry>> findByKeyCategoryIdAndKeyStatusBucketAndKeyDayBucket(UUID categoryId, String statusBucket, LocalDate dayBucket, Pageable pageable);
+}
@@ -0,0 +1,18 @@
+package com.freelance.driver_backend.repository;
+
+import com.freelance.driver_backend.model.Product;
+import reactor.core.publisher.Mono;
+import java.util.UUID;
+
+/**
+ * Requêtes de ProductRepository qui ne peuvent pas être dérivées automatiquement
+ * par Spring Data (lectures en plusieurs étapes sur les tables d'index).
+ */
+public interface ProductRepositoryCustom {
+
+    /**
+     * Retrouve un produit à partir de son seul ID, via la table "products_by_id".
+     * Deux lectures par clé (index puis table de base), quelle que soit la taille de la table.
+     */
+    Mono<Product> findByProductId(UUID productId);
+}
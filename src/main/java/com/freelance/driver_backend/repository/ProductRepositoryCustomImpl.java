@@ -0,0 +1,22 @@
+package com.freelance.driver_backend.repository;
+
+import com.freelance.driver_backend.model.Product;
+import com.freelance.driver_backend.model.ProductById;
+import com.freelance.driver_backend.model.ProductKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import reactor.core.publisher.Mono;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private final ReactiveCassandraOperations reactiveCassandraOperations;
+
+    @Override
+    public Mono<Product> findByProductId(UUID productId) {
+        return reactiveCassandraOperations.selectOneById(productId, ProductById.class)
+                .flatMap(entry -> reactiveCassandraOperations.selectOneById(
+                        new ProductKey(entry.getOrganizationId(), productId), Product.class));
+    }
+}
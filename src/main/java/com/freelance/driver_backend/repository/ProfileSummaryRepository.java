@@ -0,0 +1,17 @@
+package com.freelance.driver_backend.repository;
+
+import com.freelance.driver_backend.model.ProfileSummary;
+import com.freelance.driver_backend.model.ProfileSummaryKey;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+import java.util.UUID;
+
+@Repository
+public interface ProfileSummaryRepository extends ReactiveCassandraRepository<ProfileSummary, ProfileSummaryKey> {
+
+    // SELECT ... WHERE user_id IN (...) AND role = ? : une seule requête pour tout un lot d'auteurs
+    Flux<ProfileSummary> findByKeyUserIdInAndKeyRole(Collection<UUID> userIds, String role);
+}
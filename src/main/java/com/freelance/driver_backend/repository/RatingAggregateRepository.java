@@ -0,0 +1,46 @@
+package com.freelance.driver_backend.repository;
+
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.freelance.driver_backend.model.RatingAggregate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Accès à la table de compteurs "rating_aggregates". Les compteurs ne peuvent être modifiés
+ * que par incrément (UPDATE ... SET c = c + n), d'où ce repository écrit en CQL.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RatingAggregateRepository {
+
+    private final ReactiveCassandraOperations reactiveCassandraOperations;
+
+    public Mono<RatingAggregate> findById(UUID targetUserId) {
+        return reactiveCassandraOperations.selectOneById(targetUserId, RatingAggregate.class);
+    }
+
+    /**
+     * Ajoute un ou plusieurs avis à l'agrégat. stars est la note commune à ces avis ; elle n'alimente
+     * l'histogramme que si elle est comprise entre 1 et 5.
+     */
+    public Mono<Void> add(UUID targetUserId, int stars, long reviewCount, long scoreSum) {
+        StringBuilder cql = new StringBuilder("UPDATE rating_aggregates SET review_count = review_count + ?, score_sum = score_sum + ?");
+        if (stars >= RatingAggregate.MIN_STARS && stars <= RatingAggregate.MAX_STARS) {
+            cql.append(", stars_").append(stars).append(" = stars_").append(stars).append(" + ?");
+            cql.append(" WHERE target_user_id = ?");
+            return execute(cql.toString(), reviewCount, scoreSum, reviewCount, targetUserId);
+        }
+        cql.append(" WHERE target_user_id = ?");
+        return execute(cql.toString(), reviewCount, scoreSum, targetUserId);
+    }
+
+    private Mono<Void> execute(String cql, Object... values) {
+        return reactiveCassandraOperations.getReactiveCqlOperations()
+                .execute(SimpleStatement.newInstance(cql, values))
+                .then();
+    }
+}
@@ -0,0 +1,35 @@
+package com.freelance.driver_backend.repository;
+
+import com.freelance.driver_backend.model.RatingBaseline;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.cassandra.core.EntityWriteResult;
+import org.springframework.data.cassandra.core.InsertOptions;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Accès à la table "rating_baselines". Une ligne n'est jamais réécrite : l'insertion est conditionnelle (LWT).
+ */
+@Repository
+@RequiredArgsConstructor
+public class RatingBaselineRepository {
+
+    private static final InsertOptions IF_NOT_EXISTS = InsertOptions.builder().withIfNotExists().build();
+
+    private final ReactiveCassandraOperations reactiveCassandraOperations;
+
+    public Mono<RatingBaseline> findById(UUID targetUserId) {
+        return reactiveCassandraOperations.selectOneById(targetUserId, RatingBaseline.class);
+    }
+
+    /**
+     * Enregistre les totaux s'ils ne l'ont pas déjà été ; renvoie false si la ligne existait.
+     */
+    public Mono<Boolean> insertIfAbsent(RatingBaseline baseline) {
+        return reactiveCassandraOperations.insert(baseline, IF_NOT_EXISTS)
+                .map(EntityWriteResult::wasApplied);
+    }
+}
@@ -0,0 +1,15 @@
+package com.freelance.driver_backend.repository;
+
+import com.freelance.driver_backend.model.ReviewByAuthor;
+import com.freelance.driver_backend.model.ReviewByAuthorKey;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+@Repository
+public interface ReviewByAuthorRepository extends ReactiveCassandraRepository<ReviewByAuthor, ReviewByAuthorKey> {
+
+    Flux<ReviewByAuthor> findByKeyAuthorId(UUID authorId);
+}
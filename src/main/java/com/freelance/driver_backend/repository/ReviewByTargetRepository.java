@@ -0,0 +1,17 @@
+package com.freelance.driver_backend.repository;
+
+import com.freelance.driver_backend.model.ReviewByTarget;
+import com.freelance.driver_backend.model.ReviewByTargetKey;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@Repository
+public interface ReviewByTargetRepository extends ReactiveCassandraRepository<ReviewByTarget, ReviewByTargetKey> {
+
+    Mono<Slice<ReviewByTarget>> findByKeyTargetUserId(UUID targetUserId, Pageable pageable);
+}
@@ -1,12 +1,9 @@
 package com.freelance.driver_backend.repository;
 
 import com.freelance.driver_backend.model.Review;
-import org.springframework.data.cassandra.repository.AllowFiltering;
 import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
-import reactor.core.publisher.Flux;
 import java.util.UUID;
 
+// Les avis d'un utilisateur se lisent dans ReviewByTargetRepository (table "reviews_by_target").
 public interface ReviewRepository extends ReactiveCassandraRepository<Review, UUID> {
-    @AllowFiltering
-    Flux<Review> findByTargetUserId(UUID targetUserId);
 }
@@ -0,0 +1,16 @@
+package com.freelance.driver_backend.repository;
+
+import com.freelance.driver_backend.model.TripMatch;
+import com.freelance.driver_backend.model.TripMatchKey;
+import org.springframework.data.cassandra.repository.ReactiveCassandraRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+@Repository
+public interface TripMatchRepository extends ReactiveCassandraRepository<TripMatch, TripMatchKey> {
+
+    // Candidats d'une source, du plus compatible au moins compatible.
+    Flux<TripMatch> findByKeySourceId(UUID sourceId);
+}
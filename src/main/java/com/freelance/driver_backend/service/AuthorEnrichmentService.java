@@ -0,0 +1,69 @@
+package com.freelance.driver_backend.service;
+
+import com.freelance.driver_backend.dto.PageResponse;
+import com.freelance.driver_backend.dto.UserSessionContextDto.UserRole;
+import com.freelance.driver_backend.model.Product;
+import com.freelance.driver_backend.model.ProfileSummary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Enrichit des listes de produits avec les informations de leur auteur (champs transitoires author*).
+ * Les produits sont traités par lots : les auteurs distincts d'un lot sont résolus en une seule
+ * lecture multi-partitions, puis rattachés à chaque produit.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuthorEnrichmentService {
+
+    // Taille maximale de la liste IN envoyée à Cassandra.
+    private static final int BATCH_SIZE = 50;
+
+    private final ProfileSummaryService profileSummaryService;
+
+    public Flux<Product> enrich(Flux<Product> products, UserRole authorRole) {
+        return products
+                .buffer(BATCH_SIZE)
+                .concatMap(batch -> enrichBatch(batch, authorRole));
+    }
+
+    public Mono<PageResponse<Product>> enrichPage(PageResponse<Product> page, UserRole authorRole) {
+        return enrich(Flux.fromIterable(page.getItems()), authorRole)
+                .collectList()
+                .map(page::withItems);
+    }
+
+    private Flux<Product> enrichBatch(List<Product> batch, UserRole authorRole) {
+        Set<UUID> authorIds = batch.stream()
+                .map(Product::getClientId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (authorIds.isEmpty()) {
+            return Flux.fromIterable(batch);
+        }
+        log.debug("Enrichissement de {} produit(s) avec {} auteur(s) distinct(s).", batch.size(), authorIds.size());
+        return profileSummaryService.findByUserIds(authorIds, authorRole)
+                .flatMapMany(summaries -> {
+                    batch.forEach(product -> {
+                        ProfileSummary author = product.getClientId() == null ? null : summaries.get(product.getClientId());
+                        if (author != null) {
+                            product.setAuthorId(product.getClientId());
+                            product.setAuthorName(author.fullName());
+                            product.setAuthorPhoneNumber(author.getPhoneNumber());
+                            product.setAuthorProfileImageUrl(author.getProfileImageUrl());
+                        }
+                    });
+                    return Flux.fromIterable(batch);
+                });
+    }
+}
@@ -0,0 +1,99 @@
+package com.freelance.driver_backend.service;
+
+import com.freelance.driver_backend.dto.CriteriaRatingSummaryDto;
+import com.freelance.driver_backend.dto.RateCriteriaRequest;
+import com.freelance.driver_backend.model.CriteriaRating;
+import com.freelance.driver_backend.model.CriteriaRatingKey;
+import com.freelance.driver_backend.model.RatingAggregate;
+import com.freelance.driver_backend.repository.CriteriaRatingAggregateRepository;
+import com.freelance.driver_backend.repository.CriteriaRatingRepository;
+import com.freelance.driver_backend.util.SearchTextUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Notations par critères : chaque notation est ajoutée à la table "criteria_ratings" puis
+ * répercutée dans les compteurs de "criteria_rating_aggregates", seuls lus pour l'affichage.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CriteriaRatingService {
+
+    private static final int MAX_CRITERIA = 20;
+    private static final int MAX_CRITERION_LENGTH = 50;
+
+    private final CriteriaRatingRepository criteriaRatingRepository;
+    private final CriteriaRatingAggregateRepository criteriaRatingAggregateRepository;
+
+    public Mono<CriteriaRating> rate(RateCriteriaRequest request, UUID authorId) {
+        return Mono.fromCallable(() -> {
+                    CriteriaRating rating = new CriteriaRating();
+                    rating.setKey(CriteriaRatingKey.of(validEntityId(request.getEntityId()), Instant.now().toEpochMilli(), UUID.randomUUID()));
+                    rating.setAuthorId(authorId);
+                    rating.setRatings(normalizeRatings(request.getRatings()));
+                    return rating;
+                })
+                .flatMap(criteriaRatingRepository::save)
+                // Les compteurs ne peuvent pas partager un batch avec une table classique : ils sont mis à jour juste après.
+                .flatMap(saved -> criteriaRatingAggregateRepository.add(saved.getKey().getEntityId(), saved.getRatings())
+                        .doOnError(e -> log.error("❌ Échec de la mise à jour des agrégats de critères de {}: {}",
+                                saved.getKey().getEntityId(), e.getMessage()))
+                        .thenReturn(saved));
+    }
+
+    /**
+     * Moyenne et variance de chaque critère de l'entité, lues dans une seule partition de compteurs.
+     */
+    public Mono<CriteriaRatingSummaryDto> findSummary(String entityId) {
+        return Mono.fromCallable(() -> validEntityId(entityId))
+                .flatMapMany(criteriaRatingAggregateRepository::findByEntityId)
+                .map(CriteriaRatingSummaryDto.CriterionStats::of)
+                .collectList()
+                .map(criteria -> new CriteriaRatingSummaryDto(entityId.trim(), criteria));
+    }
+
+    private static String validEntityId(String entityId) {
+        if (entityId == null || entityId.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "L'identifiant de l'entité notée est obligatoire.");
+        }
+        return entityId.trim();
+    }
+
+    /**
+     * Normalise les noms de critères (sans accents, en minuscules) pour que "Ponctualité" et
+     * "ponctualite" alimentent le même agrégat, et vérifie que chaque note est comprise entre 1 et 5.
+     */
+    private static Map<String, Integer> normalizeRatings(Map<String, Integer> ratings) {
+        if (ratings == null || ratings.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Au moins un critère doit être noté.");
+        }
+        if (ratings.size() > MAX_CRITERIA) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Trop de critères (maximum " + MAX_CRITERIA + ").");
+        }
+        Map<String, Integer> normalized = new LinkedHashMap<>();
+        ratings.forEach((criterion, score) -> {
+            String name = criterion == null ? "" : SearchTextUtil.fold(criterion).trim();
+            if (name.isEmpty() || name.length() > MAX_CRITERION_LENGTH) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Nom de critère invalide : " + criterion);
+            }
+            if (score == null || score < RatingAggregate.MIN_STARS || score > RatingAggregate.MAX_STARS) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "La note du critère '" + name + "' doit être comprise entre "
+                        + RatingAggregate.MIN_STARS + " et " + RatingAggregate.MAX_STARS + ".");
+            }
+            if (normalized.putIfAbsent(name, score) != null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Critère noté plusieurs fois : " + name);
+            }
+        });
+        return normalized;
+    }
+}
@@ -0,0 +1,187 @@
+package com.freelance.driver_backend.service;
+
+import com.freelance.driver_backend.model.Product;
+import com.freelance.driver_backend.model.ProductFeedEntry;
+import com.freelance.driver_backend.util.TripDateUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Calendrier de disponibilité des chauffeurs en mémoire : pour chaque jour, un bitset de créneaux de
+ * 15 minutes par chauffeur. Un planning publié (ou en attente de confirmation) rend ses créneaux disponibles,
+ * un planning réservé ("Ongoing") les rend occupés. Les jours sont ceux du fuseau du Cameroun.
+ * Le calendrier est tenu à jour par ProductIndexService et chargé au démarrage (TripSearchIndexInitializer).
+ */
+@Service
+@Slf4j
+public class DriverAvailabilityIndex {
+
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    // Statuts de planning qui proposent le créneau / qui l'occupent.
+    public static final List<String> OFFERING_STATUSES = List.of("Published", "PendingDriverConfirmation");
+    public static final List<String> BOOKED_STATUSES = List.of("Ongoing");
+
+    // Durée retenue pour un planning dont l'heure de fin est absente ou illisible.
+    private static final Duration DEFAULT_WINDOW = Duration.ofHours(1);
+
+    private record Window(long startAt, long endAt, boolean booked) {
+    }
+
+    // chauffeur -> (planning -> fenêtre)
+    private final Map<UUID, Map<UUID, Window>> windowsByDriver = new HashMap<>();
+    private final Map<UUID, UUID> driverByPlanning = new HashMap<>();
+    private final Map<UUID, Set<LocalDate>> daysByDriver = new HashMap<>();
+    // jour -> (chauffeur -> créneaux disponibles) ; les bitsets publiés ne sont plus modifiés
+    private final Map<LocalDate, Map<UUID, BitSet>> availabilityByDay = new ConcurrentHashMap<>();
+
+    public synchronized void update(Product product) {
+        if (product == null || product.getId() == null || !TripSearchIndex.PLANNING_CATEGORY_ID.equals(product.getCategoryId())) {
+            return;
+        }
+        remove(product.getId());
+        Window window = windowOf(product);
+        if (window == null || product.getClientId() == null) {
+            return;
+        }
+        UUID driverId = product.getClientId();
+        windowsByDriver.computeIfAbsent(driverId, id -> new HashMap<>()).put(product.getId(), window);
+        driverByPlanning.put(product.getId(), driverId);
+        rebuild(driverId);
+    }
+
+    public synchronized void remove(UUID planningId) {
+        UUID driverId = driverByPlanning.remove(planningId);
+        if (driverId == null) {
+            return;
+        }
+        Map<UUID, Window> windows = windowsByDriver.get(driverId);
+        windows.remove(planningId);
+        if (windows.isEmpty()) {
+            windowsByDriver.remove(driverId);
+        }
+        rebuild(driverId);
+    }
+
+    /**
+     * Chauffeurs disponibles sur le créneau [start, end[ (heures locales du Cameroun, arrondies aux 15 minutes) :
+     * sur tout le créneau si fullSlot (ET bit à bit), sur au moins une partie sinon (OU bit à bit).
+     */
+    public Set<UUID> findAvailableDrivers(LocalDateTime start, LocalDateTime end, boolean fullSlot) {
+        Set<UUID> result = null;
+        Set<UUID> partial = new HashSet<>();
+        for (LocalDate day = start.toLocalDate(); !day.atStartOfDay().isAfter(end.minusNanos(1)); day = day.plusDays(1)) {
+            int from = day.equals(start.toLocalDate()) ? slotFloor(start.toLocalTime()) : 0;
+            int to = day.equals(end.toLocalDate()) ? slotCeil(end.toLocalTime()) : SLOTS_PER_DAY;
+            if (from >= to) {
+                continue;
+            }
+            BitSet mask = new BitSet(SLOTS_PER_DAY);
+            mask.set(from, to);
+            Map<UUID, BitSet> drivers = availabilityByDay.getOrDefault(day, Map.of());
+
+            Set<UUID> dayFull = new HashSet<>();
+            drivers.forEach((driverId, slots) -> {
+                BitSet covered = (BitSet) mask.clone();
+                covered.and(slots);
+                if (!covered.isEmpty()) {
+                    partial.add(driverId);
+                }
+                if (covered.equals(mask)) {
+                    dayFull.add(driverId);
+                }
+            });
+            if (result == null) {
+                result = dayFull;
+            } else {
+                result.retainAll(dayFull);
+            }
+        }
+        if (fullSlot) {
+            return result == null ? Set.of() : result;
+        }
+        return partial;
+    }
+
+    /**
+     * Recalcule les bitsets journaliers d'un chauffeur à partir de ses plannings.
+     */
+    private void rebuild(UUID driverId) {
+        Map<LocalDate, BitSet> offered = new HashMap<>();
+        Map<LocalDate, BitSet> booked = new HashMap<>();
+        windowsByDriver.getOrDefault(driverId, Map.of()).values()
+                .forEach(window -> markSlots(window.booked() ? booked : offered, window));
+
+        Set<LocalDate> previousDays = daysByDriver.getOrDefault(driverId, Set.of());
+        Set<LocalDate> currentDays = new HashSet<>();
+        offered.forEach((day, slots) -> {
+            BitSet available = (BitSet) slots.clone();
+            BitSet busy = booked.get(day);
+            if (busy != null) {
+                available.andNot(busy);
+            }
+            if (!available.isEmpty()) {
+                availabilityByDay.computeIfAbsent(day, d -> new ConcurrentHashMap<>()).put(driverId, available);
+                currentDays.add(day);
+            }
+        });
+        previousDays.stream()
+                .filter(day -> !currentDays.contains(day))
+                .forEach(day -> availabilityByDay.computeIfPresent(day, (d, drivers) -> {
+                    drivers.remove(driverId);
+                    return drivers.isEmpty() ? null : drivers;
+                }));
+        if (currentDays.isEmpty()) {
+            daysByDriver.remove(driverId);
+        } else {
+            daysByDriver.put(driverId, currentDays);
+        }
+    }
+
+    private static void markSlots(Map<LocalDate, BitSet> days, Window window) {
+        ZonedDateTime start = TripDateUtil.toTripDateTime(window.startAt());
+        ZonedDateTime end = TripDateUtil.toTripDateTime(window.endAt());
+        for (LocalDate day = start.toLocalDate(); !day.isAfter(end.toLocalDate()); day = day.plusDays(1)) {
+            int from = day.equals(start.toLocalDate()) ? slotFloor(start.toLocalTime()) : 0;
+            int to = day.equals(end.toLocalDate()) ? slotCeil(end.toLocalTime()) : SLOTS_PER_DAY;
+            if (from < to) {
+                days.computeIfAbsent(day, d -> new BitSet(SLOTS_PER_DAY)).set(from, to);
+            }
+        }
+    }
+
+    private static Window windowOf(Product planning) {
+        String status = ProductFeedEntry.normalizeStatus(planning.getStatus());
+        boolean offering = OFFERING_STATUSES.stream().anyMatch(s -> ProductFeedEntry.normalizeStatus(s).equals(status));
+        boolean booked = BOOKED_STATUSES.stream().anyMatch(s -> ProductFeedEntry.normalizeStatus(s).equals(status));
+        if ((!offering && !booked) || planning.getStartAt() == null) {
+            return null;
+        }
+        long start = planning.getStartAt();
+        long end = planning.getEndAt() != null && planning.getEndAt() > start ? planning.getEndAt() : start + DEFAULT_WINDOW.toMillis();
+        return new Window(start, end, booked);
+    }
+
+    private static int slotFloor(LocalTime time) {
+        return time.toSecondOfDay() / (SLOT_MINUTES * 60);
+    }
+
+    private static int slotCeil(LocalTime time) {
+        return (time.toSecondOfDay() + SLOT_MINUTES * 60 - 1) / (SLOT_MINUTES * 60);
+    }
+}
@@ -0,0 +1,141 @@
+package com.freelance.driver_backend.service;
+
+import com.freelance.driver_backend.model.DriverCard;
+import com.freelance.driver_backend.model.DriverProfile;
+import com.freelance.driver_backend.model.Product;
+import com.freelance.driver_backend.model.ProductByAuthor;
+import com.freelance.driver_backend.repository.DriverCardRepository;
+import com.freelance.driver_backend.repository.DriverProfileRepository;
+import com.freelance.driver_backend.repository.ProductByAuthorRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Maintient et lit la table "driver_cards".
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DriverCardService {
+
+    public static final UUID VEHICLE_CATEGORY_ID = UUID.fromString("e2a7f23e-a3a3-4b0c-852a-227a1c1d6a7e");
+    public static final UUID EXPERIENCE_CATEGORY_ID = UUID.fromString("e1f2a3b4-c5d6-7890-1234-567890abcdef");
+    // Catégories de produits qui figurent sur la carte d'un chauffeur.
+    public static final Set<UUID> CARD_CATEGORIES = Set.of(VEHICLE_CATEGORY_ID, EXPERIENCE_CATEGORY_ID);
+
+    private final DriverCardRepository driverCardRepository;
+    private final DriverProfileRepository driverProfileRepository;
+    private final ProductByAuthorRepository productByAuthorRepository;
+    private final RatingAggregateService ratingAggregateService;
+
+    public Mono<DriverCard> findByUserId(UUID userId) {
+        return driverCardRepository.findById(userId)
+                .switchIfEmpty(Mono.defer(() -> rebuild(userId)));
+    }
+
+    /**
+     * Résout un lot de chauffeurs en une requête IN, dans l'ordre des identifiants donnés.
+     * Les cartes absentes (chauffeurs inscrits avant l'introduction de la table) sont reconstruites puis enregistrées.
+     */
+    public Flux<DriverCard> findByUserIds(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return Flux.empty();
+        }
+        List<UUID> ids = List.copyOf(userIds);
+        return driverCardRepository.findByUserIdIn(ids)
+                .collectMap(DriverCard::getUserId, card -> card, HashMap::new)
+                .flatMapMany(found -> Flux.fromIterable(ids)
+                        .filter(userId -> !found.containsKey(userId))
+                        .flatMap(this::rebuild)
+                        .doOnNext(card -> found.put(card.getUserId(), card))
+                        .thenMany(Flux.fromIterable(ids).mapNotNull(found::get)));
+    }
+
+    /**
+     * Recalcule la carte d'un chauffeur. Sans effet (aucune écriture) si l'utilisateur n'est pas chauffeur,
+     * par exemple un client qui vient d'être noté. Une erreur est journalisée sans faire échouer l'écriture qui l'a déclenchée.
+     */
+    public Mono<Void> refresh(UUID userId) {
+        if (userId == null) {
+            return Mono.empty();
+        }
+        return rebuild(userId)
+                .then()
+                .onErrorResume(e -> {
+                    log.error("❌ Échec de la mise à jour de la carte du chauffeur {}: {}", userId, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Recalcule la carte si le produit écrit (véhicule, expérience) y figure.
+     */
+    public Mono<Void> refreshFor(Product product) {
+        if (product == null || !CARD_CATEGORIES.contains(product.getCategoryId())) {
+            return Mono.empty();
+        }
+        return refresh(product.getClientId());
+    }
+
+    /**
+     * Reconstruit et enregistre la carte à partir du profil chauffeur. Sans profil chauffeur, une carte existante
+     * (profil supprimé) est retirée ; s'il n'y en a pas, rien n'est écrit.
+     */
+    private Mono<DriverCard> rebuild(UUID userId) {
+        return driverProfileRepository.findByUserId(userId)
+                .flatMap(profile -> Mono.zip(
+                                productByAuthorRepository.findByKeyClientIdAndKeyCategoryId(userId, VEHICLE_CATEGORY_ID).collectList(),
+                                productByAuthorRepository.findByKeyClientIdAndKeyCategoryId(userId, EXPERIENCE_CATEGORY_ID).collectList(),
+                                ratingOf(userId))
+                        .map(tuple -> toCard(profile, tuple.getT1(), tuple.getT2(), tuple.getT3())))
+                .flatMap(driverCardRepository::save)
+                .switchIfEmpty(Mono.defer(() -> driverCardRepository.existsById(userId)
+                        .filter(Boolean::booleanValue)
+                        .flatMap(exists -> driverCardRepository.deleteById(userId))
+                        .then(Mono.empty())));
+    }
+
+    /**
+     * Nombre d'avis et somme des notes reçues, lus dans l'agrégat de notes (une seule partition).
+     */
+    private Mono<long[]> ratingOf(UUID userId) {
+        return ratingAggregateService.findByUserId(userId)
+                .map(aggregate -> new long[] {aggregate.getReviewCount(), aggregate.getScoreSum()});
+    }
+
+    private static DriverCard toCard(DriverProfile profile, List<ProductByAuthor> vehicles, List<ProductByAuthor> experiences, long[] rating) {
+        DriverCard card = new DriverCard();
+        card.setUserId(profile.getUserId());
+        card.setFirstName(profile.getFirstName());
+        card.setLastName(profile.getLastName());
+        card.setNickname(profile.getNickname());
+        card.setProfileImageUrl(profile.getProfileImageUrl());
+        card.setLanguage(profile.getLanguage());
+
+        // Les lignes de products_by_author sont triées de la plus récente à la plus ancienne.
+        if (!vehicles.isEmpty()) {
+            ProductByAuthor primary = vehicles.get(0);
+            card.setPrimaryVehicleId(primary.getKey().getId());
+            card.setPrimaryVehicleName(primary.getName());
+            card.setPrimaryVehicleDescription(primary.getShortDescription());
+        }
+        card.setVehicleCount(vehicles.size());
+        card.setExperienceCount(experiences.size());
+        card.setLatestExperience(experiences.isEmpty() ? null : experiences.get(0).getName());
+
+        card.setRatingCount(rating[0]);
+        card.setRatingAverage(rating[0] == 0 ? 0 : (double) rating[1] / rating[0]);
+        card.setUpdatedAt(Instant.now());
+        return card;
+    }
+}
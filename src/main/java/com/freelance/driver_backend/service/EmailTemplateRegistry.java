@@ -0,0 +1,142 @@
+package com.freelance.driver_backend.service;
+
+import com.freelance.driver_backend.config.RegisteredTemplateResolver;
+import com.freelance.driver_backend.model.DesignTemplate;
+import com.freelance.driver_backend.model.EmailTemplate;
+import com.freelance.driver_backend.model.SmtpSetting;
+import com.freelance.driver_backend.repository.DesignTemplateRepository;
+import com.freelance.driver_backend.repository.EmailTemplateRepository;
+import com.freelance.driver_backend.repository.SmtpSettingRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registre en mémoire des modèles d'email.
+ * Pour chaque modèle d'email, le triplet (modèle d'email, modèle de design, réglage SMTP) est lu une fois
+ * puis gardé en cache. Le sujet et le HTML du design sont enregistrés dans le RegisteredTemplateResolver
+ * sous un nom "registered/design/{id}/{version}/..." (version = empreinte du contenu) : Thymeleaf les analyse
+ * une seule fois et les garde dans son propre cache. Toute écriture passe par les méthodes save de ce registre,
+ * qui n'invalident que les entrées concernées et seulement sur cette instance : les autres instances gardent
+ * l'ancienne version jusqu'à l'expiration de leur entrée (freelancedriver.email-template-cache.ttl).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailTemplateRegistry {
+
+    private final EmailTemplateRepository emailTemplateRepository;
+    private final DesignTemplateRepository designTemplateRepository;
+    private final SmtpSettingRepository smtpSettingRepository;
+    private final RegisteredTemplateResolver registeredTemplateResolver;
+    private final SpringTemplateEngine thymeleafTemplateEngine;
+    private final Cache<UUID, ResolvedEmailTemplate> emailTemplateCache;
+
+    // Version enregistrée de chaque modèle de design, pour retirer l'ancienne quand le contenu change.
+    private final Map<UUID, RegisteredDesign> registeredDesigns = new ConcurrentHashMap<>();
+
+    private record RegisteredDesign(String version, String subjectName, String htmlName) {
+    }
+
+    /**
+     * Modèle d'email prêt à l'envoi : noms des modèles Thymeleaf du sujet et du corps, et réglage SMTP.
+     */
+    public record ResolvedEmailTemplate(UUID emailTemplateId, String subjectTemplateName, String htmlTemplateName, SmtpSetting smtpSetting) {
+    }
+
+    /**
+     * Sujet et corps HTML rendus.
+     */
+    public record RenderedEmail(String subject, String html) {
+    }
+
+    public Mono<ResolvedEmailTemplate> find(UUID emailTemplateId) {
+        return Mono.defer(() -> {
+            ResolvedEmailTemplate cached = emailTemplateCache.getIfPresent(emailTemplateId);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            log.debug("EmailTemplateRegistry: Chargement du modèle d'email {} depuis la base.", emailTemplateId);
+            return emailTemplateRepository.findById(emailTemplateId)
+                    .flatMap(emailTemplate -> Mono.zip(
+                            designTemplateRepository.findById(emailTemplate.getDesignTemplateId()),
+                            smtpSettingRepository.findById(emailTemplate.getSettingId())))
+                    .map(tuple -> {
+                        RegisteredDesign design = register(tuple.getT1());
+                        return new ResolvedEmailTemplate(emailTemplateId, design.subjectName(), design.htmlName(), tuple.getT2());
+                    })
+                    .doOnNext(resolved -> emailTemplateCache.put(emailTemplateId, resolved));
+        });
+    }
+
+    public RenderedEmail render(ResolvedEmailTemplate template, Map<String, String> metadata) {
+        Context context = new Context();
+        if (metadata != null) {
+            metadata.forEach(context::setVariable);
+        }
+        return new RenderedEmail(
+                thymeleafTemplateEngine.process(template.subjectTemplateName(), context),
+                thymeleafTemplateEngine.process(template.htmlTemplateName(), context));
+    }
+
+    public Mono<EmailTemplate> saveEmailTemplate(EmailTemplate template) {
+        return emailTemplateRepository.save(template)
+                .doOnNext(saved -> emailTemplateCache.invalidate(saved.getId()));
+    }
+
+    /**
+     * Enregistre le modèle de design et sa nouvelle version (les modèles d'email en cache portant
+     * le nom de la version précédente sont invalidés par register).
+     */
+    public Mono<DesignTemplate> saveDesignTemplate(DesignTemplate template) {
+        return designTemplateRepository.save(template)
+                .doOnNext(this::register);
+    }
+
+    /**
+     * Enregistre le réglage SMTP et invalide les seuls modèles d'email en cache qui l'utilisent.
+     */
+    public Mono<SmtpSetting> saveSmtpSetting(SmtpSetting setting) {
+        return smtpSettingRepository.save(setting)
+                .doOnNext(saved -> emailTemplateCache.asMap().values()
+                        .removeIf(cached -> cached.smtpSetting() != null && saved.getId().equals(cached.smtpSetting().getId())));
+    }
+
+    /**
+     * Enregistre le sujet et le HTML du design dans le resolver (si cette version ne l'est pas déjà)
+     * et retire la version précédente du resolver et du cache de Thymeleaf.
+     */
+    private RegisteredDesign register(DesignTemplate design) {
+        String subject = design.getSubject() == null ? "" : design.getSubject();
+        String html = design.getHtml() == null ? "" : design.getHtml();
+        String version = UUID.nameUUIDFromBytes((subject + '\u0000' + html).getBytes(StandardCharsets.UTF_8)).toString();
+        return registeredDesigns.compute(design.getId(), (id, previous) -> {
+            if (previous != null && previous.version().equals(version)) {
+                return previous;
+            }
+            String prefix = RegisteredTemplateResolver.NAME_PREFIX + "design/" + id + "/" + version;
+            RegisteredDesign current = new RegisteredDesign(version, prefix + "/subject", prefix + "/html");
+            registeredTemplateResolver.register(current.subjectName(), subject);
+            registeredTemplateResolver.register(current.htmlName(), html);
+            if (previous != null) {
+                // Les modèles d'email en cache portant l'ancien nom sont invalidés avant que ce nom ne disparaisse du resolver.
+                emailTemplateCache.asMap().values().removeIf(cached -> cached.htmlTemplateName().equals(previous.htmlName()));
+                registeredTemplateResolver.unregister(previous.subjectName());
+                registeredTemplateResolver.unregister(previous.htmlName());
+                thymeleafTemplateEngine.clearTemplateCacheFor(previous.subjectName());
+                thymeleafTemplateEngine.clearTemplateCacheFor(previous.htmlName());
+            }
+            log.info("EmailTemplateRegistry: Modèle de design {} enregistré (version {}).", id, version);
+            return current;
+        });
+    }
+}
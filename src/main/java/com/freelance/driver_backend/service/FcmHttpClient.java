@@ -1,108 +1,146 @@
 package com.freelance.driver_backend.service;
 
-import com.google.auth.oauth2.GoogleCredentials;
+import com.freelance.driver_backend.dto.FcmSendResult;
 import com.google.firebase.FirebaseApp;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.http.MediaType;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import org.springframework.http.HttpStatusCode;
-import java.util.HashMap;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.Collections;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+/**
+ * Moteur d'envoi FCM (API HTTP v1, un message par token).
+ * Les tokens sont envoyés par lots de batchSize, un lot à la fois avec une pause de batchPause entre deux lots ;
+ * dans un lot, au plus maxInFlight requêtes sont en cours, sur les connexions HTTP/2 partagées du WebClient "fcmWebClient".
+ * Le bilan (succès, échecs, tokens invalides ou à réessayer) est journalisé par lot, pas par token.
+ */
 @Service
 @Slf4j
 public class FcmHttpClient {
 
     private final WebClient webClient;
-    private final FirebaseApp firebaseApp; 
-    private final String projectId;        
+    private final GoogleAccessTokenProvider googleAccessTokenProvider;
+    private final String projectId;
+    private final int maxInFlight;
+    private final int batchSize;
+    private final Duration batchPause;
+
+    public FcmHttpClient(FirebaseApp firebaseApp,
+                         @Qualifier("fcmWebClient") WebClient webClient,
+                         GoogleAccessTokenProvider googleAccessTokenProvider,
+                         @Value("${freelancedriver.fcm.max-in-flight:100}") int maxInFlight,
+                         @Value("${freelancedriver.fcm.batch-size:500}") int batchSize,
+                         @Value("${freelancedriver.fcm.batch-pause:200ms}") Duration batchPause) {
+        this.projectId = firebaseApp.getOptions().getProjectId();
 
-    public FcmHttpClient(FirebaseApp firebaseApp) { 
-        this.firebaseApp = firebaseApp;
-        this.projectId = firebaseApp.getOptions().getProjectId(); 
-        
         if (this.projectId == null || this.projectId.isBlank()) {
             throw new IllegalStateException("Firebase Project ID not configured in FirebaseApp options.");
         }
 
-        this.webClient = WebClient.builder()
-                .baseUrl("https://fcm.googleapis.com") 
-                .build();
+        this.webClient = webClient;
+        this.googleAccessTokenProvider = googleAccessTokenProvider;
+        this.maxInFlight = maxInFlight;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
     }
 
-    private Mono<String> getAccessToken() {
-        return Mono.fromCallable(() -> {
-            ClassPathResource resource = new ClassPathResource("firebase-service-account-key.json"); 
-            try (InputStream stream = resource.getInputStream()) {
-                GoogleCredentials credentials = GoogleCredentials.fromStream(stream)
-                    .createScoped(Collections.singletonList("https://www.googleapis.com/auth/firebase.messaging"));
-                
-                credentials.refreshIfExpired(); 
-                return credentials.getAccessToken().getTokenValue();
-            }
-        }).onErrorMap(IOException.class, e -> new RuntimeException("Impossible d'obtenir le token d'accès Google pour FCM.", e));
-    }
-
-    // NOUVELLE SIGNATURE : Accepte un dataPayload
-    public Mono<Void> sendNotifications(List<String> tokens, String title, String body, Map<String, String> dataPayload) {
+    /**
+     * Envoie la notification à chaque token et renvoie le bilan global de l'envoi.
+     */
+    public Mono<FcmSendResult> sendNotifications(List<String> tokens, String title, String body, Map<String, String> dataPayload) {
         if (tokens == null || tokens.isEmpty()) {
             log.warn("[FCM HTTP CLIENT] Aucun token fourni, l'envoi de notification est annulé.");
-            return Mono.empty();
+            return Mono.just(new FcmSendResult());
         }
-        
-        log.info("▶️ [FCM HTTP CLIENT] Préparation de l'envoi de la notification '{}' à {} appareil(s). Projet: {}", title, tokens.size(), this.projectId);
 
-        return getAccessToken().flatMap(token ->
+        log.info("▶️ [FCM HTTP CLIENT] Envoi de la notification '{}' à {} appareil(s) par lots de {}. Projet: {}", title, tokens.size(), batchSize, this.projectId);
+
+        return googleAccessTokenProvider.getAccessToken().flatMap(accessToken ->
             Flux.fromIterable(tokens)
-                .flatMap(singleToken -> { 
-                    // Construction du corps de la requête JSON pour l'API FCM v1
-                    Map<String, Object> messageContent = new HashMap<>();
-                    messageContent.put("token", singleToken);
-                    messageContent.put("notification", Map.of("title", title, "body", body));
-                    
-                    // AJOUT : Inclure le dataPayload si présent
-                    if (dataPayload != null && !dataPayload.isEmpty()) {
-                        messageContent.put("data", dataPayload);
-                    }
-
-                    Map<String, Object> notificationPayload = Map.of(
-                        "message", messageContent
-                    );
-
-                    return webClient.post()
-                        .uri("/v1/projects/{projectId}/messages:send", this.projectId)
-                        .headers(headers -> headers.setBearerAuth(token))
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .bodyValue(notificationPayload)
-                        .retrieve()
-                        .onStatus(HttpStatusCode::isError, response -> 
-                            response.bodyToMono(String.class)
-                                    .map(errorBody -> {
-                                        log.error("❌ [FCM HTTP CLIENT] Erreur HTTP lors de l'envoi à FCM (Status: {}): {}", response.statusCode(), errorBody);
-                                        return new RuntimeException("Échec d'envoi FCM: " + errorBody);
-                                    })
-                                    .switchIfEmpty(Mono.defer(() -> {
-                                        log.error("❌ [FCM HTTP CLIENT] Échec d'envoi FCM: corps d'erreur vide. Status: {}", response.statusCode());
-                                        return Mono.just(new RuntimeException("Échec d'envoi FCM: corps d'erreur vide. Status: " + response.statusCode()));
-                                    }))
-                        )
-                        // <-- LA PARENTHÈSE EN TROP ÉTAIT ICI, JE L'AI SUPPRIMÉE !
-                        .bodyToMono(String.class) 
-                        .doOnSuccess(responseBody -> log.info("✅ [FCM HTTP CLIENT] Réponse de FCM pour token {}: {}", singleToken.substring(0, 10) + "...", responseBody)) 
-                        .doOnError(e -> log.error("❌ [FCM HTTP CLIENT] Échec de l'envoi à FCM pour token {}: {}", singleToken.substring(0, 10) + "...", e.getMessage())) 
-                        .onErrorResume(e -> Mono.empty()); 
+                .buffer(batchSize)
+                .index()
+                .concatMap(indexed -> {
+                    Mono<FcmSendResult> batch = sendBatch(indexed.getT2(), accessToken, title, body, dataPayload)
+                        .doOnNext(result -> log.info("[FCM HTTP CLIENT] Lot {} ({} token(s)) : {} succès, {} échec(s), {} token(s) invalide(s).",
+                            indexed.getT1() + 1, indexed.getT2().size(), result.getSuccessCount(), result.getFailureCount(), result.getInvalidTokens().size()));
+                    // Pause entre deux lots pour lisser le débit envoyé à FCM.
+                    return indexed.getT1() == 0 ? batch : batch.delaySubscription(batchPause);
                 })
-                .then() // <-- C'est ici que le Mono<Void> est généré.
+                .reduceWith(FcmSendResult::new, FcmSendResult::merge)
         );
     }
-}
\ No newline at end of file
+
+    private Mono<FcmSendResult> sendBatch(List<String> tokens, String accessToken, String title, String body, Map<String, String> dataPayload) {
+        return Flux.fromIterable(tokens)
+            .flatMap(token -> sendOne(token, accessToken, title, body, dataPayload), maxInFlight)
+            .reduceWith(FcmSendResult::new, FcmSendResult::merge);
+    }
+
+    private Mono<FcmSendResult> sendOne(String token, String accessToken, String title, String body, Map<String, String> dataPayload) {
+        // Construction du corps de la requête JSON pour l'API FCM v1
+        Map<String, Object> messageContent = new HashMap<>();
+        messageContent.put("token", token);
+        messageContent.put("notification", Map.of("title", title, "body", body));
+        if (dataPayload != null && !dataPayload.isEmpty()) {
+            messageContent.put("data", dataPayload);
+        }
+        Map<String, Object> notificationPayload = Map.of("message", messageContent);
+
+        FcmSendResult result = new FcmSendResult();
+        return webClient.post()
+            .uri("/v1/projects/{projectId}/messages:send", this.projectId)
+            .headers(headers -> headers.setBearerAuth(accessToken))
+            .bodyValue(notificationPayload)
+            .exchangeToMono(response -> {
+                if (response.statusCode().is2xxSuccessful()) {
+                    result.setSuccessCount(1);
+                    return response.releaseBody().thenReturn(result);
+                }
+                return response.bodyToMono(String.class)
+                    .defaultIfEmpty("")
+                    .map(errorBody -> {
+                        result.setFailureCount(1);
+                        if (isUnregistered(response.statusCode(), errorBody)) {
+                            result.getInvalidTokens().add(token);
+                        } else if (isRetryable(response.statusCode())) {
+                            result.getRetryableTokens().add(token);
+                        }
+                        log.debug("[FCM HTTP CLIENT] Refus de FCM (Status: {}) pour token {}: {}", response.statusCode(), abbreviate(token), errorBody);
+                        return result;
+                    });
+            })
+            .onErrorResume(e -> {
+                log.debug("[FCM HTTP CLIENT] Échec de l'envoi pour token {}: {}", abbreviate(token), e.getMessage());
+                result.setFailureCount(1);
+                result.getRetryableTokens().add(token); // Erreur réseau ou délai dépassé
+                return Mono.just(result);
+            });
+    }
+
+    /**
+     * FCM répond 404 / UNREGISTERED quand l'application a été désinstallée ou le token renouvelé.
+     */
+    private static boolean isUnregistered(HttpStatusCode status, String errorBody) {
+        return status.value() == HttpStatus.NOT_FOUND.value() || errorBody.contains("UNREGISTERED");
+    }
+
+    /**
+     * Quota dépassé (429) ou erreur côté FCM (5xx) : l'envoi peut réussir plus tard.
+     */
+    private static boolean isRetryable(HttpStatusCode status) {
+        return status.value() == HttpStatus.TOO_MANY_REQUESTS.value() || status.is5xxServerError();
+    }
+
+    private static String abbreviate(String token) {
+        return token.length() <= 10 ? token : token.substring(0, 10) + "...";
+    }
+}
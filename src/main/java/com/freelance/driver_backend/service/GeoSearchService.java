@@ -0,0 +1,79 @@
+package com.freelance.driver_backend.service;
+
+import com.freelance.driver_backend.model.Product;
+import com.freelance.driver_backend.model.ProductByGeoCell;
+import com.freelance.driver_backend.model.ProductFeedEntry;
+import com.freelance.driver_backend.repository.ProductByGeoCellRepository;
+import com.freelance.driver_backend.util.GeoHashUtil;
+import com.freelance.driver_backend.util.TripDateUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Recherche par rayon des produits publiés, à partir de l'index géographique "products_by_geocell".
+ * Seules les cellules qui recouvrent le cercle sont lues, puis la distance exacte est calculée en mémoire.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GeoSearchService {
+
+    // Au-delà de ce nombre de cellules fines, la recherche passe à la précision grossière.
+    private static final int MAX_FINE_CELLS = 25;
+    private static final int CELL_CONCURRENCY = 8;
+
+    private final ProductByGeoCellRepository productByGeoCellRepository;
+
+    @Value("${freelancedriver.search.nearby.max-radius-km:50}")
+    private double maxRadiusKm;
+
+    /**
+     * Renvoie les produits publiés de la catégorie dont le lieu de départ est à moins de radiusKm du point,
+     * triés du plus proche au plus éloigné. La distance est renseignée dans Product.distanceKm.
+     * La fenêtre [from, to[ optionnelle filtre sur l'heure de départ.
+     */
+    public Flux<Product> findPublishedNearby(UUID categoryId, double latitude, double longitude, double radiusKm,
+                                             Instant from, Instant to, int limit) {
+        if (!GeoHashUtil.isValid(latitude, longitude) || radiusKm <= 0) {
+            return Flux.error(new IllegalArgumentException("Coordonnées ou rayon de recherche invalides."));
+        }
+        double radius = Math.min(radiusKm, maxRadiusKm);
+        Set<String> cells = searchCells(latitude, longitude, radius);
+        log.debug("[GEO-SEARCH] Recherche {} km autour de ({}, {}) : {} cellule(s) lue(s).", radius, latitude, longitude, cells.size());
+
+        String statusBucket = ProductFeedEntry.normalizeStatus(ProductFeedService.STATUS_PUBLISHED);
+        return Flux.fromIterable(cells)
+                .flatMap(cell -> productByGeoCellRepository.findByKeyCategoryIdAndKeyStatusBucketAndKeyCell(
+                        categoryId, statusBucket, cell), CELL_CONCURRENCY)
+                .map(entry -> {
+                    Product product = entry.toProduct();
+                    product.setDistanceKm(GeoHashUtil.distanceKm(latitude, longitude,
+                            product.getPickupLatitude(), product.getPickupLongitude()));
+                    return product;
+                })
+                .filter(product -> product.getDistanceKm() <= radius)
+                .filter(product -> TripDateUtil.startsWithin(product.getStartAt(), from, to))
+                .sort(Comparator.comparingDouble(Product::getDistanceKm))
+                .take(limit);
+    }
+
+    /**
+     * Cellules à lire pour le cercle : en précision fine, ou en précision grossière si le cercle
+     * demande plus de MAX_FINE_CELLS cellules fines.
+     */
+    static Set<String> searchCells(double latitude, double longitude, double radiusKm) {
+        Set<String> cells = GeoHashUtil.coveringCells(latitude, longitude, radiusKm, ProductByGeoCell.FINE_PRECISION);
+        if (cells.size() > MAX_FINE_CELLS) {
+            cells = GeoHashUtil.coveringCells(latitude, longitude, radiusKm, ProductByGeoCell.COARSE_PRECISION);
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,108 @@
+package com.freelance.driver_backend.service;
+
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Fournit le token d'accès OAuth Google utilisé pour appeler FCM.
+ * Le compte de service est lu une seule fois au démarrage ; le token est gardé en mémoire et renouvelé
+ * en arrière-plan avant son expiration, si bien que l'envoi d'une notification n'a ni I/O ni appel OAuth à faire.
+ */
+@Service
+@Slf4j
+public class GoogleAccessTokenProvider {
+
+    private static final String SERVICE_ACCOUNT_FILE = "firebase-service-account-key.json";
+    private static final List<String> FCM_SCOPES = List.of("https://www.googleapis.com/auth/firebase.messaging");
+
+    // Renouvelle le token quand il lui reste moins de refreshMargin ; vérification toutes les checkInterval.
+    @Value("${freelancedriver.fcm.token-refresh-margin:5m}")
+    private Duration refreshMargin;
+
+    @Value("${freelancedriver.fcm.token-check-interval:1m}")
+    private Duration checkInterval;
+
+    private GoogleCredentials credentials;
+    private volatile AccessToken currentToken;
+    private Disposable refreshTask;
+
+    @PostConstruct
+    private void start() {
+        ClassPathResource resource = new ClassPathResource(SERVICE_ACCOUNT_FILE);
+        try (InputStream stream = resource.getInputStream()) {
+            credentials = GoogleCredentials.fromStream(stream).createScoped(FCM_SCOPES);
+        } catch (IOException e) {
+            throw new IllegalStateException("Impossible de lire le compte de service Google " + SERVICE_ACCOUNT_FILE, e);
+        }
+        // Premier token obtenu immédiatement, puis vérifié périodiquement.
+        refreshTask = Flux.interval(Duration.ZERO, checkInterval, Schedulers.boundedElastic())
+                .onBackpressureDrop()
+                .concatMap(tick -> Mono.fromCallable(this::refreshIfNeeded)
+                        .onErrorResume(e -> {
+                            log.error("❌ [FCM TOKEN] Échec du renouvellement du token d'accès Google: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    private void stop() {
+        if (refreshTask != null) {
+            refreshTask.dispose();
+        }
+    }
+
+    /**
+     * Token d'accès en cours de validité. Servi depuis la mémoire ; n'est obtenu sur le chemin d'envoi
+     * que si le renouvellement en arrière-plan a échoué jusqu'à l'expiration.
+     */
+    public Mono<String> getAccessToken() {
+        AccessToken token = currentToken;
+        if (isUsable(token, Duration.ZERO)) {
+            return Mono.just(token.getTokenValue());
+        }
+        return Mono.fromCallable(this::refreshIfNeeded)
+                .map(AccessToken::getTokenValue)
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorMap(IOException.class, e -> new IllegalStateException("Impossible d'obtenir le token d'accès Google pour FCM.", e));
+    }
+
+    /**
+     * Renouvelle le token s'il est absent ou proche de l'expiration. Synchronisé pour qu'un seul
+     * appel OAuth soit fait quand la tâche de fond et un envoi le demandent en même temps.
+     */
+    private synchronized AccessToken refreshIfNeeded() throws IOException {
+        if (isUsable(currentToken, refreshMargin)) {
+            return currentToken;
+        }
+        credentials.refresh();
+        currentToken = credentials.getAccessToken();
+        log.info("[FCM TOKEN] Token d'accès Google renouvelé, expiration : {}", currentToken.getExpirationTime());
+        return currentToken;
+    }
+
+    private static boolean isUsable(AccessToken token, Duration margin) {
+        if (token == null) {
+            return false;
+        }
+        // Un token sans date d'expiration est considéré comme valable.
+        return token.getExpirationTime() == null
+                || token.getExpirationTime().toInstant().isAfter(Instant.now().plus(margin));
+    }
+}
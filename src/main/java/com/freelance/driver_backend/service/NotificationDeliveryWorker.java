@@ -0,0 +1,351 @@
+package com.freelance.driver_backend.service;
+
+import com.freelance.driver_backend.dto.FcmSendResult;
+import com.freelance.driver_backend.dto.external.NotificationRequest;
+import com.freelance.driver_backend.model.DeviceToken;
+import com.freelance.driver_backend.model.NotificationOutboxCursor;
+import com.freelance.driver_backend.model.NotificationOutboxEntry;
+import com.freelance.driver_backend.model.NotificationOutboxKey;
+import com.freelance.driver_backend.model.NotificationOutcome;
+import com.freelance.driver_backend.repository.DeviceTokenRepository;
+import com.freelance.driver_backend.repository.NotificationOutboxCursorRepository;
+import com.freelance.driver_backend.repository.NotificationOutboxLeaseRepository;
+import com.freelance.driver_backend.repository.NotificationOutboxRepository;
+import com.freelance.driver_backend.service.external.NotificationService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.cassandra.core.InsertOptions;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.LongStream;
+
+/**
+ * Workers d'envoi de l'outbox des notifications push. À chaque intervalle, chaque shard est lu du premier bucket
+ * non vidé (curseur) jusqu'au bucket courant, page après page ; chaque ligne échue et non louée est louée par une
+ * écriture conditionnelle (plusieurs instances peuvent tourner en même temps), puis envoyée.
+ * Les tokens invalides sont supprimés ; les échecs temporaires (quota, erreur FCM, réseau) sont déplacés vers le bucket
+ * de leur prochain essai (délai exponentiel) ; le résultat final est consigné dans "notification_outcomes".
+ * Livraison « au moins une fois » : une location expirée pendant un envoi peut conduire à un doublon.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationDeliveryWorker {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final NotificationOutboxService notificationOutboxService;
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final NotificationOutboxLeaseRepository notificationOutboxLeaseRepository;
+    private final NotificationOutboxCursorRepository notificationOutboxCursorRepository;
+    private final DeviceTokenRepository deviceTokenRepository;
+    private final NotificationService notificationService;
+    private final ReactiveCassandraOperations reactiveCassandraOperations;
+
+    @Value("${freelancedriver.notifications.outbox.workers-enabled:true}")
+    private boolean workersEnabled;
+
+    // Lecture : intervalle entre deux passages, lignes lues par page, lignes louées par shard et par passage,
+    // et shards lus en parallèle.
+    @Value("${freelancedriver.notifications.outbox.poll-interval:2s}")
+    private Duration pollInterval;
+
+    @Value("${freelancedriver.notifications.outbox.scan-size:100}")
+    private int scanSize;
+
+    @Value("${freelancedriver.notifications.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${freelancedriver.notifications.outbox.scan-concurrency:4}")
+    private int scanConcurrency;
+
+    // Envoi : notifications envoyées en parallèle par instance, lectures de tokens en parallèle par notification,
+    // durée de la location d'une ligne.
+    @Value("${freelancedriver.notifications.outbox.delivery-concurrency:16}")
+    private int deliveryConcurrency;
+
+    @Value("${freelancedriver.notifications.outbox.token-lookup-concurrency:4}")
+    private int tokenLookupConcurrency;
+
+    @Value("${freelancedriver.notifications.outbox.lease-duration:2m}")
+    private Duration leaseDuration;
+
+    // Nouveaux essais : nombre maximal d'essais, délai du premier nouvel essai (doublé à chaque échec) et délai maximal.
+    @Value("${freelancedriver.notifications.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${freelancedriver.notifications.outbox.backoff-base:5s}")
+    private Duration backoffBase;
+
+    @Value("${freelancedriver.notifications.outbox.backoff-max:10m}")
+    private Duration backoffMax;
+
+    @Value("${freelancedriver.notifications.outbox.outcome-ttl:7d}")
+    private Duration outcomeTtl;
+
+    // Identifiant de cette instance, inscrit dans les locations.
+    private final String workerId = UUID.randomUUID().toString();
+    // Premier bucket encore à lire, par shard (copie en mémoire de "notification_outbox_cursors").
+    private final Map<Integer, Long> cursors = new ConcurrentHashMap<>();
+    private Disposable pollTask;
+
+    @PostConstruct
+    private void start() {
+        if (!workersEnabled) {
+            log.warn("[OUTBOX] Workers d'envoi désactivés sur cette instance.");
+            return;
+        }
+        pollTask = loadCursors()
+                .thenMany(Flux.interval(pollInterval, pollInterval, Schedulers.boundedElastic()))
+                .onBackpressureDrop()
+                .concatMap(tick -> pollOnce()
+                        .onErrorResume(e -> {
+                            log.error("❌ [OUTBOX] Échec d'un passage sur l'outbox: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    private void stop() {
+        if (pollTask != null) {
+            pollTask.dispose();
+        }
+    }
+
+    private Mono<Void> loadCursors() {
+        return notificationOutboxCursorRepository.findAll()
+                .doOnNext(cursor -> cursors.put(cursor.getShard(), cursor.getBucket()))
+                .onErrorResume(e -> {
+                    log.error("❌ [OUTBOX] Lecture des curseurs impossible, ils seront relus shard par shard: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Un passage sur tous les shards : renvoie le nombre de notifications traitées par cette instance.
+     */
+    public Mono<Long> pollOnce() {
+        long now = Instant.now().toEpochMilli();
+        long currentBucket = NotificationOutboxKey.bucketOf(now);
+        return Flux.range(0, notificationOutboxService.getShardCount())
+                .flatMap(shard -> dueEntries(shard, currentBucket, now).take(batchSize), scanConcurrency)
+                .flatMap(entry -> notificationOutboxLeaseRepository
+                        .acquire(entry.getKey(), entry.getLeaseUntil(), workerId, now + leaseDuration.toMillis())
+                        .filter(Boolean::booleanValue)
+                        .flatMap(leased -> deliver(entry).thenReturn(entry)), deliveryConcurrency)
+                .count()
+                .doOnNext(count -> {
+                    if (count > 0) {
+                        log.info("[OUTBOX] {} notification(s) traitée(s).", count);
+                    }
+                });
+    }
+
+    /**
+     * Lignes échues et non louées d'un shard, du premier bucket non vidé au bucket courant. Chaque bucket est lu
+     * en entier (les lignes louées ou pas encore échues ne bloquent pas les suivantes) ; un bucket passé trouvé
+     * vide fait avancer le curseur et n'est plus relu.
+     */
+    private Flux<NotificationOutboxEntry> dueEntries(int shard, long currentBucket, long now) {
+        return firstBucket(shard, currentBucket)
+                .flatMapMany(firstBucket -> Flux.fromStream(LongStream.rangeClosed(firstBucket, currentBucket).boxed()))
+                .concatMap(bucket -> scanBucket(shard, bucket)
+                        .switchIfEmpty(Mono.defer(() -> advanceCursor(shard, bucket, currentBucket))))
+                .filter(entry -> entry.getKey().getDueAt() <= now && entry.getLeaseUntil() <= now);
+    }
+
+    /**
+     * Premier bucket à lire : le curseur en mémoire, sinon celui créé depuis en base par un dépôt
+     * (voir NotificationOutboxService), sinon le bucket précédent le courant : un shard sans curseur n'a aucune ligne.
+     */
+    private Mono<Long> firstBucket(int shard, long currentBucket) {
+        Long known = cursors.get(shard);
+        if (known != null) {
+            return Mono.just(known);
+        }
+        return notificationOutboxCursorRepository.findById(shard)
+                .map(NotificationOutboxCursor::getBucket)
+                .defaultIfEmpty(currentBucket - 1)
+                .map(bucket -> cursors.computeIfAbsent(shard, s -> bucket));
+    }
+
+    private Flux<NotificationOutboxEntry> scanBucket(int shard, long bucket) {
+        return notificationOutboxRepository.findByKeyShardAndKeyBucket(shard, bucket, CassandraPageRequest.first(scanSize))
+                .expand(slice -> slice.hasNext()
+                        ? notificationOutboxRepository.findByKeyShardAndKeyBucket(shard, bucket, slice.nextPageable())
+                        : Mono.empty())
+                .concatMapIterable(Slice::getContent);
+    }
+
+    /**
+     * Passe le curseur du shard après un bucket vide, s'il en était le premier. Un bucket passé ne reçoit plus
+     * de lignes (dépôts et nouveaux essais vont dans le bucket courant ou à venir) ; le bucket précédent le
+     * courant est toujours relu, pour tolérer un léger décalage d'horloge entre instances.
+     */
+    private Mono<NotificationOutboxEntry> advanceCursor(int shard, long emptyBucket, long currentBucket) {
+        if (emptyBucket >= currentBucket - 1 || !cursors.replace(shard, emptyBucket, emptyBucket + 1)) {
+            return Mono.empty();
+        }
+        return notificationOutboxCursorRepository.save(new NotificationOutboxCursor(shard, emptyBucket + 1))
+                .then(Mono.empty());
+    }
+
+    private Mono<Void> deliver(NotificationOutboxEntry entry) {
+        int attempt = entry.getAttempts() + 1;
+        return pendingTokens(entry).flatMap(tokens -> {
+            if (tokens.isEmpty()) {
+                return complete(entry, NotificationOutcome.NO_DEVICE, attempt, new FcmSendResult(), null);
+            }
+            NotificationRequest request = NotificationRequest.builder()
+                    .templateId(entry.getTemplateId())
+                    .recipients(List.copyOf(tokens.keySet()))
+                    .metadata(entry.getMetadata() != null ? entry.getMetadata() : Map.of())
+                    .data(entry.getData())
+                    .build();
+            return notificationService.deliverPush(entry.getOrganizationId(), request)
+                    .defaultIfEmpty(new FcmSendResult())
+                    .flatMap(result -> removeInvalidTokens(tokens, result)
+                            .then(afterSend(entry, attempt, tokens, result)))
+                    .onErrorResume(e -> afterError(entry, attempt, tokens, e));
+        });
+    }
+
+    /**
+     * Tokens à atteindre : ceux restant d'un essai précédent, sinon les tokens actuels des destinataires.
+     */
+    private Mono<Map<String, UUID>> pendingTokens(NotificationOutboxEntry entry) {
+        if (entry.getPendingTokens() != null) {
+            return Mono.just(entry.getPendingTokens());
+        }
+        List<UUID> recipientIds = entry.getRecipientIds() != null ? entry.getRecipientIds() : List.of();
+        return Flux.fromIterable(recipientIds)
+                .flatMap(deviceTokenRepository::findByUserId, tokenLookupConcurrency)
+                .collectMap(DeviceToken::getToken, DeviceToken::getUserId);
+    }
+
+    private Mono<Void> removeInvalidTokens(Map<String, UUID> tokens, FcmSendResult result) {
+        return Flux.fromIterable(result.getInvalidTokens())
+                .filter(tokens::containsKey)
+                .flatMap(token -> {
+                    DeviceToken deviceToken = new DeviceToken();
+                    deviceToken.setUserId(tokens.get(token));
+                    deviceToken.setToken(token);
+                    return deviceTokenRepository.delete(deviceToken);
+                })
+                .then();
+    }
+
+    private Mono<Void> afterSend(NotificationOutboxEntry entry, int attempt, Map<String, UUID> tokens, FcmSendResult result) {
+        long successCount = entry.getSuccessCount() + result.getSuccessCount();
+        if (result.getRetryableTokens().isEmpty() || attempt >= maxAttempts) {
+            FcmSendResult total = new FcmSendResult();
+            total.setSuccessCount(successCount);
+            total.setFailureCount(result.getFailureCount());
+            total.setInvalidTokens(result.getInvalidTokens());
+            String status = successCount > 0 || result.getFailureCount() == 0 ? NotificationOutcome.DELIVERED : NotificationOutcome.FAILED;
+            String lastError = result.getRetryableTokens().isEmpty() ? null : result.getRetryableTokens().size() + " envoi(s) en échec temporaire";
+            return complete(entry, status, attempt, total, lastError);
+        }
+        Map<String, UUID> retryTokens = new HashMap<>();
+        result.getRetryableTokens().stream()
+                .filter(tokens::containsKey)
+                .forEach(token -> retryTokens.put(token, tokens.get(token)));
+        return retry(entry, attempt, successCount, retryTokens, result.getRetryableTokens().size() + " envoi(s) en échec temporaire");
+    }
+
+    private Mono<Void> afterError(NotificationOutboxEntry entry, int attempt, Map<String, UUID> tokens, Throwable e) {
+        // Un modèle introuvable ne se corrigera pas en réessayant.
+        if (e instanceof IllegalArgumentException || attempt >= maxAttempts) {
+            FcmSendResult total = new FcmSendResult();
+            total.setSuccessCount(entry.getSuccessCount());
+            total.setFailureCount(tokens.size());
+            return complete(entry, entry.getSuccessCount() > 0 ? NotificationOutcome.DELIVERED : NotificationOutcome.FAILED,
+                    attempt, total, e.getMessage());
+        }
+        return retry(entry, attempt, entry.getSuccessCount(), tokens, e.getMessage());
+    }
+
+    /**
+     * Déplace la ligne dans le bucket de son prochain essai. La copie est écrite avant la suppression de la ligne
+     * louée : un arrêt entre les deux produit un doublon, jamais une perte. Si la location a été reprise
+     * entre-temps par un autre worker, la copie est retirée.
+     */
+    private Mono<Void> retry(NotificationOutboxEntry entry, int attempt, long successCount, Map<String, UUID> tokens, String error) {
+        long nextAttemptAt = Instant.now().plus(backoff(attempt)).toEpochMilli();
+        log.warn("[OUTBOX] Notification {} : essai {}/{} en échec ({}), nouvel essai à {}.",
+                entry.getKey().getId(), attempt, maxAttempts, error, Instant.ofEpochMilli(nextAttemptAt));
+        NotificationOutboxEntry next = entry.rescheduled(nextAttemptAt);
+        next.setAttempts(attempt);
+        next.setSuccessCount(successCount);
+        next.setLastError(truncate(error));
+        next.setPendingTokens(tokens);
+        return notificationOutboxRepository.insert(next)
+                .then(notificationOutboxLeaseRepository.deleteIfOwned(entry.getKey(), workerId))
+                .flatMap(deleted -> deleted ? Mono.<Void>empty() : notificationOutboxRepository.delete(next))
+                .then();
+    }
+
+    /**
+     * Consigne le résultat final et retire la ligne de l'outbox dans le même batch.
+     */
+    private Mono<Void> complete(NotificationOutboxEntry entry, String status, int attempt, FcmSendResult total, String error) {
+        NotificationOutcome outcome = new NotificationOutcome();
+        outcome.setId(entry.getKey().getId());
+        outcome.setOrganizationId(entry.getOrganizationId());
+        outcome.setTemplateId(entry.getTemplateId());
+        outcome.setStatus(status);
+        outcome.setAttempts(attempt);
+        outcome.setSuccessCount(total.getSuccessCount());
+        outcome.setFailureCount(total.getFailureCount());
+        outcome.setInvalidTokenCount(total.getInvalidTokens().size());
+        outcome.setLastError(truncate(error));
+        outcome.setCreatedAt(entry.getCreatedAt());
+        outcome.setCompletedAt(Instant.now().toEpochMilli());
+
+        if (NotificationOutcome.DELIVERED.equals(status)) {
+            log.info("[OUTBOX] Notification {} envoyée ({} appareil(s), {} essai(s)).", outcome.getId(), outcome.getSuccessCount(), attempt);
+        } else {
+            log.warn("[OUTBOX] Notification {} terminée avec le statut {} après {} essai(s): {}", outcome.getId(), status, attempt, error);
+        }
+        return reactiveCassandraOperations.batchOps()
+                .insert(List.of(outcome), InsertOptions.builder().ttl(outcomeTtl).build())
+                .delete(entry)
+                .execute()
+                .then();
+    }
+
+    /**
+     * Délai avant l'essai suivant : backoffBase doublé à chaque échec, plafonné à backoffMax,
+     * dont la seconde moitié est tirée au hasard pour étaler les nouveaux essais.
+     */
+    private Duration backoff(int attempt) {
+        long cap = backoffMax.toMillis();
+        long delay = Math.min(cap, backoffBase.toMillis() << Math.min(attempt - 1, 30));
+        long half = Math.max(1, delay / 2);
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half));
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
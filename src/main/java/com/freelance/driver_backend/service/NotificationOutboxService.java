@@ -0,0 +1,82 @@
+package com.freelance.driver_backend.service;
+
+import com.freelance.driver_backend.model.NotificationOutboxCursor;
+import com.freelance.driver_backend.model.NotificationOutboxEntry;
+import com.freelance.driver_backend.model.NotificationOutboxKey;
+import com.freelance.driver_backend.repository.NotificationOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.cassandra.core.InsertOptions;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dépôt des notifications push dans l'outbox "notification_outbox". L'appelant n'attend qu'une écriture :
+ * la lecture des tokens, l'envoi à FCM et les nouveaux essais sont faits par NotificationDeliveryWorker.
+ * Le curseur d'un shard est créé avant sa première ligne : un shard sans curseur est un shard sans ligne.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationOutboxService {
+
+    private static final InsertOptions IF_NOT_EXISTS = InsertOptions.builder().withIfNotExists().build();
+
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final ReactiveCassandraOperations reactiveCassandraOperations;
+
+    // Shards dont le curseur existe déjà en base : vérifié une seule fois par shard et par instance.
+    private final Set<Integer> shardsWithCursor = ConcurrentHashMap.newKeySet();
+
+    // Nombre de partitions de l'outbox, parcourues par les workers. Ne pas réduire tant que l'outbox n'est pas vide.
+    @Value("${freelancedriver.notifications.outbox.shard-count:16}")
+    private int shardCount;
+
+    /**
+     * Enregistre une notification push à envoyer aux appareils des utilisateurs donnés.
+     */
+    public Mono<Void> enqueuePush(UUID organizationId, UUID templateId, List<UUID> recipientIds,
+                                  Map<String, String> metadata, Map<String, String> data) {
+        UUID id = UUID.randomUUID();
+        long now = Instant.now().toEpochMilli();
+        NotificationOutboxEntry entry = new NotificationOutboxEntry();
+        entry.setKey(NotificationOutboxKey.of(Math.floorMod(id.hashCode(), shardCount), now, id));
+        entry.setCreatedAt(now);
+        entry.setOrganizationId(organizationId);
+        entry.setTemplateId(templateId);
+        entry.setRecipientIds(List.copyOf(recipientIds));
+        entry.setMetadata(metadata);
+        entry.setData(data);
+        return ensureCursor(entry.getKey())
+                .then(notificationOutboxRepository.insert(entry))
+                .doOnNext(saved -> log.info("[OUTBOX] Notification {} (template {}) mise en file pour {} destinataire(s).",
+                        id, templateId, recipientIds.size()))
+                .then();
+    }
+
+    /**
+     * Crée le curseur du shard au bucket de la ligne s'il n'existe pas encore (écriture conditionnelle) ;
+     * un curseur existant n'est jamais reculé.
+     */
+    private Mono<Void> ensureCursor(NotificationOutboxKey key) {
+        if (shardsWithCursor.contains(key.getShard())) {
+            return Mono.empty();
+        }
+        return reactiveCassandraOperations.insert(new NotificationOutboxCursor(key.getShard(), key.getBucket()), IF_NOT_EXISTS)
+                .doOnNext(result -> shardsWithCursor.add(key.getShard()))
+                .then();
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+}
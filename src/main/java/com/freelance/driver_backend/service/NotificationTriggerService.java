@@ -14,15 +14,24 @@ import com.freelance.driver_backend.service.external.NotificationService;
 import io.github.cdimascio.dotenv.Dotenv;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.cassandra.core.query.Columns;
+import org.springframework.data.cassandra.core.query.Query;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -33,8 +42,20 @@ public class NotificationTriggerService {
     private final DriverProfileRepository driverProfileRepository;
     private final DeviceTokenRepository deviceTokenRepository;
     private final NotificationService notificationService;
+    private final NotificationOutboxService notificationOutboxService;
+    private final ReactiveCassandraOperations reactiveCassandraOperations;
     private final Dotenv dotenv;
 
+    // Diffusions : taille des pages de profils lues, lectures de tokens en parallèle, destinataires par envoi.
+    @Value("${freelancedriver.notifications.broadcast.page-size:500}")
+    private int broadcastPageSize;
+
+    @Value("${freelancedriver.notifications.broadcast.lookup-concurrency:16}")
+    private int broadcastLookupConcurrency;
+
+    @Value("${freelancedriver.notifications.broadcast.chunk-size:300}")
+    private int broadcastChunkSize;
+
     /**
      * Notifie un client qu'un chauffeur a postulé à son annonce.
      */
@@ -44,37 +65,21 @@ public class NotificationTriggerService {
         
         log.info("Déclenchement de la notification pour le client {} (postulation par chauffeur {}) pour l'annonce {}.", targetClientId, driverProfile.getUserId(), announcement.getName());
 
-        return deviceTokenRepository.findByUserId(targetClientId)
-            .map(DeviceToken::getToken)
-            .collectList()
-            .flatMap(tokens -> {
-                if (tokens.isEmpty()) {
-                    log.warn("Aucun token d'appareil trouvé pour le client {}.", targetClientId);
-                    return Mono.empty();
-                }
-                
-                UUID templateId = UUID.fromString(dotenv.get("TEMPLATE_PUSH_ANNOUNCEMENT_ACCEPTED_ID"));
-                
-                Map<String, String> dataPayload = new HashMap<>();
-                dataPayload.put("screen", "DriverDetails");
-                dataPayload.put("driverId", driverProfile.getUserId().toString());
-                dataPayload.put("announcementId", announcement.getId().toString());
-                dataPayload.put("source", "notification");
-                
-                NotificationRequest request = NotificationRequest.builder()
-                    .templateId(templateId)
-                    .recipients(tokens)
-                    .metadata(Map.of(
-                        "driverName", driverProfile.getFirstName() + " " + driverProfile.getLastName(),
-                        "tripTitle", announcement.getName(),
-                        "driverId", driverProfile.getUserId().toString() 
-                    ))
-                    .data(dataPayload)
-                    .build();
-                
-                return notificationService.sendPushNotification(announcement.getOrganizationId(), request, null, null);
-            })
-            .then();
+        UUID templateId = UUID.fromString(dotenv.get("TEMPLATE_PUSH_ANNOUNCEMENT_ACCEPTED_ID"));
+        
+        Map<String, String> dataPayload = new HashMap<>();
+        dataPayload.put("screen", "DriverDetails");
+        dataPayload.put("driverId", driverProfile.getUserId().toString());
+        dataPayload.put("announcementId", announcement.getId().toString());
+        dataPayload.put("source", "notification");
+        
+        return notificationOutboxService.enqueuePush(announcement.getOrganizationId(), templateId, List.of(targetClientId),
+            Map.of(
+                "driverName", driverProfile.getFirstName() + " " + driverProfile.getLastName(),
+                "tripTitle", announcement.getName(),
+                "driverId", driverProfile.getUserId().toString() 
+            ),
+            dataPayload);
     }
 
     /**
@@ -86,39 +91,23 @@ public class NotificationTriggerService {
 
         log.info("Déclenchement de la notification pour le chauffeur {} (postulation ACCEPTÉE) pour l'annonce {}.", targetDriverId, announcement.getName());
 
-        return deviceTokenRepository.findByUserId(targetDriverId)
-            .map(DeviceToken::getToken)
-            .collectList()
-            .flatMap(tokens -> {
-                if (tokens.isEmpty()) {
-                    log.warn("Aucun token d'appareil trouvé pour le chauffeur {}.", targetDriverId);
-                    return Mono.empty();
-                }
+        UUID templateId = UUID.fromString(dotenv.get("TEMPLATE_PUSH_ANNOUNCEMENT_CONFIRMED_ID")); 
+        
+        return clientProfileRepository.findByUserId(announcement.getClientId())
+            .flatMap(clientProfile -> {
+                Map<String, String> dataPayload = new HashMap<>();
+                dataPayload.put("screen", "MyAcceptedRides"); 
+                dataPayload.put("tripId", announcement.getId().toString());
+                dataPayload.put("source", "notification");
 
-                UUID templateId = UUID.fromString(dotenv.get("TEMPLATE_PUSH_ANNOUNCEMENT_CONFIRMED_ID")); 
-                
-                return clientProfileRepository.findByUserId(announcement.getClientId())
-                    .flatMap(clientProfile -> {
-                        Map<String, String> dataPayload = new HashMap<>();
-                        dataPayload.put("screen", "MyAcceptedRides"); 
-                        dataPayload.put("tripId", announcement.getId().toString());
-                        dataPayload.put("source", "notification");
-
-                        NotificationRequest request = NotificationRequest.builder()
-                            .templateId(templateId)
-                            .recipients(tokens)
-                            .metadata(Map.of(
-                                "clientName", clientProfile.getFirstName() + " " + clientProfile.getLastName(),
-                                "tripTitle", announcement.getName(),
-                                "tripId", announcement.getId().toString()
-                            ))
-                            .data(dataPayload)
-                            .build();
-                        return notificationService.sendPushNotification(announcement.getOrganizationId(), request, null, null);
-                    })
-                    .then();
-            })
-            .then();
+                return notificationOutboxService.enqueuePush(announcement.getOrganizationId(), templateId, List.of(targetDriverId),
+                    Map.of(
+                        "clientName", clientProfile.getFirstName() + " " + clientProfile.getLastName(),
+                        "tripTitle", announcement.getName(),
+                        "tripId", announcement.getId().toString()
+                    ),
+                    dataPayload);
+            });
     }
 
     /**
@@ -130,34 +119,19 @@ public class NotificationTriggerService {
 
         log.info("Déclenchement de la notification pour le client {} (postulation ANNULÉE par chauffeur {}) pour l'annonce {}.", targetClientId, driverProfile.getUserId(), announcement.getName());
 
-        return deviceTokenRepository.findByUserId(targetClientId)
-            .map(DeviceToken::getToken)
-            .collectList()
-            .flatMap(tokens -> {
-                if (tokens.isEmpty()) {
-                    log.warn("Aucun token d'appareil trouvé pour le client {}.", targetClientId);
-                    return Mono.empty();
-                }
-
-                UUID templateId = UUID.fromString(dotenv.get("TEMPLATE_PUSH_POSTULATION_CANCELLED_ID")); 
-                
-                Map<String, String> dataPayload = new HashMap<>();
-                dataPayload.put("screen", "MyAnnouncements"); 
-                dataPayload.put("announcementId", announcement.getId().toString());
-                dataPayload.put("source", "notification");
-
-                NotificationRequest request = NotificationRequest.builder()
-                    .templateId(templateId)
-                    .recipients(tokens)
-                    .metadata(Map.of(
-                        "driverName", driverProfile.getFirstName() + " " + driverProfile.getLastName(),
-                        "tripTitle", announcement.getName()
-                    ))
-                    .data(dataPayload)
-                    .build();
-                return notificationService.sendPushNotification(announcement.getOrganizationId(), request, null, null);
-            })
-            .then();
+        UUID templateId = UUID.fromString(dotenv.get("TEMPLATE_PUSH_POSTULATION_CANCELLED_ID")); 
+        
+        Map<String, String> dataPayload = new HashMap<>();
+        dataPayload.put("screen", "MyAnnouncements"); 
+        dataPayload.put("announcementId", announcement.getId().toString());
+        dataPayload.put("source", "notification");
+
+        return notificationOutboxService.enqueuePush(announcement.getOrganizationId(), templateId, List.of(targetClientId),
+            Map.of(
+                "driverName", driverProfile.getFirstName() + " " + driverProfile.getLastName(),
+                "tripTitle", announcement.getName()
+            ),
+            dataPayload);
     }
     
     /**
@@ -169,35 +143,20 @@ public class NotificationTriggerService {
 
         log.info("Déclenchement de la notification pour le chauffeur {} (demande de réservation de planning par client {}) pour le planning {}.", targetDriverId, clientProfile.getUserId(), planning.getName());
 
-        return deviceTokenRepository.findByUserId(targetDriverId)
-            .map(DeviceToken::getToken)
-            .collectList()
-            .flatMap(tokens -> {
-                if (tokens.isEmpty()) {
-                    log.warn("Aucun token d'appareil trouvé pour le chauffeur {}.", targetDriverId);
-                    return Mono.empty();
-                }
-
-                UUID templateId = UUID.fromString(dotenv.get("TEMPLATE_PUSH_PLANNING_BOOKING_REQUESTED_TO_DRIVER_ID"));
-                
-                Map<String, String> dataPayload = new HashMap<>();
-                dataPayload.put("screen", "MyPlannings"); // Écran où le chauffeur voit ses plannings ou demandes
-                dataPayload.put("planningId", planning.getId().toString());
-                dataPayload.put("clientId", clientProfile.getUserId().toString()); // Pour que le chauffeur puisse confirmer
-                dataPayload.put("source", "notification");
-
-                NotificationRequest request = NotificationRequest.builder()
-                    .templateId(templateId)
-                    .recipients(tokens)
-                    .metadata(Map.of(
-                        "clientName", clientProfile.getFirstName() + " " + clientProfile.getLastName(),
-                        "tripTitle", planning.getName()
-                    ))
-                    .data(dataPayload)
-                    .build();
-                return notificationService.sendPushNotification(planning.getOrganizationId(), request, null, null);
-            })
-            .then();
+        UUID templateId = UUID.fromString(dotenv.get("TEMPLATE_PUSH_PLANNING_BOOKING_REQUESTED_TO_DRIVER_ID"));
+        
+        Map<String, String> dataPayload = new HashMap<>();
+        dataPayload.put("screen", "MyPlannings"); // Écran où le chauffeur voit ses plannings ou demandes
+        dataPayload.put("planningId", planning.getId().toString());
+        dataPayload.put("clientId", clientProfile.getUserId().toString()); // Pour que le chauffeur puisse confirmer
+        dataPayload.put("source", "notification");
+
+        return notificationOutboxService.enqueuePush(planning.getOrganizationId(), templateId, List.of(targetDriverId),
+            Map.of(
+                "clientName", clientProfile.getFirstName() + " " + clientProfile.getLastName(),
+                "tripTitle", planning.getName()
+            ),
+            dataPayload);
     }
 
     /**
@@ -209,35 +168,20 @@ public class NotificationTriggerService {
 
         log.info("Déclenchement de la notification pour le client {} (réservation de planning ACCEPTÉE par chauffeur {}) pour le planning {}.", targetClientId, driverProfile.getUserId(), planning.getName());
 
-        return deviceTokenRepository.findByUserId(targetClientId)
-            .map(DeviceToken::getToken)
-            .collectList()
-            .flatMap(tokens -> {
-                if (tokens.isEmpty()) {
-                    log.warn("Aucun token d'appareil trouvé pour le client {}.", targetClientId);
-                    return Mono.empty();
-                }
-
-                UUID templateId = UUID.fromString(dotenv.get("TEMPLATE_PUSH_PLANNING_BOOKING_ACCEPTED_TO_CLIENT_ID"));
-                
-                Map<String, String> dataPayload = new HashMap<>();
-                dataPayload.put("screen", "MyReservations"); // Écran où le client voit ses réservations
-                dataPayload.put("planningId", planning.getId().toString());
-                dataPayload.put("driverId", driverProfile.getUserId().toString()); // Infos du chauffeur si besoin
-                dataPayload.put("source", "notification");
-
-                NotificationRequest request = NotificationRequest.builder()
-                    .templateId(templateId)
-                    .recipients(tokens)
-                    .metadata(Map.of(
-                        "driverName", driverProfile.getFirstName() + " " + driverProfile.getLastName(),
-                        "tripTitle", planning.getName()
-                    ))
-                    .data(dataPayload)
-                    .build();
-                return notificationService.sendPushNotification(planning.getOrganizationId(), request, null, null);
-            })
-            .then();
+        UUID templateId = UUID.fromString(dotenv.get("TEMPLATE_PUSH_PLANNING_BOOKING_ACCEPTED_TO_CLIENT_ID"));
+        
+        Map<String, String> dataPayload = new HashMap<>();
+        dataPayload.put("screen", "MyReservations"); // Écran où le client voit ses réservations
+        dataPayload.put("planningId", planning.getId().toString());
+        dataPayload.put("driverId", driverProfile.getUserId().toString()); // Infos du chauffeur si besoin
+        dataPayload.put("source", "notification");
+
+        return notificationOutboxService.enqueuePush(planning.getOrganizationId(), templateId, List.of(targetClientId),
+            Map.of(
+                "driverName", driverProfile.getFirstName() + " " + driverProfile.getLastName(),
+                "tripTitle", planning.getName()
+            ),
+            dataPayload);
     }
 
     /**
@@ -249,34 +193,19 @@ public class NotificationTriggerService {
 
         log.info("Déclenchement de la notification pour le chauffeur {} (réservation/demande ANNULÉE par client {}) pour le planning {}.", targetDriverId, clientProfile.getUserId(), planning.getName());
 
-        return deviceTokenRepository.findByUserId(targetDriverId)
-            .map(DeviceToken::getToken)
-            .collectList()
-            .flatMap(tokens -> {
-                if (tokens.isEmpty()) {
-                    log.warn("Aucun token d'appareil trouvé pour le chauffeur {}.", targetDriverId);
-                    return Mono.empty();
-                }
-
-                UUID templateId = UUID.fromString(dotenv.get("TEMPLATE_PUSH_PLANNING_RESERVATION_CANCELLED_ID"));
-                
-                Map<String, String> dataPayload = new HashMap<>();
-                dataPayload.put("screen", "MyPlannings"); // Écran où le chauffeur voit ses plannings
-                dataPayload.put("planningId", planning.getId().toString());
-                dataPayload.put("source", "notification");
-
-                NotificationRequest request = NotificationRequest.builder()
-                    .templateId(templateId)
-                    .recipients(List.copyOf(tokens))
-                    .metadata(Map.of(
-                        "clientName", clientProfile.getFirstName() + " " + clientProfile.getLastName(),
-                        "tripTitle", planning.getName()
-                    ))
-                    .data(dataPayload)
-                    .build();
-                return notificationService.sendPushNotification(planning.getOrganizationId(), request, null, null);
-            })
-            .then();
+        UUID templateId = UUID.fromString(dotenv.get("TEMPLATE_PUSH_PLANNING_RESERVATION_CANCELLED_ID"));
+        
+        Map<String, String> dataPayload = new HashMap<>();
+        dataPayload.put("screen", "MyPlannings"); // Écran où le chauffeur voit ses plannings
+        dataPayload.put("planningId", planning.getId().toString());
+        dataPayload.put("source", "notification");
+
+        return notificationOutboxService.enqueuePush(planning.getOrganizationId(), templateId, List.of(targetDriverId),
+            Map.of(
+                "clientName", clientProfile.getFirstName() + " " + clientProfile.getLastName(),
+                "tripTitle", planning.getName()
+            ),
+            dataPayload);
     }
     
     /**
@@ -287,19 +216,16 @@ public class NotificationTriggerService {
         
         UUID templateId = UUID.fromString(dotenv.get("TEMPLATE_PUSH_NEW_PLANNING_ID"));
         
-        return clientProfileRepository.findAll()
-            .map(client -> client.getUserId())
-            .collectList()
-            .flatMap(clientIds -> this.sendBroadcastNotification(
-                clientIds, 
-                templateId, 
-                planning.getOrganizationId(), 
+        return this.sendBroadcastNotification(
+                streamUserIds(ClientProfile.class, ClientProfile::getUserId),
+                templateId,
+                planning.getOrganizationId(),
                 Map.of(
                     "driverName", planning.getClientName(),
                     "destination", planning.getDropoffLocation(),
                     "cost", planning.getDefaultSellPrice() != null ? planning.getDefaultSellPrice().toString() : "0"
                 )
-            )).then();
+            ).then();
     }
 
     /**
@@ -310,42 +236,69 @@ public class NotificationTriggerService {
         
         UUID templateId = UUID.fromString(dotenv.get("TEMPLATE_PUSH_NEW_ANNOUNCEMENT_ID"));
         
-        return driverProfileRepository.findAll()
-            .map(driver -> driver.getUserId())
-            .collectList()
-            .flatMap(driverIds -> this.sendBroadcastNotification(
-                driverIds, 
-                templateId, 
-                announcement.getOrganizationId(), 
+        return this.sendBroadcastNotification(
+                streamUserIds(DriverProfile.class, DriverProfile::getUserId),
+                templateId,
+                announcement.getOrganizationId(),
                 Map.of("tripTitle", announcement.getName())
-            )).then();
+            ).then();
     }
-    
+
     /**
-     * Méthode utilitaire privée pour envoyer une notification à une liste d'utilisateurs.
+     * Parcourt les IDs utilisateur d'une table de profils page par page (seule la colonne user_id est lue).
+     * La page suivante n'est demandée qu'une fois la précédente consommée par l'aval.
      */
-    private Mono<Boolean> sendBroadcastNotification(List<UUID> userIds, UUID templateId, UUID organizationId, Map<String, String> metadata) {
-        if (userIds.isEmpty()) {
-            log.warn("La liste d'utilisateurs à notifier est vide. Annulation.");
-            return Mono.just(true);
-        }
-        return Flux.fromIterable(userIds)
-            .flatMap(deviceTokenRepository::findByUserId)
+    private <T> Flux<UUID> streamUserIds(Class<T> profileType, Function<T, UUID> userIdOf) {
+        Query firstPage = Query.empty().columns(Columns.from("user_id")).pageRequest(CassandraPageRequest.first(broadcastPageSize));
+        return reactiveCassandraOperations.slice(firstPage, profileType)
+            .expand(slice -> slice.hasNext()
+                ? reactiveCassandraOperations.slice(firstPage.pageRequest(slice.nextPageable()), profileType)
+                : Mono.empty())
+            .concatMapIterable(Slice::getContent)
+            .map(userIdOf)
+            .filter(Objects::nonNull);
+    }
+
+    /**
+     * Diffusion en flux : les tokens des utilisateurs sont lus avec une concurrence bornée puis envoyés
+     * par lots d'au plus broadcastChunkSize destinataires, un lot à la fois. Aucune liste complète
+     * d'utilisateurs ou de tokens n'est gardée en mémoire, et la lecture des profils suit le rythme des envois.
+     */
+    private Mono<Boolean> sendBroadcastNotification(Flux<UUID> userIds, UUID templateId, UUID organizationId, Map<String, String> metadata) {
+        AtomicLong sentChunks = new AtomicLong();
+        AtomicLong failedChunks = new AtomicLong();
+        AtomicLong recipients = new AtomicLong();
+        return userIds
+            .flatMap(deviceTokenRepository::findByUserId, broadcastLookupConcurrency)
             .map(DeviceToken::getToken)
-            .collect(Collectors.toSet())
-            .flatMap(tokens -> {
-                if (tokens.isEmpty()) {
-                    log.warn("Aucun token d'appareil trouvé pour la liste d'utilisateurs.");
-                    return Mono.just(true);
-                }
-                log.info("Envoi de la notification (template {}) à {} appareils.", templateId, tokens.size());
+            .buffer(broadcastChunkSize)
+            .concatMap(chunk -> {
+                // Un même token peut être enregistré pour plusieurs comptes : dédoublonnage à l'échelle du lot.
+                List<String> tokens = List.copyOf(new LinkedHashSet<>(chunk));
                 NotificationRequest request = NotificationRequest.builder()
                     .templateId(templateId)
-                    .recipients(List.copyOf(tokens))
+                    .recipients(tokens)
                     .metadata(metadata)
                     .build();
-                // Assurez-vous que sendPushNotification peut prendre le dataPayload si nécessaire
-                return notificationService.sendPushNotification(organizationId, request, null, null); 
-            });
+                return notificationService.sendPushNotification(organizationId, request, null, null)
+                    .onErrorResume(e -> {
+                        log.error("❌ Échec de l'envoi d'un lot de {} notifications (template {}): {}", tokens.size(), templateId, e.getMessage());
+                        return Mono.just(false);
+                    })
+                    .defaultIfEmpty(false)
+                    .doOnNext(sent -> {
+                        (sent ? sentChunks : failedChunks).incrementAndGet();
+                        recipients.addAndGet(tokens.size());
+                    });
+            })
+            .then(Mono.fromSupplier(() -> {
+                if (recipients.get() == 0) {
+                    log.warn("Aucun token d'appareil trouvé pour la diffusion (template {}).", templateId);
+                } else {
+                    log.info("Diffusion (template {}) terminée : {} appareil(s), {} lot(s) envoyé(s), {} lot(s) en échec.",
+                        templateId, recipients.get(), sentChunks.get(), failedChunks.get());
+                }
+                return failedChunks.get() == 0;
+            }));
     }
-}
\ No newline at end of file
+}
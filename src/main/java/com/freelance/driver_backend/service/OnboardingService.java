@@ -180,7 +180,8 @@ public class OnboardingService {
         profile.setPhoneNumber(user.getPhoneNumber());
         profile.setLicenseNumber(dto.getLicenseNumber());
         profile.setVehicleDetails(dto.getVehicleDetails());
-        return driverProfileRepository.save(profile);
+        return driverProfileRepository.save(profile)
+                .flatMap(saved -> profileService.onProfileChanged(userId).thenReturn(saved));
     }
 
     /**
@@ -196,7 +197,8 @@ public class OnboardingService {
         profile.setCompanyName(dto.getCompanyName());
         profile.setContactEmail(dto.getEmail());
         profile.setPhoneNumber(user.getPhoneNumber()); // Utiliser le téléphone de l'utilisateur Auth pour la cohérence
-        return clientProfileRepository.save(profile);
+        return clientProfileRepository.save(profile)
+                .flatMap(saved -> profileService.onProfileChanged(userId).thenReturn(saved));
     }
 
 
@@ -0,0 +1,68 @@
+package com.freelance.driver_backend.service;
+
+import com.freelance.driver_backend.model.Product;
+import com.freelance.driver_backend.repository.ProductBookingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Transitions de réservation des annonces et plannings.
+ * La ligne "products" est modifiée par une mise à jour conditionnelle ; si elle n'est pas appliquée
+ * (réservation concurrente), la requête échoue en 409 CONFLICT. Sinon les index sont resynchronisés.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductBookingService {
+
+    private final ProductBookingRepository productBookingRepository;
+    private final ProductIndexService productIndexService;
+
+    public Mono<Product> reserve(Product current, UUID reserverId, String reserverName, String newStatus) {
+        Product updated = copyOf(current);
+        updated.setReservedByDriverId(reserverId);
+        updated.setReservedByDriverName(reserverName);
+        updated.setStatus(newStatus);
+        return productBookingRepository.reserve(current.getKey(), reserverId, reserverName, newStatus)
+                .flatMap(applied -> onResult(applied, current, updated));
+    }
+
+    public Mono<Product> updateStatus(Product current, UUID expectedReserverId, String expectedStatus, String newStatus) {
+        Product updated = copyOf(current);
+        updated.setStatus(newStatus);
+        return productBookingRepository.updateStatus(current.getKey(), expectedReserverId, expectedStatus, newStatus)
+                .flatMap(applied -> onResult(applied, current, updated));
+    }
+
+    public Mono<Product> release(Product current, UUID expectedReserverId, Collection<String> expectedStatuses, String newStatus) {
+        Product updated = copyOf(current);
+        updated.setReservedByDriverId(null);
+        updated.setReservedByDriverName(null);
+        updated.setStatus(newStatus);
+        return productBookingRepository.release(current.getKey(), expectedReserverId, expectedStatuses, newStatus)
+                .flatMap(applied -> onResult(applied, current, updated));
+    }
+
+    private Mono<Product> onResult(boolean applied, Product current, Product updated) {
+        if (!applied) {
+            log.warn("[BOOKING] Transition refusée pour le produit {} : la réservation a changé entre-temps.", current.getId());
+            return Mono.error(new ResponseStatusException(HttpStatus.CONFLICT,
+                    "La réservation de ce produit a été modifiée par une autre requête. Veuillez rafraîchir et réessayer."));
+        }
+        return productIndexService.syncIndexes(current, updated);
+    }
+
+    private Product copyOf(Product product) {
+        Product copy = new Product();
+        BeanUtils.copyProperties(product, copy);
+        return copy;
+    }
+}
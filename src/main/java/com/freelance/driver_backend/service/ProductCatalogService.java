@@ -0,0 +1,157 @@
+package com.freelance.driver_backend.service;
+
+import com.freelance.driver_backend.dto.CreateProductRequest;
+import com.freelance.driver_backend.dto.PageResponse;
+import com.freelance.driver_backend.model.Product;
+import com.freelance.driver_backend.model.ProductByAuthor;
+import com.freelance.driver_backend.model.ProductKey;
+import com.freelance.driver_backend.repository.ProductByAuthorRepository;
+import com.freelance.driver_backend.repository.ProductRepository;
+import com.freelance.driver_backend.util.CursorUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Logique de gestion des "produits" (annonces, plannings, véhicules, adresses, expériences).
+ * Partagée par MockProductController (API HTTP) et par l'implémentation en processus de ResourceService.
+ * Les écritures de véhicules et d'expériences mettent à jour la carte du chauffeur (DriverCardService).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductCatalogService {
+
+    private final ProductRepository productRepository;
+    private final ProductByAuthorRepository productByAuthorRepository;
+    private final ProductIndexService productIndexService;
+    private final DriverCardService driverCardService;
+
+    /**
+     * Crée un nouveau "produit". L'ID fourni par le frontend est réutilisé s'il est présent.
+     */
+    public Mono<Product> createProduct(UUID organizationId, CreateProductRequest request) {
+        log.warn("[PRODUCT-CATALOG] Création d'un produit pour l'organisation {}: clientId={}, categoryId={}, name={}, requestedId={}",
+                organizationId, request.getClientId(), request.getCategoryId(), request.getName(), request.getId());
+
+        ProductKey key;
+        if (request.getId() != null && !request.getId().isEmpty()) {
+            try {
+                key = new ProductKey(organizationId, UUID.fromString(request.getId()));
+            } catch (IllegalArgumentException e) {
+                log.error("[PRODUCT-CATALOG] ID de produit fourni invalide par le frontend: {}", request.getId(), e);
+                return Mono.error(new IllegalArgumentException("L'ID de produit fourni par le frontend est invalide."));
+            }
+        } else {
+            key = new ProductKey(organizationId, UUID.randomUUID());
+        }
+
+        Product newProduct = new Product();
+        newProduct.setKey(key);
+        newProduct.setCreatedAt(Instant.now());
+        updateProductFromRequest(newProduct, request);
+
+        return productIndexService.save(newProduct)
+                .doOnNext(saved -> log.warn("[PRODUCT-CATALOG] Produit sauvegardé avec succès. ID: {}, OrgID: {}, CatID: {}, Statut: '{}'",
+                        saved.getId(), saved.getOrganizationId(), saved.getCategoryId(), saved.getStatus()))
+                .flatMap(saved -> driverCardService.refreshFor(saved).thenReturn(saved));
+    }
+
+    /**
+     * Récupère les "produits" d'une organisation, filtrés par catégorie.
+     */
+    public Flux<Product> getProductsByCategory(UUID organizationId, UUID categoryId) {
+        return productRepository.findByKeyOrganizationIdAndCategoryId(organizationId, categoryId);
+    }
+
+    /**
+     * Récupère une page des "produits" d'une organisation, filtrés par catégorie.
+     */
+    public Mono<PageResponse<Product>> getProductsPageByCategory(UUID organizationId, UUID categoryId, String cursor, Integer limit) {
+        return Mono.fromCallable(() -> CursorUtil.pageRequest(cursor, limit))
+                .flatMap(pageRequest -> productRepository.findByKeyOrganizationIdAndCategoryId(organizationId, categoryId, pageRequest))
+                .map(CursorUtil::toPage);
+    }
+
+    /**
+     * Récupère une page des "produits" d'un auteur dans une catégorie (table "products_by_author").
+     * La partition ne contient que les produits de l'auteur : chaque page est pleine, sans filtrage en mémoire.
+     */
+    public Mono<PageResponse<Product>> getProductsPageByAuthor(UUID clientId, UUID categoryId, String cursor, Integer limit) {
+        return Mono.fromCallable(() -> CursorUtil.pageRequest(cursor, limit))
+                .flatMap(pageRequest -> productByAuthorRepository.findByKeyClientIdAndKeyCategoryId(clientId, categoryId, pageRequest))
+                .map(slice -> CursorUtil.toPage(slice).map(ProductByAuthor::toProduct));
+    }
+
+    /**
+     * Met à jour un "produit" existant. Renvoie un Mono vide si le produit n'existe pas.
+     * La réservation n'est jamais modifiée ici, et le statut ne l'est que si le produit n'est pas réservé :
+     * les transitions de réservation passent par ProductBookingService.
+     */
+    public Mono<Product> updateProduct(UUID organizationId, UUID productId, CreateProductRequest request) {
+        ProductKey key = new ProductKey(organizationId, productId);
+        log.warn("[PRODUCT-CATALOG] Mise à jour du produit avec la clé {}", key);
+        return productRepository.findById(key)
+                .flatMap(existingProduct -> {
+                    Product edited = new Product();
+                    BeanUtils.copyProperties(existingProduct, edited);
+                    updateProductFromRequest(edited, request);
+                    if (existingProduct.getReservedByDriverId() != null || request.getStatus() == null) {
+                        edited.setStatus(existingProduct.getStatus());
+                    }
+                    return productIndexService.update(existingProduct, edited);
+                })
+                .flatMap(saved -> driverCardService.refreshFor(saved).thenReturn(saved));
+    }
+
+    /**
+     * Supprime un "produit" et ses lignes d'index.
+     */
+    public Mono<Void> deleteProduct(UUID organizationId, UUID productId) {
+        ProductKey key = new ProductKey(organizationId, productId);
+        log.warn("[PRODUCT-CATALOG] Suppression du produit avec la clé {}", key);
+        return productIndexService.delete(key)
+                .flatMap(driverCardService::refreshFor);
+    }
+
+    /**
+     * Mappe les champs d'une CreateProductRequest vers un objet Product.
+     * L'ID ne peut pas être mis à jour ici car il fait partie de la clé primaire.
+     */
+    private void updateProductFromRequest(Product product, CreateProductRequest request) {
+        product.setName(request.getName());
+        product.setDefaultSellPrice(request.getDefaultSellPrice());
+        product.setShortDescription(request.getShortDescription());
+
+        if (request.getCategoryId() != null) {
+            product.setCategoryId(request.getCategoryId());
+        }
+
+        product.setIsActive(request.getIsActive());
+        product.setPickupLocation(request.getPickupLocation());
+        product.setDropoffLocation(request.getDropoffLocation());
+        product.setPickupLatitude(request.getPickupLatitude());
+        product.setPickupLongitude(request.getPickupLongitude());
+        product.setDropoffLatitude(request.getDropoffLatitude());
+        product.setDropoffLongitude(request.getDropoffLongitude());
+        product.setStartDate(request.getStartDate());
+        product.setStartTime(request.getStartTime());
+        product.setEndDate(request.getEndDate());
+        product.setEndTime(request.getEndTime());
+        product.setIsNegotiable(request.isNegotiable());
+        product.setPaymentMethod(request.getPaymentMethod());
+        product.setClientId(request.getClientId());
+        product.setClientName(request.getClientName());
+        product.setStatus(request.getStatus());
+        product.setClientPhoneNumber(request.getClientPhoneNumber());
+        product.setClientProfileImageUrl(request.getClientProfileImageUrl());
+        product.setBaggageInfo(request.getBaggageInfo());
+        product.setMetadata(request.getMetadata());
+    }
+}
@@ -0,0 +1,170 @@
+package com.freelance.driver_backend.service;
+
+import com.freelance.driver_backend.dto.PageResponse;
+import com.freelance.driver_backend.model.Product;
+import com.freelance.driver_backend.model.ProductFeedEntry;
+import com.freelance.driver_backend.repository.ProductByStartRepository;
+import com.freelance.driver_backend.repository.ProductFeedDayRepository;
+import com.freelance.driver_backend.repository.ProductFeedRepository;
+import com.freelance.driver_backend.util.CursorUtil;
+import com.freelance.driver_backend.util.TripDateUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Lecture du fil des publications (table "products_feed").
+ * Les partitions journalières sont lues du jour courant vers le passé, en ne visitant que les jours
+ * référencés dans "products_feed_days" : une longue période sans publication ne coûte aucune lecture.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductFeedService {
+
+    public static final String STATUS_PUBLISHED = "Published";
+
+    // Nombre de partitions journalières interrogées en parallèle ; l'ordre du résultat est conservé.
+    private static final int PARTITION_CONCURRENCY = 4;
+
+    private final ProductFeedRepository productFeedRepository;
+    private final ProductFeedDayRepository productFeedDayRepository;
+    private final ProductByStartRepository productByStartRepository;
+
+    // Nombre maximal de partitions journalières lues pour une page ; au-delà, la page est rendue incomplète avec un curseur.
+    @Value("${freelancedriver.feed.max-days-per-page:30}")
+    private int maxDaysPerPage;
+
+    // Largeur maximale de la fenêtre de départ acceptée par findPublishedInWindowPage.
+    @Value("${freelancedriver.feed.max-window-days:30}")
+    private int maxWindowDays;
+
+    /**
+     * Récupère les produits publiés d'une catégorie, du plus récent au plus ancien.
+     */
+    public Flux<Product> findPublished(UUID categoryId) {
+        return findByStatus(categoryId, STATUS_PUBLISHED);
+    }
+
+    public Flux<Product> findByStatus(UUID categoryId, String status) {
+        String statusBucket = ProductFeedEntry.normalizeStatus(status);
+        log.debug("[PRODUCT-FEED] Lecture du fil {} / {}.", categoryId, statusBucket);
+        return productFeedDayRepository.findByKeyCategoryIdAndKeyStatusBucket(categoryId, statusBucket)
+                .map(day -> day.getKey().getDayBucket())
+                .flatMapSequential(day -> productFeedRepository.findByKeyCategoryIdAndKeyStatusBucketAndKeyDayBucket(
+                        categoryId, statusBucket, day), PARTITION_CONCURRENCY)
+                .map(ProductFeedEntry::toProduct);
+    }
+
+    /**
+     * Lit une page du fil publié. Le curseur mémorise le jour en cours de lecture (en jours epoch)
+     * et la position dans sa partition ; une page peut donc enchaîner plusieurs partitions journalières.
+     * Une page lit au plus freelancedriver.feed.max-days-per-page partitions : si elle n'est pas pleine à ce stade,
+     * elle est rendue incomplète avec un curseur vers le jour suivant à lire.
+     */
+    public Mono<PageResponse<Product>> findPublishedPage(UUID categoryId, String cursor, Integer limit) {
+        return Mono.fromCallable(() -> CursorUtil.decode(cursor))
+                .flatMap(start -> {
+                    LocalDate day = start.partition() == 0 ? LocalDate.now(ZoneOffset.UTC) : LocalDate.ofEpochDay(start.partition());
+                    return readPage(categoryId, ProductFeedEntry.normalizeStatus(STATUS_PUBLISHED),
+                            day, start.pagingState(), maxDaysPerPage, CursorUtil.normalizeLimit(limit), new ArrayList<>());
+                });
+    }
+
+    /**
+     * Cherche le jour non vide le plus récent, au plus tard upTo, puis lit sa partition.
+     * La position pagingState n'est reprise que si ce jour est bien celui du curseur.
+     */
+    private Mono<PageResponse<Product>> readPage(UUID categoryId, String statusBucket, LocalDate upTo,
+                                                 ByteBuffer pagingState, int daysLeft, int limit, List<Product> items) {
+        if (daysLeft <= 0) {
+            return Mono.just(new PageResponse<>(items, CursorUtil.encode((int) upTo.toEpochDay(), pagingState)));
+        }
+        return productFeedDayRepository.findFirstByKeyCategoryIdAndKeyStatusBucketAndKeyDayBucketLessThanEqual(categoryId, statusBucket, upTo)
+                .map(feedDay -> feedDay.getKey().getDayBucket())
+                .flatMap(day -> readDay(categoryId, statusBucket, day, day.equals(upTo) ? pagingState : null, daysLeft, limit, items))
+                .defaultIfEmpty(new PageResponse<>(items, null));
+    }
+
+    private Mono<PageResponse<Product>> readDay(UUID categoryId, String statusBucket, LocalDate day,
+                                                ByteBuffer pagingState, int daysLeft, int limit, List<Product> items) {
+        int remaining = limit - items.size();
+        return productFeedRepository.findByKeyCategoryIdAndKeyStatusBucketAndKeyDayBucket(
+                        categoryId, statusBucket, day, CursorUtil.pageRequest(pagingState, remaining))
+                .flatMap(slice -> {
+                    slice.getContent().forEach(entry -> items.add(entry.toProduct()));
+                    ByteBuffer next = CursorUtil.nextPagingState(slice);
+                    if (items.size() >= limit) {
+                        String nextCursor = next != null
+                                ? CursorUtil.encode((int) day.toEpochDay(), next)
+                                : CursorUtil.encode((int) day.minusDays(1).toEpochDay(), null);
+                        return Mono.just(new PageResponse<>(items, nextCursor));
+                    }
+                    // Partition épuisée : on passe au jour non vide précédent.
+                    return next != null
+                            ? readDay(categoryId, statusBucket, day, next, daysLeft, limit, items)
+                            : readPage(categoryId, statusBucket, day.minusDays(1), null, daysLeft - 1, limit, items);
+                });
+    }
+
+    /**
+     * Lit une page des produits publiés dont le départ est dans la fenêtre [from, to[, du plus proche
+     * au plus lointain. Sans "from", la fenêtre commence maintenant (les trajets passés sont masqués) ;
+     * sans "to", ou si elle est trop large, elle est limitée à freelancedriver.feed.max-window-days jours.
+     * Le curseur mémorise le jour de départ en cours de lecture (en jours epoch) et la position dans sa partition.
+     */
+    public Mono<PageResponse<Product>> findPublishedInWindowPage(UUID categoryId, Instant from, Instant to, String cursor, Integer limit) {
+        Instant windowStart = from != null ? from : Instant.now();
+        Instant maxEnd = windowStart.plus(Duration.ofDays(maxWindowDays));
+        Instant windowEnd = to == null || to.isAfter(maxEnd) ? maxEnd : to;
+        if (!windowEnd.isAfter(windowStart)) {
+            return Mono.just(new PageResponse<>(List.of(), null));
+        }
+        long fromMillis = windowStart.toEpochMilli();
+        long toMillis = windowEnd.toEpochMilli();
+        LocalDate lastDay = TripDateUtil.tripDayOf(toMillis - 1);
+        return Mono.fromCallable(() -> CursorUtil.decode(cursor))
+                .flatMap(start -> {
+                    LocalDate day = start.partition() == 0 ? TripDateUtil.tripDayOf(fromMillis) : LocalDate.ofEpochDay(start.partition());
+                    return readWindowPage(categoryId, ProductFeedEntry.normalizeStatus(STATUS_PUBLISHED), fromMillis, toMillis,
+                            lastDay, day, start.pagingState(), CursorUtil.normalizeLimit(limit), new ArrayList<>());
+                });
+    }
+
+    private Mono<PageResponse<Product>> readWindowPage(UUID categoryId, String statusBucket, long fromMillis, long toMillis,
+                                                       LocalDate lastDay, LocalDate day, ByteBuffer pagingState, int limit, List<Product> items) {
+        if (day.isAfter(lastDay)) {
+            return Mono.just(new PageResponse<>(items, null));
+        }
+        int remaining = limit - items.size();
+        return productByStartRepository.findByKeyCategoryIdAndKeyStatusBucketAndKeyStartDayAndKeyStartAtGreaterThanEqualAndKeyStartAtLessThan(
+                        categoryId, statusBucket, day, fromMillis, toMillis, CursorUtil.pageRequest(pagingState, remaining))
+                .flatMap(slice -> {
+                    slice.getContent().forEach(entry -> items.add(entry.toProduct()));
+                    ByteBuffer next = CursorUtil.nextPagingState(slice);
+                    if (items.size() >= limit) {
+                        LocalDate nextDay = day.plusDays(1);
+                        String nextCursor = next != null
+                                ? CursorUtil.encode((int) day.toEpochDay(), next)
+                                : (nextDay.isAfter(lastDay) ? null : CursorUtil.encode((int) nextDay.toEpochDay(), null));
+                        return Mono.just(new PageResponse<>(items, nextCursor));
+                    }
+                    // Partition épuisée : on passe au jour suivant.
+                    return next != null
+                            ? readWindowPage(categoryId, statusBucket, fromMillis, toMillis, lastDay, day, next, limit, items)
+                            : readWindowPage(categoryId, statusBucket, fromMillis, toMillis, lastDay, day.plusDays(1), null, limit, items);
+                });
+    }
+}
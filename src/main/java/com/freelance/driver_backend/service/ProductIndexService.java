@@ -0,0 +1,235 @@
+package com.freelance.driver_backend.service;
+
+import com.freelance.driver_backend.model.Product;
+import com.freelance.driver_backend.model.ProductByAuthor;
+import com.freelance.driver_backend.model.ProductByAuthorStatus;
+import com.freelance.driver_backend.model.ProductByGeoCell;
+import com.freelance.driver_backend.model.ProductById;
+import com.freelance.driver_backend.model.ProductByReserver;
+import com.freelance.driver_backend.model.ProductByStart;
+import com.freelance.driver_backend.model.ProductFeedDay;
+import com.freelance.driver_backend.model.ProductFeedEntry;
+import com.freelance.driver_backend.model.ProductIndexEntry;
+import com.freelance.driver_backend.model.ProductKey;
+import com.freelance.driver_backend.repository.ProductBookingRepository;
+import com.freelance.driver_backend.repository.ProductRepository;
+import com.freelance.driver_backend.util.TripDateUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.cassandra.core.InsertOptions;
+import org.springframework.data.cassandra.core.ReactiveCassandraBatchOperations;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Point d'écriture unique pour la table "products" et ses tables d'index dénormalisées.
+ * Chaque écriture de la ligne de base est accompagnée, dans le même batch, de la mise à jour
+ * des index, afin qu'ils ne divergent jamais de la table principale. Les index en mémoire
+ * (TripSearchIndex, TripMatchingEngine, DriverAvailabilityIndex) sont mis à jour une fois le batch appliqué.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductIndexService {
+
+    // Même comportement que ProductRepository.save : les champs null écrasent les anciennes valeurs.
+    private static final InsertOptions INSERT_NULLS = InsertOptions.builder().withInsertNulls().build();
+
+    private final ReactiveCassandraOperations reactiveCassandraOperations;
+    private final ProductRepository productRepository;
+    private final ProductBookingRepository productBookingRepository;
+    private final TripSearchIndex tripSearchIndex;
+    private final TripMatchingEngine tripMatchingEngine;
+    private final DriverAvailabilityIndex driverAvailabilityIndex;
+
+    // Jour du fil attribué aux produits antérieurs à la colonne created_at.
+    @Value("${freelancedriver.feed.oldest-day:2024-01-01}")
+    private String feedOldestDay;
+
+    /**
+     * Sauvegarde un produit et ses lignes d'index dans un seul batch.
+     * L'état précédent est relu afin de supprimer les lignes d'index dont la clé a changé
+     * (par exemple l'entrée du fil "Published" quand l'annonce passe à "PendingConfirmation").
+     */
+    public Mono<Product> save(Product product) {
+        return productRepository.findById(product.getKey())
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(previous -> write(previous.orElse(null), product));
+    }
+
+    /**
+     * Supprime un produit et ses lignes d'index dans un seul batch.
+     * Renvoie l'état supprimé (réduit à la clé si le produit n'existait pas).
+     */
+    public Mono<Product> delete(ProductKey key) {
+        Product keyOnly = new Product();
+        keyOnly.setKey(key);
+        return productRepository.findById(key)
+                .defaultIfEmpty(keyOnly)
+                .flatMap(previous -> {
+                    ReactiveCassandraBatchOperations batch = reactiveCassandraOperations.batchOps()
+                            .delete(keyOnly)
+                            .delete(new ProductById(key.getId(), key.getOrganizationId()));
+                    List<ProductIndexEntry> entries = indexEntries(previous);
+                    if (!entries.isEmpty()) {
+                        batch.delete(entries);
+                    }
+                    return batch.execute().thenReturn(previous);
+                })
+                .doOnSuccess(result -> {
+                    tripSearchIndex.remove(key.getId());
+                    tripMatchingEngine.remove(key.getId());
+                    driverAvailabilityIndex.remove(key.getId());
+                });
+    }
+
+    /**
+     * Réécrit les lignes d'index de tous les produits existants.
+     * Sert à peupler les index pour les données créées avant leur introduction.
+     */
+    public Mono<Long> reindexAll() {
+        log.warn("[PRODUCT-INDEX] Réindexation complète de la table 'products'...");
+        return productRepository.findAll()
+                .concatMap(product -> write(product, product))
+                .count()
+                .doOnSuccess(count -> log.warn("[PRODUCT-INDEX] Réindexation terminée : {} produit(s) traité(s).", count));
+    }
+
+    /**
+     * Modifie un produit existant sans toucher à sa réservation. La ligne de base est réécrite par une mise à jour
+     * conditionnelle (statut et réservataire inchangés depuis la lecture de previous), puis les index sont resynchronisés.
+     * Échoue en 409 CONFLICT si une transition de réservation a eu lieu entre-temps.
+     */
+    public Mono<Product> update(Product previous, Product product) {
+        prepare(previous, product);
+        return productBookingRepository.updateDetails(product, previous.getStatus(), previous.getReservedByDriverId())
+                .flatMap(applied -> {
+                    if (!applied) {
+                        log.warn("[PRODUCT-INDEX] Modification refusée pour le produit {} : la réservation a changé entre-temps.", product.getId());
+                        return Mono.error(new ResponseStatusException(HttpStatus.CONFLICT,
+                                "Ce produit a été réservé ou modifié par une autre requête. Veuillez rafraîchir et réessayer."));
+                    }
+                    return syncIndexes(previous, product);
+                });
+    }
+
+    /**
+     * Met à jour uniquement les tables d'index après une écriture de la ligne de base faite ailleurs
+     * (transition de réservation conditionnelle, qui ne peut pas partager un batch multi-partitions).
+     */
+    public Mono<Product> syncIndexes(Product previous, Product product) {
+        ReactiveCassandraBatchOperations batch = reactiveCassandraOperations.batchOps();
+        if (!addIndexChanges(batch, previous, product)) {
+            updateInMemoryIndexes(product);
+            return Mono.just(product);
+        }
+        return batch.execute()
+                .then(Mono.fromRunnable(() -> updateInMemoryIndexes(product)))
+                .thenReturn(product);
+    }
+
+    private Mono<Product> write(Product previous, Product product) {
+        prepare(previous, product);
+        ReactiveCassandraBatchOperations batch = reactiveCassandraOperations.batchOps()
+                .insert(List.of(product), INSERT_NULLS)
+                .insert(new ProductById(product.getId(), product.getOrganizationId()));
+        addIndexChanges(batch, previous, product);
+        return batch.execute()
+                .then(Mono.fromRunnable(() -> updateInMemoryIndexes(product)))
+                .thenReturn(product);
+    }
+
+    /**
+     * Complète les colonnes calculées avant une écriture de la ligne de base.
+     */
+    private void prepare(Product previous, Product product) {
+        if (product.getCreatedAt() == null) {
+            // Les produits créés avant l'ajout de la colonne sont rangés au premier jour du fil, en fin de lecture :
+            // une date stable, qui ne les fait pas remonter en tête du fil à chaque réindexation.
+            product.setCreatedAt(previous != null && previous.getCreatedAt() != null
+                    ? previous.getCreatedAt()
+                    : LocalDate.parse(feedOldestDay).atStartOfDay(ZoneOffset.UTC).toInstant());
+        }
+        // Les colonnes epoch sont toujours recalculées à partir des champs texte saisis.
+        product.setStartAt(TripDateUtil.toEpochMilli(product.getStartDate(), product.getStartTime()).orElse(null));
+        product.setEndAt(TripDateUtil.toEndEpochMilli(product.getStartDate(), product.getEndDate(), product.getEndTime()).orElse(null));
+    }
+
+    /**
+     * Répercute l'état du produit dans les index en mémoire (recherche textuelle, rapprochement, disponibilités).
+     */
+    private void updateInMemoryIndexes(Product product) {
+        tripSearchIndex.update(product);
+        tripMatchingEngine.update(product);
+        driverAvailabilityIndex.update(product);
+    }
+
+    /**
+     * Ajoute au batch la suppression des lignes d'index obsolètes et l'écriture des lignes courantes.
+     * Renvoie false si aucune ligne d'index n'est concernée.
+     */
+    private boolean addIndexChanges(ReactiveCassandraBatchOperations batch, Product previous, Product product) {
+        List<ProductIndexEntry> current = indexEntries(product);
+        List<ProductIndexEntry> stale = List.of();
+        if (previous != null) {
+            Set<Object> currentKeys = current.stream().map(ProductIndexEntry::getKey).collect(Collectors.toSet());
+            stale = indexEntries(previous).stream()
+                    .filter(entry -> !currentKeys.contains(entry.getKey()))
+                    .toList();
+        }
+        if (!stale.isEmpty()) {
+            batch.delete(stale);
+        }
+        if (!current.isEmpty()) {
+            batch.insert(current, INSERT_NULLS);
+            // Le jour de l'entrée du fil est référencé pour que ProductFeedService ne lise que les jours non vides.
+            List<ProductFeedDay> feedDays = current.stream()
+                    .filter(ProductFeedEntry.class::isInstance)
+                    .map(entry -> ProductFeedDay.of((ProductFeedEntry) entry))
+                    .toList();
+            if (!feedDays.isEmpty()) {
+                batch.insert(feedDays);
+            }
+        }
+        return !stale.isEmpty() || !current.isEmpty();
+    }
+
+    /**
+     * Calcule les lignes d'index correspondant à l'état donné d'un produit.
+     */
+    private List<ProductIndexEntry> indexEntries(Product product) {
+        List<ProductIndexEntry> entries = new ArrayList<>();
+        if (ProductFeedEntry.isIndexable(product)) {
+            entries.add(ProductFeedEntry.from(product));
+        }
+        if (ProductByAuthor.isIndexable(product)) {
+            entries.add(ProductByAuthor.from(product));
+        }
+        if (ProductByAuthorStatus.isIndexable(product)) {
+            entries.add(ProductByAuthorStatus.from(product));
+        }
+        if (ProductByReserver.isIndexable(product)) {
+            entries.add(ProductByReserver.from(product));
+        }
+        if (ProductByStart.isIndexable(product)) {
+            entries.add(ProductByStart.from(product));
+        }
+        if (ProductByGeoCell.isIndexable(product)) {
+            entries.addAll(ProductByGeoCell.from(product));
+        }
+        return entries;
+    }
+}
@@ -9,6 +9,7 @@ import com.freelance.driver_backend.model.DriverProfile;
 import com.freelance.driver_backend.repository.ClientProfileRepository;
 import com.freelance.driver_backend.repository.DriverProfileRepository;
 import com.freelance.driver_backend.service.external.OrganisationService;
+import com.github.benmanes.caffeine.cache.Cache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -29,8 +30,28 @@ public class ProfileService {
     private final ClientProfileRepository clientProfileRepository;
     private final OrganisationService organisationService;
     private final StorageService storageService;
+    private final ProfileSummaryService profileSummaryService;
+    private final DriverCardService driverCardService;
+    private final ReviewService reviewService;
+    private final Cache<UUID, UserSessionContextDto> userSessionContextCache;
 
+    /**
+     * Renvoie le contexte de session de l'utilisateur depuis le cache en mémoire ; les profils ne sont
+     * relus qu'en cas d'absence ou d'expiration. Toute écriture d'un profil invalide l'entrée (voir onProfileChanged).
+     */
     public Mono<UserSessionContextDto> getUserSessionContext(UUID userId, String userBearerToken, String publicKey) {
+        return Mono.defer(() -> {
+            UserSessionContextDto cached = userSessionContextCache.getIfPresent(userId);
+            if (cached != null) {
+                log.debug("ProfileService: Contexte de session servi depuis le cache pour l'utilisateur ID: {}", userId);
+                return Mono.just(cached);
+            }
+            return loadUserSessionContext(userId)
+                    .doOnNext(context -> userSessionContextCache.put(userId, context));
+        });
+    }
+
+    private Mono<UserSessionContextDto> loadUserSessionContext(UUID userId) {
         log.info("ProfileService: Recherche du contexte pour l'utilisateur ID: {}", userId);
 
         Mono<DriverProfile> driverProfileMono = driverProfileRepository.findByUserId(userId)
@@ -96,6 +117,19 @@ public class ProfileService {
                 });
     }
 
+    /**
+     * Point unique de propagation après toute écriture d'un profil (mise à jour, avatar, onboarding) :
+     * le contexte de session en cache est invalidé et les données dérivées du profil
+     * (résumés publics des auteurs, carte du chauffeur, instantané de l'auteur sur ses avis) sont resynchronisées.
+     */
+    public Mono<Void> onProfileChanged(UUID userId) {
+        log.info("ProfileService: Propagation de la modification du profil de l'utilisateur {}", userId);
+        return Mono.fromRunnable(() -> userSessionContextCache.invalidate(userId))
+                .then(Mono.when(profileSummaryService.refresh(userId), driverCardService.refresh(userId)))
+                // Les avis écrits par l'utilisateur sont mis à jour en arrière-plan.
+                .then(Mono.fromRunnable(() -> reviewService.propagateAuthorSnapshotAsync(userId)));
+    }
+
     private OrganisationDto createMockOrganisationDto(UUID orgId, String name) {
         OrganisationDto orgDto = new OrganisationDto();
         orgDto.setOrganizationId(orgId);
@@ -237,7 +271,9 @@ public class ProfileService {
                                         log.info("Pas de ClientProfile à synchroniser pour l'utilisateur {}.", userId);
                                         return Mono.empty();
                                     })))
-                            // 3. Après toutes les mises à jour, récupérer le contexte complet
+                            // 3. Propager la modification aux données dérivées du profil
+                            .then(Mono.defer(() -> onProfileChanged(userId)))
+                            // 4. Après toutes les mises à jour, récupérer le contexte complet
                             .then(Mono.defer(() -> getUserSessionContext(userId, null, null)));
                 })
                 .switchIfEmpty(Mono.defer(() -> { // Gérer le cas où aucun DriverProfile n'est trouvé
@@ -297,7 +333,9 @@ public class ProfileService {
                                         log.info("Pas de DriverProfile à synchroniser pour l'utilisateur {}.", userId);
                                         return Mono.empty();
                                     })))
-                            // 3. Après toutes les mises à jour, récupérer le contexte complet
+                            // 3. Propager la modification aux données dérivées du profil
+                            .then(Mono.defer(() -> onProfileChanged(userId)))
+                            // 4. Après toutes les mises à jour, récupérer le contexte complet
                             .then(Mono.defer(() -> getUserSessionContext(userId, null, null)));
                 })
                 .switchIfEmpty(Mono.defer(() -> { // Gérer le cas où aucun ClientProfile n'est trouvé
@@ -386,6 +424,7 @@ public class ProfileService {
         return deleteOldAvatarAction
                 .then(Mono.when(updateDriverAvatarMono, updateClientAvatarMono)) // Exécute les deux mises à jour en
                                                                                  // parallèle
+                .then(Mono.defer(() -> onProfileChanged(userId)))
                 .then(Mono.defer(() -> { // Utilise Mono.defer pour s'assurer que getUserSessionContext est appelé après
                                          // les mises à jour
                     log.info(
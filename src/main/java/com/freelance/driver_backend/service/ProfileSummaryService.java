@@ -0,0 +1,95 @@
+package com.freelance.driver_backend.service;
+
+import com.freelance.driver_backend.dto.UserSessionContextDto.UserRole;
+import com.freelance.driver_backend.model.ProfileSummary;
+import com.freelance.driver_backend.model.ProfileSummaryKey;
+import com.freelance.driver_backend.repository.ClientProfileRepository;
+import com.freelance.driver_backend.repository.DriverProfileRepository;
+import com.freelance.driver_backend.repository.ProfileSummaryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Maintient et lit la table "profile_summaries".
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProfileSummaryService {
+
+    private final ProfileSummaryRepository profileSummaryRepository;
+    private final DriverProfileRepository driverProfileRepository;
+    private final ClientProfileRepository clientProfileRepository;
+    private final Cache<ProfileSummaryKey, Boolean> missingProfileSummaryCache;
+
+    /**
+     * Résout un lot d'utilisateurs en une requête IN. Les résumés absents (profils créés avant
+     * l'introduction de la table) sont reconstruits depuis le profil puis enregistrés ; un utilisateur
+     * sans profil est mémorisé brièvement comme absent, sans aucune écriture.
+     */
+    public Mono<Map<UUID, ProfileSummary>> findByUserIds(Collection<UUID> userIds, UserRole role) {
+        if (userIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        List<UUID> ids = List.copyOf(userIds);
+        return profileSummaryRepository.findByKeyUserIdInAndKeyRole(ids, role.name())
+                .collectMap(summary -> summary.getKey().getUserId(), summary -> summary, HashMap::new)
+                .flatMap(found -> Flux.fromIterable(ids)
+                        .filter(userId -> !found.containsKey(userId))
+                        .flatMap(userId -> fillMissing(userId, role))
+                        .doOnNext(summary -> found.put(summary.getKey().getUserId(), summary))
+                        .then(Mono.just(found)));
+    }
+
+    /**
+     * Resynchronise les résumés d'un utilisateur avec ses profils (à appeler après toute écriture de profil).
+     */
+    public Mono<Void> refresh(UUID userId) {
+        return Mono.when(rebuild(userId, UserRole.DRIVER), rebuild(userId, UserRole.CLIENT));
+    }
+
+    /**
+     * Chemin de lecture : enregistre le résumé d'un profil existant, ne supprime jamais.
+     */
+    private Mono<ProfileSummary> fillMissing(UUID userId, UserRole role) {
+        ProfileSummaryKey key = new ProfileSummaryKey(userId, role.name());
+        if (missingProfileSummaryCache.getIfPresent(key) != null) {
+            return Mono.empty();
+        }
+        return fromProfile(userId, role)
+                .flatMap(profileSummaryRepository::save)
+                .switchIfEmpty(Mono.fromRunnable(() -> missingProfileSummaryCache.put(key, Boolean.TRUE)))
+                .doOnError(e -> log.error("❌ Échec de la reconstruction du résumé de profil {} pour userId {}: {}",
+                        role, userId, e.getMessage()));
+    }
+
+    /**
+     * Chemin d'écriture : aligne le résumé sur le profil, et le supprime si le profil n'existe plus.
+     */
+    private Mono<ProfileSummary> rebuild(UUID userId, UserRole role) {
+        missingProfileSummaryCache.invalidate(new ProfileSummaryKey(userId, role.name()));
+        return fromProfile(userId, role)
+                .flatMap(profileSummaryRepository::save)
+                .switchIfEmpty(Mono.defer(() -> profileSummaryRepository
+                        .deleteById(new ProfileSummaryKey(userId, role.name()))
+                        .then(Mono.empty())))
+                .doOnError(e -> log.error("❌ Échec de la mise à jour du résumé de profil {} pour userId {}: {}",
+                        role, userId, e.getMessage()));
+    }
+
+    private Mono<ProfileSummary> fromProfile(UUID userId, UserRole role) {
+        return role == UserRole.DRIVER
+                ? driverProfileRepository.findByUserId(userId).map(ProfileSummary::of)
+                : clientProfileRepository.findByUserId(userId).map(ProfileSummary::of);
+    }
+}
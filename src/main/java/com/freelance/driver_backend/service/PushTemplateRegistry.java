@@ -0,0 +1,69 @@
+package com.freelance.driver_backend.service;
+
+import com.freelance.driver_backend.model.PushTemplate;
+import com.freelance.driver_backend.repository.PushTemplateRepository;
+import com.freelance.driver_backend.util.PlaceholderTemplate;
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Registre en mémoire des modèles de notifications push, compilés une fois (voir PlaceholderTemplate).
+ * Un modèle n'est lu en base qu'au premier envoi qui l'utilise ; toute écriture passe par save,
+ * qui remplace l'entrée en cache. Ce remplacement est local : les autres instances gardent l'ancienne version
+ * jusqu'à l'expiration de leur entrée (freelancedriver.push-template-cache.ttl).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PushTemplateRegistry {
+
+    private final PushTemplateRepository pushTemplateRepository;
+    private final Cache<UUID, CompiledPushTemplate> pushTemplateCache;
+
+    /**
+     * Modèle compilé prêt au rendu du titre et du corps.
+     */
+    public record CompiledPushTemplate(UUID id, PlaceholderTemplate title, PlaceholderTemplate body) {
+
+        static CompiledPushTemplate of(PushTemplate template) {
+            return new CompiledPushTemplate(template.getId(),
+                    PlaceholderTemplate.compile(template.getTitle()),
+                    PlaceholderTemplate.compile(template.getBody()));
+        }
+
+        public String renderTitle(Map<String, String> metadata) {
+            return title == null ? null : title.render(metadata);
+        }
+
+        public String renderBody(Map<String, String> metadata) {
+            return body == null ? null : body.render(metadata);
+        }
+    }
+
+    public Mono<CompiledPushTemplate> find(UUID templateId) {
+        return Mono.defer(() -> {
+            CompiledPushTemplate cached = pushTemplateCache.getIfPresent(templateId);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            log.debug("PushTemplateRegistry: Chargement du modèle {} depuis la base.", templateId);
+            return pushTemplateRepository.findById(templateId)
+                    .map(CompiledPushTemplate::of)
+                    .doOnNext(compiled -> pushTemplateCache.put(templateId, compiled));
+        });
+    }
+
+    /**
+     * Enregistre le modèle et remplace sa version compilée en cache.
+     */
+    public Mono<PushTemplate> save(PushTemplate template) {
+        return pushTemplateRepository.save(template)
+                .doOnNext(saved -> pushTemplateCache.put(saved.getId(), CompiledPushTemplate.of(saved)));
+    }
+}
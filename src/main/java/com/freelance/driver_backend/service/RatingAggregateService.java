@@ -0,0 +1,90 @@
+package com.freelance.driver_backend.service;
+
+import com.freelance.driver_backend.model.RatingAggregate;
+import com.freelance.driver_backend.model.RatingBaseline;
+import com.freelance.driver_backend.model.Review;
+import com.freelance.driver_backend.repository.RatingAggregateRepository;
+import com.freelance.driver_backend.repository.RatingBaselineRepository;
+import com.freelance.driver_backend.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.UUID;
+
+/**
+ * Maintient et lit les agrégats de notes. Les avis sont répartis par date de création autour de la bascule
+ * freelancedriver.reviews.aggregates-since : ceux créés après sont comptés à l'enregistrement (table de compteurs
+ * "rating_aggregates"), ceux créés avant sont comptés une fois par le rattrapage (table "rating_baselines").
+ * Chaque avis est ainsi compté exactement une fois, y compris pour un utilisateur noté pendant le déploiement.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RatingAggregateService {
+
+    private final RatingAggregateRepository ratingAggregateRepository;
+    private final RatingBaselineRepository ratingBaselineRepository;
+    private final ReviewRepository reviewRepository;
+
+    // Instant de bascule (epoch ms) ; 0 si tous les avis ont été comptés à l'enregistrement.
+    @Value("${freelancedriver.reviews.aggregates-since:0}")
+    private long aggregatesSince;
+
+    /**
+     * Agrégat des notes reçues par l'utilisateur ; un agrégat vide s'il n'a jamais été noté.
+     */
+    public Mono<RatingAggregate> findByUserId(UUID userId) {
+        return Mono.zip(
+                        ratingAggregateRepository.findById(userId).defaultIfEmpty(RatingAggregate.empty(userId)),
+                        ratingBaselineRepository.findById(userId).defaultIfEmpty(RatingBaseline.empty(userId, aggregatesSince)))
+                .map(pair -> pair.getT1().plus(pair.getT2()));
+    }
+
+    /**
+     * Ajoute un avis enregistré à l'agrégat de l'utilisateur noté. Un avis antérieur à la bascule est laissé
+     * au rattrapage. L'avis étant déjà stocké, un échec est journalisé sans être propagé : une erreur renvoyée
+     * au client provoquerait un nouvel envoi, donc un avis en double, compté lui aussi.
+     */
+    public Mono<Void> recordReview(Review review) {
+        if (review.getCreatedAt() < aggregatesSince) {
+            return Mono.empty();
+        }
+        return ratingAggregateRepository.add(review.getTargetUserId(), review.getScore(), 1, review.getScore())
+                .onErrorResume(e -> {
+                    log.error("❌ Échec de la mise à jour de l'agrégat de notes de {} (avis {} non compté): {}",
+                            review.getTargetUserId(), review.getId(), e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Compte, pour chaque utilisateur noté, les avis créés avant la bascule et enregistre ces totaux.
+     * Chaque utilisateur est écrit en une seule insertion conditionnelle : une exécution interrompue peut être
+     * relancée, les utilisateurs déjà traités étant ignorés, et ceux qui ont déjà des compteurs sont couverts.
+     * À lancer une fois la bascule passée, pour que tous les avis antérieurs soient présents.
+     */
+    public Mono<Long> backfillBaselines() {
+        if (aggregatesSince <= 0) {
+            log.warn("[RATINGS] freelancedriver.reviews.aggregates-since non renseigné : aucun avis antérieur à compter.");
+            return Mono.just(0L);
+        }
+        log.warn("[RATINGS] Comptage des avis créés avant {}...", aggregatesSince);
+        return reviewRepository.findAll()
+                .filter(review -> review.getCreatedAt() < aggregatesSince)
+                .reduceWith(HashMap<UUID, RatingBaseline>::new, (acc, review) -> {
+                    acc.computeIfAbsent(review.getTargetUserId(), id -> RatingBaseline.empty(id, aggregatesSince))
+                            .add(review.getScore());
+                    return acc;
+                })
+                .flatMapMany(byTarget -> Flux.fromIterable(byTarget.values()))
+                .concatMap(ratingBaselineRepository::insertIfAbsent)
+                .filter(Boolean::booleanValue)
+                .count()
+                .doOnSuccess(count -> log.warn("[RATINGS] {} total(aux) d'avis antérieurs enregistré(s).", count));
+    }
+}
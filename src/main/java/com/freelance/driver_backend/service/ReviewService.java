@@ -0,0 +1,131 @@
+package com.freelance.driver_backend.service;
+
+import com.freelance.driver_backend.dto.PageResponse;
+import com.freelance.driver_backend.model.ProfileSummary;
+import com.freelance.driver_backend.model.Review;
+import com.freelance.driver_backend.model.ReviewByAuthor;
+import com.freelance.driver_backend.model.ReviewByTarget;
+import com.freelance.driver_backend.repository.ClientProfileRepository;
+import com.freelance.driver_backend.repository.DriverProfileRepository;
+import com.freelance.driver_backend.repository.ReviewByAuthorRepository;
+import com.freelance.driver_backend.repository.ReviewByTargetRepository;
+import com.freelance.driver_backend.repository.ReviewRepository;
+import com.freelance.driver_backend.util.CursorUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.cassandra.core.ReactiveCassandraBatchOperations;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.data.cassandra.core.query.Criteria;
+import org.springframework.data.cassandra.core.query.Query;
+import org.springframework.data.cassandra.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.UUID;
+
+/**
+ * Point d'écriture des avis : la table "reviews" et ses tables dérivées "reviews_by_target" (avis par
+ * utilisateur noté, du plus récent au plus ancien) et "reviews_by_author" sont écrites dans le même batch.
+ * Les avis portent un instantané de leur auteur (nom, avatar), réécrit quand son profil change :
+ * la lecture n'a ainsi besoin d'aucune recherche de profil par avis.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReviewService {
+
+    // Nombre d'avis réécrits en parallèle par le rattrapage et la propagation des instantanés.
+    private static final int WRITE_CONCURRENCY = 8;
+
+    private final ReactiveCassandraOperations reactiveCassandraOperations;
+    private final ReviewRepository reviewRepository;
+    private final ReviewByTargetRepository reviewByTargetRepository;
+    private final ReviewByAuthorRepository reviewByAuthorRepository;
+    private final DriverProfileRepository driverProfileRepository;
+    private final ClientProfileRepository clientProfileRepository;
+
+    public Mono<Review> save(Review review) {
+        ReactiveCassandraBatchOperations batch = reactiveCassandraOperations.batchOps().insert(review);
+        if (ReviewByTarget.isIndexable(review)) {
+            batch.insert(ReviewByTarget.from(review));
+        }
+        if (ReviewByAuthor.isIndexable(review)) {
+            batch.insert(ReviewByAuthor.from(review));
+        }
+        return batch.execute().thenReturn(review);
+    }
+
+    /**
+     * Page d'avis reçus par l'utilisateur, du plus récent au plus ancien, lue dans une seule partition.
+     */
+    public Mono<PageResponse<Review>> findByTargetUserIdPage(UUID targetUserId, String cursor, Integer limit) {
+        return Mono.fromCallable(() -> CursorUtil.pageRequest(cursor, limit))
+                .flatMap(pageRequest -> reviewByTargetRepository.findByKeyTargetUserId(targetUserId, pageRequest))
+                .map(slice -> CursorUtil.toPage(slice).map(ReviewByTarget::toReview));
+    }
+
+    /**
+     * Lance en arrière-plan la réécriture de l'instantané de l'auteur sur tous ses avis.
+     * N'attend pas la fin du traitement : la modification du profil n'est pas ralentie par le nombre d'avis.
+     */
+    public void propagateAuthorSnapshotAsync(UUID authorId) {
+        propagateAuthorSnapshot(authorId)
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(
+                        count -> log.info("[REVIEWS] Instantané de l'auteur {} réécrit sur {} avis.", authorId, count),
+                        e -> log.error("❌ Échec de la propagation du profil de {} sur ses avis: {}", authorId, e.getMessage()));
+    }
+
+    /**
+     * Réécrit le nom et l'avatar de l'auteur sur ses avis, à partir de son profil chauffeur
+     * ou, à défaut, de son profil client (même priorité qu'à la création de l'avis).
+     */
+    public Mono<Long> propagateAuthorSnapshot(UUID authorId) {
+        return driverProfileRepository.findByUserId(authorId).map(ProfileSummary::of)
+                .switchIfEmpty(Mono.defer(() -> clientProfileRepository.findByUserId(authorId).map(ProfileSummary::of)))
+                .flatMap(author -> reviewByAuthorRepository.findByKeyAuthorId(authorId)
+                        .flatMap(entry -> rewriteAuthor(entry, author), WRITE_CONCURRENCY)
+                        .count())
+                .defaultIfEmpty(0L);
+    }
+
+    private Mono<Void> rewriteAuthor(ReviewByAuthor entry, ProfileSummary author) {
+        Update update = Update.empty()
+                .set("authorFirstName", author.getFirstName())
+                .set("authorLastName", author.getLastName())
+                .set("authorProfileImageUrl", author.getProfileImageUrl());
+        Query review = Query.query(Criteria.where("id").is(entry.getKey().getId()));
+        Query byTarget = Query.query(
+                Criteria.where("target_user_id").is(entry.getTargetUserId()),
+                Criteria.where("created_at").is(entry.getKey().getCreatedAt()),
+                Criteria.where("id").is(entry.getKey().getId()));
+        return Mono.when(
+                reactiveCassandraOperations.update(review, update, Review.class),
+                reactiveCassandraOperations.update(byTarget, update, ReviewByTarget.class));
+    }
+
+    /**
+     * Recopie tous les avis existants dans "reviews_by_target" et "reviews_by_author", en flux
+     * (sans les charger en mémoire). Idempotent : un avis déjà présent est simplement réécrit.
+     */
+    public Mono<Long> reindexAll() {
+        log.warn("[REVIEWS] Réindexation des avis dans 'reviews_by_target' et 'reviews_by_author'...");
+        return reviewRepository.findAll()
+                .flatMap(review -> {
+                    ReactiveCassandraBatchOperations batch = reactiveCassandraOperations.batchOps();
+                    boolean indexed = false;
+                    if (ReviewByTarget.isIndexable(review)) {
+                        batch.insert(ReviewByTarget.from(review));
+                        indexed = true;
+                    }
+                    if (ReviewByAuthor.isIndexable(review)) {
+                        batch.insert(ReviewByAuthor.from(review));
+                        indexed = true;
+                    }
+                    return indexed ? batch.execute().thenReturn(review) : Mono.just(review);
+                }, WRITE_CONCURRENCY)
+                .count()
+                .doOnSuccess(count -> log.warn("[REVIEWS] Réindexation terminée : {} avis traité(s).", count));
+    }
+}
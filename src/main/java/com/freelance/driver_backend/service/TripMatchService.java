@@ -0,0 +1,192 @@
+package com.freelance.driver_backend.service;
+
+import com.freelance.driver_backend.model.Product;
+import com.freelance.driver_backend.model.TripMatch;
+import com.freelance.driver_backend.model.TripMatchKey;
+import com.freelance.driver_backend.repository.ProductRepository;
+import com.freelance.driver_backend.repository.TripMatchRepository;
+import com.freelance.driver_backend.util.CursorUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.cassandra.core.InsertOptions;
+import org.springframework.data.cassandra.core.ReactiveCassandraBatchOperations;
+import org.springframework.data.cassandra.core.ReactiveCassandraOperations;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Calcul et lecture des candidats de rapprochement annonce / planning (table "trip_matches").
+ * Les candidats sont calculés par TripMatchingEngine à la création et à chaque modification d'un trajet,
+ * puis écrits dans la partition de la source et, en retour, dans celle de chaque candidat.
+ * Une paire n'existe qu'une fois par partition : le rafraîchissement d'un trajet remplace ses lignes au lieu de les empiler.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TripMatchService {
+
+    private final TripMatchingEngine tripMatchingEngine;
+    private final TripMatchRepository tripMatchRepository;
+    private final ProductRepository productRepository;
+    private final ReactiveCassandraOperations reactiveCassandraOperations;
+
+    @Value("${freelancedriver.matching.top-k:10}")
+    private int topK;
+
+    @Value("${freelancedriver.matching.ttl-days:30}")
+    private int ttlDays;
+
+    /**
+     * Calcule et enregistre les meilleurs candidats du trajet. La partition de la source est relue : elle contient
+     * toutes les paires du trajet, y compris celles retenues par le calcul d'un autre trajet.
+     * Une paire retenue est réécrite (dans les deux partitions) avec le nouveau score ; une paire qui n'est plus
+     * retenue perd seulement cette origine, et n'est supprimée que si aucun autre trajet ne la retient.
+     * Une erreur est journalisée sans faire échouer la création ou la modification du trajet.
+     */
+    public Mono<Product> refreshMatches(Product source) {
+        UUID sourceId = source.getId();
+        Map<UUID, TripMatchingEngine.Candidate> candidates = new LinkedHashMap<>();
+        tripMatchingEngine.findCandidates(source, topK).forEach(candidate -> candidates.put(candidate.product().getId(), candidate));
+        Instant now = Instant.now();
+        return tripMatchRepository.findByKeySourceId(sourceId)
+                .collectList()
+                .flatMap(previousRows -> {
+                    List<TripMatch> rows = new ArrayList<>();
+                    List<TripMatch> staleRows = new ArrayList<>();
+                    Set<UUID> touched = new HashSet<>(candidates.keySet());
+                    // Ligne de meilleur score par candidat, et union des origines de ses éventuels doublons.
+                    Map<UUID, TripMatch> previousByCandidate = new HashMap<>();
+                    Map<UUID, Set<UUID>> previousOrigins = new HashMap<>();
+                    previousRows.forEach(previous -> {
+                        UUID candidateId = previous.getKey().getCandidateId();
+                        previousByCandidate.putIfAbsent(candidateId, previous);
+                        previousOrigins.computeIfAbsent(candidateId, id -> new HashSet<>()).addAll(originsOf(previous));
+                    });
+                    previousByCandidate.forEach((candidateId, previous) -> {
+                        if (candidates.containsKey(candidateId)) {
+                            return; // Réécrite ci-dessous avec le nouveau score.
+                        }
+                        Set<UUID> origins = new HashSet<>(previousOrigins.get(candidateId));
+                        if (!origins.remove(sourceId)) {
+                            return; // Paire retenue uniquement par le calcul de l'autre trajet : elle lui appartient.
+                        }
+                        touched.add(candidateId);
+                        if (!origins.isEmpty()) {
+                            // Retenue par l'autre trajet : conservée avec son score, sans cette origine.
+                            rows.add(copyOf(previous, origins));
+                            rows.add(TripMatch.of(candidateId, source, previous.getKey().getScore(), previous.getComputedAt(), origins));
+                        }
+                    });
+                    candidates.forEach((candidateId, candidate) -> {
+                        Set<UUID> origins = new HashSet<>(previousOrigins.getOrDefault(candidateId, Set.of()));
+                        origins.add(sourceId);
+                        rows.add(TripMatch.of(sourceId, candidate.product(), candidate.score(), now, origins));
+                        rows.add(TripMatch.of(candidateId, source, candidate.score(), now, origins));
+                    });
+                    // Anciennes lignes des paires traitées qui ne sont pas réécrites à l'identique (score changé, paire
+                    // abandonnée, doublons) ; une clé réécrite ne doit pas être supprimée dans le même batch
+                    // (à horodatage égal, la suppression l'emporterait).
+                    Set<TripMatchKey> writtenKeys = rows.stream().map(TripMatch::getKey).collect(Collectors.toSet());
+                    previousRows.stream()
+                            .filter(previous -> touched.contains(previous.getKey().getCandidateId()))
+                            .flatMap(previous -> Stream.of(previous.getKey(), mirrorOf(previous.getKey())))
+                            .filter(key -> !writtenKeys.contains(key))
+                            .forEach(key -> staleRows.add(keyOnly(key)));
+                    return write(sourceId, rows, staleRows);
+                })
+                .thenReturn(source)
+                .onErrorResume(e -> {
+                    log.error("❌ [MATCHING] Échec de l'enregistrement des candidats du trajet {}: {}", sourceId, e.getMessage());
+                    return Mono.just(source);
+                });
+    }
+
+    /**
+     * Supprime toutes les paires d'un trajet supprimé, dans sa partition et dans celle de chaque candidat.
+     */
+    public Mono<Void> deleteMatches(UUID productId) {
+        return tripMatchRepository.findByKeySourceId(productId)
+                .flatMapIterable(match -> List.of(keyOnly(match.getKey()), keyOnly(mirrorOf(match.getKey()))))
+                .collectList()
+                .flatMap(staleRows -> write(productId, List.of(), staleRows))
+                .onErrorResume(e -> {
+                    log.error("❌ [MATCHING] Échec de la suppression des candidats du trajet {}: {}", productId, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> write(UUID sourceId, List<TripMatch> rows, List<TripMatch> staleRows) {
+        if (rows.isEmpty() && staleRows.isEmpty()) {
+            return Mono.empty();
+        }
+        InsertOptions options = InsertOptions.builder().ttl(Duration.ofDays(ttlDays)).build();
+        ReactiveCassandraBatchOperations batch = reactiveCassandraOperations.batchOps();
+        if (!staleRows.isEmpty()) {
+            batch.delete(staleRows);
+        }
+        if (!rows.isEmpty()) {
+            batch.insert(rows, options);
+        }
+        return batch.execute()
+                .doOnSuccess(result -> log.info("[MATCHING] {} ligne(s) écrite(s), {} ligne(s) supprimée(s) pour le trajet {}.",
+                        rows.size(), staleRows.size(), sourceId))
+                .then();
+    }
+
+    // Ligne écrite en retour dans la partition du candidat, avec le même score.
+    private static TripMatchKey mirrorOf(TripMatchKey key) {
+        return new TripMatchKey(key.getCandidateId(), key.getScore(), key.getSourceId());
+    }
+
+    private static TripMatch keyOnly(TripMatchKey key) {
+        TripMatch match = new TripMatch();
+        match.setKey(key);
+        return match;
+    }
+
+    // Lignes écrites avant la colonne "origins" : attribuées aux deux trajets de la paire.
+    private static Set<UUID> originsOf(TripMatch match) {
+        return match.getOrigins() != null && !match.getOrigins().isEmpty()
+                ? match.getOrigins()
+                : Set.of(match.getKey().getSourceId(), match.getKey().getCandidateId());
+    }
+
+    private static TripMatch copyOf(TripMatch match, Set<UUID> origins) {
+        TripMatch copy = new TripMatch();
+        BeanUtils.copyProperties(match, copy);
+        copy.setOrigins(origins);
+        return copy;
+    }
+
+    /**
+     * Candidats encore ouverts d'un trajet appartenant à l'utilisateur, du plus compatible au moins compatible.
+     */
+    public Flux<TripMatch> findMatchesForAuthor(UUID productId, UUID userId, Integer limit) {
+        return productRepository.findByProductId(productId)
+                .switchIfEmpty(Mono.error(new IllegalStateException("Trajet non trouvé: " + productId)))
+                .flatMapMany(product -> {
+                    if (!userId.equals(product.getClientId())) {
+                        return Flux.error(new SecurityException("L'utilisateur n'est pas l'auteur de ce trajet."));
+                    }
+                    return tripMatchRepository.findByKeySourceId(productId)
+                            .filter(match -> tripMatchingEngine.isOpen(match.getKey().getCandidateId()))
+                            .take(CursorUtil.normalizeLimit(limit));
+                });
+    }
+}
@@ -0,0 +1,220 @@
+package com.freelance.driver_backend.service;
+
+import com.freelance.driver_backend.model.Product;
+import com.freelance.driver_backend.model.ProductFeedEntry;
+import com.freelance.driver_backend.util.SearchTextUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index en mémoire des annonces et plannings publiés, pour le rapprochement annonce / planning.
+ * Chaque côté est indexé par les mots (sans accents) de son lieu de départ : les candidats d'un trajet
+ * sont les trajets du côté opposé qui partagent au moins un mot de départ et un mot d'arrivée,
+ * puis sont filtrés et notés sur la fenêtre horaire et le prix.
+ * L'index est tenu à jour par ProductIndexService et chargé au démarrage (TripSearchIndexInitializer).
+ */
+@Service
+@Slf4j
+public class TripMatchingEngine {
+
+    private static final double CORRIDOR_WEIGHT = 0.5;
+    private static final double TIME_WEIGHT = 0.3;
+    private static final double PRICE_WEIGHT = 0.2;
+    // Note attribuée à un critère qui ne peut pas être évalué (date ou prix absent).
+    private static final double UNKNOWN_CRITERION_SCORE = 0.5;
+
+    public record Candidate(Product product, double score) {
+    }
+
+    private record OpenTrip(Product product, Set<String> pickupTerms, Set<String> dropoffTerms) {
+    }
+
+    /**
+     * Trajets ouverts d'une catégorie, avec l'index des mots de départ.
+     */
+    private static final class Side {
+        private final Map<UUID, OpenTrip> trips = new ConcurrentHashMap<>();
+        private final Map<String, Set<UUID>> byPickupTerm = new ConcurrentHashMap<>();
+    }
+
+    private final Side announcements = new Side();
+    private final Side plannings = new Side();
+
+    @Value("${freelancedriver.matching.time-tolerance-hours:3}")
+    private long timeToleranceHours;
+
+    @Value("${freelancedriver.matching.price-tolerance:0.2}")
+    private double priceTolerance;
+
+    public synchronized void update(Product product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        remove(product.getId());
+        Side side = sideOf(product);
+        if (side == null || !isPublished(product)) {
+            return;
+        }
+        Product copy = new Product();
+        BeanUtils.copyProperties(product, copy);
+        OpenTrip trip = new OpenTrip(copy,
+                new HashSet<>(SearchTextUtil.tokenize(product.getPickupLocation())),
+                new HashSet<>(SearchTextUtil.tokenize(product.getDropoffLocation())));
+        side.trips.put(product.getId(), trip);
+        trip.pickupTerms().forEach(term -> side.byPickupTerm.computeIfAbsent(term, t -> ConcurrentHashMap.newKeySet()).add(product.getId()));
+    }
+
+    public synchronized void remove(UUID productId) {
+        for (Side side : List.of(announcements, plannings)) {
+            OpenTrip previous = side.trips.remove(productId);
+            if (previous != null) {
+                previous.pickupTerms().forEach(term -> side.byPickupTerm.computeIfPresent(term, (t, ids) -> {
+                    ids.remove(productId);
+                    return ids.isEmpty() ? null : ids;
+                }));
+            }
+        }
+    }
+
+    /**
+     * Indique si le trajet est toujours ouvert (publié) et peut donc être proposé comme candidat.
+     */
+    public boolean isOpen(UUID productId) {
+        return announcements.trips.containsKey(productId) || plannings.trips.containsKey(productId);
+    }
+
+    /**
+     * Calcule les k trajets du côté opposé les plus compatibles avec la source, du meilleur au moins bon.
+     */
+    public List<Candidate> findCandidates(Product source, int k) {
+        Side own = sideOf(source);
+        if (own == null || k <= 0) {
+            return List.of();
+        }
+        Side opposite = own == announcements ? plannings : announcements;
+        Set<String> pickupTerms = new HashSet<>(SearchTextUtil.tokenize(source.getPickupLocation()));
+        Set<String> dropoffTerms = new HashSet<>(SearchTextUtil.tokenize(source.getDropoffLocation()));
+
+        Set<UUID> candidateIds = new HashSet<>();
+        pickupTerms.forEach(term -> candidateIds.addAll(opposite.byPickupTerm.getOrDefault(term, Set.of())));
+
+        PriorityQueue<Candidate> best = new PriorityQueue<>(Comparator.comparingDouble(Candidate::score));
+        for (UUID candidateId : candidateIds) {
+            OpenTrip candidate = opposite.trips.get(candidateId);
+            if (candidate == null || candidateId.equals(source.getId())
+                    || (source.getClientId() != null && source.getClientId().equals(candidate.product().getClientId()))) {
+                continue;
+            }
+            double score = own == announcements
+                    ? score(source, pickupTerms, dropoffTerms, candidate.product(), candidate.pickupTerms(), candidate.dropoffTerms())
+                    : score(candidate.product(), candidate.pickupTerms(), candidate.dropoffTerms(), source, pickupTerms, dropoffTerms);
+            if (score < 0) {
+                continue;
+            }
+            best.offer(new Candidate(candidate.product(), score));
+            if (best.size() > k) {
+                best.poll();
+            }
+        }
+        List<Candidate> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(Candidate::score).reversed());
+        log.debug("[MATCHING] {} candidat(s) examiné(s) pour le trajet {}, {} retenu(s).", candidateIds.size(), source.getId(), result.size());
+        return result;
+    }
+
+    /**
+     * Compatibilité entre une annonce et un planning, entre 0 et 1, ou -1 s'ils sont incompatibles.
+     */
+    private double score(Product announcement, Set<String> announcementPickup, Set<String> announcementDropoff,
+                         Product planning, Set<String> planningPickup, Set<String> planningDropoff) {
+        double pickupSimilarity = jaccard(announcementPickup, planningPickup);
+        double dropoffSimilarity = jaccard(announcementDropoff, planningDropoff);
+        if (pickupSimilarity == 0 || dropoffSimilarity == 0) {
+            return -1;
+        }
+        double timeScore = timeScore(announcement, planning);
+        double priceScore = priceScore(announcement, planning);
+        if (timeScore < 0 || priceScore < 0) {
+            return -1;
+        }
+        double score = CORRIDOR_WEIGHT * (pickupSimilarity + dropoffSimilarity) / 2
+                + TIME_WEIGHT * timeScore
+                + PRICE_WEIGHT * priceScore;
+        return BigDecimal.valueOf(score).setScale(4, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    /**
+     * Le départ de l'annonce doit tomber dans la fenêtre du planning, à la tolérance près.
+     */
+    private double timeScore(Product announcement, Product planning) {
+        Long requested = announcement.getStartAt();
+        Long windowStart = planning.getStartAt();
+        if (requested == null || windowStart == null) {
+            return UNKNOWN_CRITERION_SCORE;
+        }
+        long windowEnd = planning.getEndAt() != null && planning.getEndAt() > windowStart ? planning.getEndAt() : windowStart;
+        long gap = requested < windowStart ? windowStart - requested : Math.max(0, requested - windowEnd);
+        long tolerance = timeToleranceHours * 3_600_000L;
+        if (gap > tolerance) {
+            return -1;
+        }
+        return tolerance == 0 ? 1 : 1 - (double) gap / tolerance;
+    }
+
+    /**
+     * Le prix du planning doit tenir dans le budget de l'annonce, ou le dépasser d'au plus
+     * la tolérance si l'annonce est négociable.
+     */
+    private double priceScore(Product announcement, Product planning) {
+        BigDecimal budget = announcement.getDefaultSellPrice();
+        BigDecimal price = planning.getDefaultSellPrice();
+        if (budget == null || price == null || budget.signum() <= 0) {
+            return UNKNOWN_CRITERION_SCORE;
+        }
+        if (price.compareTo(budget) <= 0) {
+            return 1;
+        }
+        double overrun = price.subtract(budget).doubleValue() / budget.doubleValue();
+        if (!Boolean.TRUE.equals(announcement.getIsNegotiable()) || priceTolerance <= 0 || overrun > priceTolerance) {
+            return -1;
+        }
+        return 1 - overrun / priceTolerance;
+    }
+
+    private static double jaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        long common = a.stream().filter(b::contains).count();
+        return (double) common / (a.size() + b.size() - common);
+    }
+
+    private Side sideOf(Product product) {
+        if (TripSearchIndex.ANNOUNCEMENT_CATEGORY_ID.equals(product.getCategoryId())) {
+            return announcements;
+        }
+        if (TripSearchIndex.PLANNING_CATEGORY_ID.equals(product.getCategoryId())) {
+            return plannings;
+        }
+        return null;
+    }
+
+    private static boolean isPublished(Product product) {
+        return ProductFeedEntry.normalizeStatus(ProductFeedService.STATUS_PUBLISHED)
+                .equals(ProductFeedEntry.normalizeStatus(product.getStatus()));
+    }
+}
@@ -0,0 +1,169 @@
+package com.freelance.driver_backend.service;
+
+import com.freelance.driver_backend.dto.PageResponse;
+import com.freelance.driver_backend.model.Product;
+import com.freelance.driver_backend.model.ProductFeedEntry;
+import com.freelance.driver_backend.util.CursorUtil;
+import com.freelance.driver_backend.util.SearchTextUtil;
+import com.freelance.driver_backend.util.TripDateUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Index inversé en mémoire des annonces et plannings publiés, pour la recherche de trajets par texte.
+ * Les champs name, pickupLocation, dropoffLocation et shortDescription sont découpés en mots sans accents ;
+ * chaque mot pointe vers les produits qui le contiennent, avec un poids dépendant du champ.
+ * L'index est tenu à jour par ProductIndexService et reconstruit au démarrage (TripSearchIndexInitializer).
+ */
+@Service
+@Slf4j
+public class TripSearchIndex {
+
+    public static final UUID ANNOUNCEMENT_CATEGORY_ID = UUID.fromString("c1a5b4e0-1234-5678-9abc-def012345678");
+    public static final UUID PLANNING_CATEGORY_ID = UUID.fromString("ba75b2c0-30a8-11f0-a5b5-bb7d33c83c13");
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int LOCATION_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    // Bonus accordé quand le mot de la requête est un mot complet de l'index (et pas seulement un préfixe).
+    private static final int EXACT_MATCH_BONUS = 1;
+
+    private record IndexedTrip(Product product, Map<String, Integer> terms) {
+    }
+
+    private record ScoredTrip(Product product, int score) {
+    }
+
+    // mot -> (id du produit -> poids du mot dans ce produit)
+    private final ConcurrentSkipListMap<String, Map<UUID, Integer>> postings = new ConcurrentSkipListMap<>();
+    private final Map<UUID, IndexedTrip> trips = new ConcurrentHashMap<>();
+
+    /**
+     * Met à jour l'entrée d'un produit : il est indexé s'il s'agit d'une annonce ou d'un planning publié,
+     * retiré sinon.
+     */
+    public synchronized void update(Product product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        remove(product.getId());
+        if (!isSearchable(product)) {
+            return;
+        }
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, product.getName(), NAME_WEIGHT);
+        addTerms(terms, product.getPickupLocation(), LOCATION_WEIGHT);
+        addTerms(terms, product.getDropoffLocation(), LOCATION_WEIGHT);
+        addTerms(terms, product.getShortDescription(), DESCRIPTION_WEIGHT);
+
+        Product copy = new Product();
+        BeanUtils.copyProperties(product, copy);
+        trips.put(product.getId(), new IndexedTrip(copy, terms));
+        terms.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(product.getId(), weight));
+    }
+
+    public synchronized void remove(UUID productId) {
+        IndexedTrip previous = trips.remove(productId);
+        if (previous == null) {
+            return;
+        }
+        previous.terms().keySet().forEach(term -> postings.computeIfPresent(term, (t, ids) -> {
+            ids.remove(productId);
+            return ids.isEmpty() ? null : ids;
+        }));
+    }
+
+    public int size() {
+        return trips.size();
+    }
+
+    /**
+     * Recherche les trajets d'une catégorie contenant tous les mots de la requête (le dernier mot
+     * peut être un préfixe, pour la saisie en cours). Les résultats sont classés par pertinence puis
+     * du plus récent au plus ancien ; le curseur est la position dans ce classement.
+     * La fenêtre [from, to[ optionnelle filtre sur l'heure de départ.
+     */
+    public PageResponse<Product> search(UUID categoryId, String query, Instant from, Instant to, String cursor, Integer limit) {
+        int offset = CursorUtil.decode(cursor).partition();
+        int size = CursorUtil.normalizeLimit(limit);
+        List<String> queryTerms = SearchTextUtil.tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return new PageResponse<>(List.of(), null);
+        }
+
+        Map<UUID, Integer> scores = null;
+        for (int i = 0; i < queryTerms.size(); i++) {
+            Map<UUID, Integer> termScores = match(queryTerms.get(i), i == queryTerms.size() - 1);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((id, score) -> score + termScores.get(id));
+            }
+            if (scores.isEmpty()) {
+                return new PageResponse<>(List.of(), null);
+            }
+        }
+
+        List<ScoredTrip> ranked = new ArrayList<>(scores.size());
+        scores.forEach((id, score) -> {
+            IndexedTrip trip = trips.get(id);
+            if (trip != null && categoryId.equals(trip.product().getCategoryId())
+                    && TripDateUtil.startsWithin(trip.product().getStartAt(), from, to)) {
+                ranked.add(new ScoredTrip(trip.product(), score));
+            }
+        });
+        ranked.sort(Comparator.comparingInt(ScoredTrip::score).reversed()
+                .thenComparing(scored -> scored.product().getCreatedAt(), Comparator.nullsLast(Comparator.<Instant>reverseOrder())));
+
+        List<Product> items = ranked.stream()
+                .skip(offset)
+                .limit(size)
+                .map(scored -> {
+                    Product copy = new Product();
+                    BeanUtils.copyProperties(scored.product(), copy);
+                    return copy;
+                })
+                .toList();
+        int nextOffset = offset + items.size();
+        return new PageResponse<>(items, nextOffset < ranked.size() ? CursorUtil.encode(nextOffset, null) : null);
+    }
+
+    /**
+     * Meilleur score de chaque produit pour un mot de la requête.
+     */
+    private Map<UUID, Integer> match(String queryTerm, boolean allowPrefix) {
+        Map<UUID, Integer> result = new HashMap<>();
+        Map<String, Map<UUID, Integer>> candidates = allowPrefix
+                ? postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, true)
+                : postings.subMap(queryTerm, true, queryTerm, true);
+        candidates.forEach((term, ids) -> {
+            int bonus = term.equals(queryTerm) ? EXACT_MATCH_BONUS : 0;
+            ids.forEach((id, weight) -> result.merge(id, weight + bonus, Math::max));
+        });
+        return result;
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        for (String token : SearchTextUtil.tokenize(text)) {
+            terms.merge(token, weight, Math::max);
+        }
+    }
+
+    private static boolean isSearchable(Product product) {
+        return (ANNOUNCEMENT_CATEGORY_ID.equals(product.getCategoryId()) || PLANNING_CATEGORY_ID.equals(product.getCategoryId()))
+                && ProductFeedEntry.normalizeStatus(ProductFeedService.STATUS_PUBLISHED)
+                        .equals(ProductFeedEntry.normalizeStatus(product.getStatus()));
+    }
+}
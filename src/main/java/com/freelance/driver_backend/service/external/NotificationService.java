@@ -1,5 +1,6 @@
 package com.freelance.driver_backend.service.external;
 
+import com.freelance.driver_backend.dto.FcmSendResult;
 import com.freelance.driver_backend.dto.external.NotificationRequest;
 import reactor.core.publisher.Mono;
 import java.util.UUID;
@@ -18,4 +19,11 @@ public interface NotificationService {
     Mono<Boolean> sendEmailNotification(UUID organisationId, NotificationRequest request, String userBearerToken, String publicKey);
     Mono<Boolean> sendPushNotification(UUID organisationId, NotificationRequest request, String userBearerToken, String publicKey);
 
+    /**
+     * Envoie une notification push et renvoie le bilan détaillé de l'envoi (utilisé par les workers de l'outbox).
+     * Contrairement à sendPushNotification, les erreurs ne sont pas converties en false : elles sont propagées
+     * pour que l'appelant décide d'un nouvel essai. Un modèle inexistant produit une IllegalArgumentException.
+     */
+    Mono<FcmSendResult> deliverPush(UUID organisationId, NotificationRequest request);
+
 }
\ No newline at end of file
@@ -1,12 +1,11 @@
 package com.freelance.driver_backend.service.external.mock;
 
+import com.freelance.driver_backend.dto.FcmSendResult;
 import com.freelance.driver_backend.dto.external.NotificationRequest;
-import com.freelance.driver_backend.repository.DesignTemplateRepository;
-import com.freelance.driver_backend.repository.EmailTemplateRepository;
-import com.freelance.driver_backend.repository.PushTemplateRepository;
-import com.freelance.driver_backend.repository.SmtpSettingRepository;
 import com.freelance.driver_backend.service.external.NotificationService;
+import com.freelance.driver_backend.service.EmailTemplateRegistry;
 import com.freelance.driver_backend.service.FcmHttpClient;
+import com.freelance.driver_backend.service.PushTemplateRegistry;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,14 +13,11 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.context.Context;
-import org.thymeleaf.spring6.SpringTemplateEngine;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -33,12 +29,9 @@ import com.google.firebase.FirebaseApp;
 @Slf4j
 public class MockNotificationServiceImpl implements NotificationService {
 
-    private final EmailTemplateRepository emailTemplateRepository;
-    private final DesignTemplateRepository designTemplateRepository;
-    private final SmtpSettingRepository smtpSettingRepository;
+    private final EmailTemplateRegistry emailTemplateRegistry;
     private final JavaMailSender javaMailSender;
-    private final SpringTemplateEngine thymeleafTemplateEngine;
-    private final PushTemplateRepository pushTemplateRepository;
+    private final PushTemplateRegistry pushTemplateRegistry;
     private final FirebaseApp firebaseApp; 
     private final FcmHttpClient fcmHttpClient;
 
@@ -50,22 +43,13 @@ public class MockNotificationServiceImpl implements NotificationService {
             return Mono.error(new IllegalArgumentException("Recipients list cannot be empty."));
         }
 
-        return emailTemplateRepository.findById(request.getTemplateId())
-            .flatMap(emailTemplate -> 
-                Mono.zip(
-                    designTemplateRepository.findById(emailTemplate.getDesignTemplateId()),
-                    smtpSettingRepository.findById(emailTemplate.getSettingId())
-                )
-            )
-            .flatMap(tuple -> {
-                var designTemplate = tuple.getT1();
-                var smtpSetting = tuple.getT2();
-                Context thymeleafContext = new Context();
-                if (request.getMetadata() != null) {
-                    request.getMetadata().forEach(thymeleafContext::setVariable);
-                }
-                String finalSubject = thymeleafTemplateEngine.process(designTemplate.getSubject(), thymeleafContext);
-                String finalHtmlBody = thymeleafTemplateEngine.process(designTemplate.getHtml(), thymeleafContext);
+        return emailTemplateRegistry.find(request.getTemplateId())
+            .flatMap(emailTemplate -> {
+                var smtpSetting = emailTemplate.smtpSetting();
+                // Rendu à partir des modèles déjà analysés : aucune lecture en base pour un modèle en cache.
+                var rendered = emailTemplateRegistry.render(emailTemplate, request.getMetadata());
+                String finalSubject = rendered.subject();
+                String finalHtmlBody = rendered.html();
 
                 return Mono.fromCallable(() -> {
                     try {
@@ -102,29 +86,25 @@ public class MockNotificationServiceImpl implements NotificationService {
             return Mono.just(false);
         }
 
-        return pushTemplateRepository.findById(request.getTemplateId())
-            .flatMap(pushTemplate -> {
-                String finalTitle = replaceMetadata(pushTemplate.getTitle(), request.getMetadata());
-                String finalBody = replaceMetadata(pushTemplate.getBody(), request.getMetadata());
-
-                // --- MODIFICATION ICI : Appeler FcmHttpClient avec le dataPayload ---
-                return fcmHttpClient.sendNotifications(request.getRecipients(), finalTitle, finalBody, request.getData()) // <-- AJOUT DE request.getData()
-                           .then(Mono.just(true)) 
-                           .onErrorResume(e -> { 
-                               log.error("❌ Erreur lors de l'envoi de notifications push via FcmHttpClient: {}", e.getMessage());
-                               return Mono.just(false);
-                           });
-            })
-            .defaultIfEmpty(false)
-            .doOnError(e -> log.error("Error during local push sending process (outside flatMap)", e))
-            .onErrorReturn(false);
+        // Succès dès qu'au moins un appareil a reçu la notification ; le détail par lot est journalisé par FcmHttpClient.
+        return deliverPush(organisationId, request)
+            .map(FcmSendResult::hasSuccess)
+            .onErrorResume(e -> {
+                log.error("❌ Erreur lors de l'envoi de notifications push via FcmHttpClient: {}", e.getMessage());
+                return Mono.just(false);
+            });
     }
 
-    private String replaceMetadata(String text, Map<String, String> metadata) {
-        if (text == null || metadata == null) return text;
-        for (Map.Entry<String, String> entry : metadata.entrySet()) {
-            text = text.replace("{{" + entry.getKey() + "}}", entry.getValue());
+    @Override
+    public Mono<FcmSendResult> deliverPush(UUID organisationId, NotificationRequest request) {
+        if (request.getRecipients() == null || request.getRecipients().isEmpty()) {
+            return Mono.just(new FcmSendResult());
         }
-        return text;
+        return pushTemplateRegistry.find(request.getTemplateId())
+            .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Modèle de notification push introuvable : " + request.getTemplateId())))
+            .flatMap(pushTemplate -> fcmHttpClient.sendNotifications(request.getRecipients(),
+                pushTemplate.renderTitle(request.getMetadata()),
+                pushTemplate.renderBody(request.getMetadata()),
+                request.getData()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.freelance.driver_backend.service.internal;
+
+import com.freelance.driver_backend.dto.CreateProductRequest;
+import com.freelance.driver_backend.dto.PageResponse;
+import com.freelance.driver_backend.model.Product;
+import com.freelance.driver_backend.service.ProductCatalogService;
+import com.freelance.driver_backend.service.ResourceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Implémentation de ResourceService qui appelle directement ProductCatalogService, sans repasser
+ * par HTTP (sérialisation JSON, Netty, chaîne de sécurité). Le jeton et la clé publique ne sont pas utilisés.
+ * Active par défaut ; freelancedriver.resource-service.mode=loopback rétablit l'appel HTTP local.
+ */
+@Service
+@ConditionalOnProperty(name = "freelancedriver.resource-service.mode", havingValue = "in-process", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class ResourceServiceInProcessImpl implements ResourceService {
+
+    private final ProductCatalogService productCatalogService;
+
+    @Override
+    public Mono<Product> createProduct(UUID organizationId, CreateProductRequest request, String bearerToken, String publicKey) {
+        return productCatalogService.createProduct(organizationId, request);
+    }
+
+    @Override
+    public Flux<Product> getProductsByCategory(UUID organizationId, UUID categoryId, String bearerToken, String publicKey) {
+        return productCatalogService.getProductsByCategory(organizationId, categoryId);
+    }
+
+    @Override
+    public Mono<PageResponse<Product>> getProductsPageByCategory(UUID organizationId, UUID categoryId, String cursor, Integer limit, String bearerToken, String publicKey) {
+        return productCatalogService.getProductsPageByCategory(organizationId, categoryId, cursor, limit);
+    }
+
+    @Override
+    public Mono<Product> updateProduct(UUID organizationId, UUID productId, CreateProductRequest request, String bearerToken, String publicKey) {
+        return productCatalogService.updateProduct(organizationId, productId, request);
+    }
+
+    @Override
+    public Mono<Void> deleteProduct(UUID organizationId, UUID productId, String bearerToken, String publicKey) {
+        return productCatalogService.deleteProduct(organizationId, productId);
+    }
+}
@@ -1,22 +1,31 @@
 package com.freelance.driver_backend.service.internal;
 
 import com.freelance.driver_backend.dto.CreateProductRequest;
+import com.freelance.driver_backend.dto.PageResponse;
 import com.freelance.driver_backend.model.Product;
 import com.freelance.driver_backend.service.ResourceService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import java.util.Optional;
 import java.util.UUID;
 
 
 
 
 
+/**
+ * Implémentation de ResourceService qui passe par l'API HTTP locale (MockProductController).
+ * Activée avec freelancedriver.resource-service.mode=loopback.
+ */
 @Service
+@ConditionalOnProperty(name = "freelancedriver.resource-service.mode", havingValue = "loopback")
 @Slf4j
 public class ResourceServiceLocalImpl implements ResourceService {
     private final WebClient localApiClient;
@@ -49,6 +58,21 @@ public class ResourceServiceLocalImpl implements ResourceService {
                 .bodyToFlux(Product.class);
     }
 
+    @Override
+    public Mono<PageResponse<Product>> getProductsPageByCategory(UUID organizationId, UUID categoryId, String cursor, Integer limit, String bearerToken, String publicKey) {
+        log.warn("[LOCAL-IMPL] Appel de MockProductController pour lister une page de produits/adresses.");
+        return localApiClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/mock-products/{organizationId}/page")
+                        .queryParam("categoryId", categoryId)
+                        .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                        .queryParamIfPresent("limit", Optional.ofNullable(limit))
+                        .build(organizationId))
+                .header("Authorization", bearerToken)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<PageResponse<Product>>() {});
+    }
+
     @Override
     public Mono<Product> updateProduct(UUID organizationId, UUID productId, CreateProductRequest request, String bearerToken, String publicKey) {
         log.warn("[LOCAL-IMPL] Appel de MockProductController pour mettre à jour le produit/adresse {}.", productId);
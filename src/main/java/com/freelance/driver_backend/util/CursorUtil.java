@@ -0,0 +1,86 @@
+package com.freelance.driver_backend.util;
+
+import com.freelance.driver_backend.dto.PageResponse;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Encodage des curseurs de pagination.
+ * Un curseur contient l'index de la partition en cours (pour les listes qui parcourent plusieurs
+ * partitions, comme le fil journalier) et le "paging state" renvoyé par le driver Cassandra.
+ */
+public class CursorUtil {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    public record Cursor(int partition, ByteBuffer pagingState) {
+        public static final Cursor START = new Cursor(0, null);
+    }
+
+    public static int normalizeLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    public static String encode(int partition, ByteBuffer pagingState) {
+        int stateLength = pagingState == null ? 0 : pagingState.remaining();
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + stateLength);
+        buffer.putInt(partition);
+        if (pagingState != null) {
+            buffer.put(pagingState.duplicate());
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    public static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Cursor.START;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(cursor));
+            int partition = buffer.getInt();
+            if (partition < 0) {
+                throw new IllegalArgumentException("Curseur de pagination invalide.");
+            }
+            return new Cursor(partition, buffer.hasRemaining() ? buffer.slice() : null);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Curseur de pagination invalide.", e);
+        }
+    }
+
+    /**
+     * Construit la requête de page pour une liste mono-partition.
+     */
+    public static CassandraPageRequest pageRequest(String cursor, Integer limit) {
+        return pageRequest(decode(cursor).pagingState(), normalizeLimit(limit));
+    }
+
+    public static CassandraPageRequest pageRequest(ByteBuffer pagingState, int size) {
+        CassandraPageRequest first = CassandraPageRequest.first(size);
+        return pagingState == null ? first : CassandraPageRequest.of(first, pagingState);
+    }
+
+    /**
+     * Paging state de la page suivante, ou null si la tranche est la dernière.
+     */
+    public static ByteBuffer nextPagingState(Slice<?> slice) {
+        if (!slice.hasNext()) {
+            return null;
+        }
+        return ((CassandraPageRequest) slice.nextPageable()).getPagingState();
+    }
+
+    /**
+     * Convertit une tranche lue dans une seule partition en page de réponse.
+     */
+    public static <T> PageResponse<T> toPage(Slice<T> slice) {
+        ByteBuffer next = nextPagingState(slice);
+        return new PageResponse<>(slice.getContent(), next == null ? null : encode(0, next));
+    }
+}
@@ -0,0 +1,104 @@
+package com.freelance.driver_backend.util;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Encodage geohash et calculs de distance pour l'index géographique des produits.
+ * Un geohash de précision 4 couvre environ 39 x 20 km, un geohash de précision 5 environ 4,9 x 4,9 km.
+ */
+public final class GeoHashUtil {
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+
+    private GeoHashUtil() {
+    }
+
+    public static boolean isValid(Double latitude, Double longitude) {
+        return latitude != null && longitude != null
+                && latitude >= -90 && latitude <= 90
+                && longitude >= -180 && longitude <= 180;
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLon = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32.charAt(ch));
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Renvoie les cellules de la précision donnée qui recouvrent le carré englobant le cercle
+     * (centre, rayon). Le résultat est un sur-ensemble : la distance exacte est filtrée ensuite.
+     */
+    public static Set<String> coveringCells(double latitude, double longitude, double radiusKm, int precision) {
+        int bits = precision * 5;
+        double cellLat = 180.0 / (1L << (bits / 2));
+        double cellLon = 360.0 / (1L << ((bits + 1) / 2));
+
+        double deltaLat = radiusKm / KM_PER_DEGREE_LAT;
+        double cosLat = Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        double deltaLon = Math.min(radiusKm / (KM_PER_DEGREE_LAT * cosLat), 180);
+
+        double minLat = Math.max(latitude - deltaLat, -90);
+        double maxLat = Math.min(latitude + deltaLat, 90);
+        double minLon = Math.max(longitude - deltaLon, -180);
+        double maxLon = Math.min(longitude + deltaLon, 180);
+
+        Set<String> cells = new LinkedHashSet<>();
+        for (double lat = minLat; ; lat = Math.min(lat + cellLat, maxLat)) {
+            for (double lon = minLon; ; lon = Math.min(lon + cellLon, maxLon)) {
+                cells.add(encode(lat, lon, precision));
+                if (lon >= maxLon) {
+                    break;
+                }
+            }
+            if (lat >= maxLat) {
+                break;
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Distance orthodromique (formule de haversine) en kilomètres.
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,89 @@
+package com.freelance.driver_backend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Texte à variables {{nom}} compilé une fois en segments : textes fixes et noms de variables alternés.
+ * "Bonjour {{clientName}} !" donne les textes ["Bonjour ", " !"] et les variables ["clientName"].
+ * Le rendu se fait en un seul parcours, dans un tampon réutilisé par thread.
+ * Une variable absente des métadonnées est laissée telle quelle ({{nom}}).
+ */
+public final class PlaceholderTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+    private static final int MAX_RETAINED_CAPACITY = 4096;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private final String source;
+    private final String[] literals; // literals.length == names.length + 1
+    private final String[] names;
+    private final int literalLength;
+
+    private PlaceholderTemplate(String source, String[] literals, String[] names) {
+        this.source = source;
+        this.literals = literals;
+        this.names = names;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Compile le texte ; renvoie null pour un texte null.
+     */
+    public static PlaceholderTemplate compile(String text) {
+        if (text == null) {
+            return null;
+        }
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        int from = 0;
+        while (true) {
+            int open = text.indexOf(OPEN, from);
+            int close = open < 0 ? -1 : text.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                break;
+            }
+            literals.add(text.substring(from, open));
+            names.add(text.substring(open + OPEN.length(), close));
+            from = close + CLOSE.length();
+        }
+        literals.add(text.substring(from));
+        return new PlaceholderTemplate(text, literals.toArray(String[]::new), names.toArray(String[]::new));
+    }
+
+    public String render(Map<String, String> metadata) {
+        if (names.length == 0 || metadata == null) {
+            return source;
+        }
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        out.ensureCapacity(literalLength + names.length * 16);
+        out.append(literals[0]);
+        for (int i = 0; i < names.length; i++) {
+            String value = metadata.get(names[i]);
+            if (value != null) {
+                out.append(value);
+            } else {
+                out.append(OPEN).append(names[i]).append(CLOSE);
+            }
+            out.append(literals[i + 1]);
+        }
+        String rendered = out.toString();
+        // Un tampon devenu très grand n'est pas conservé.
+        if (out.capacity() > MAX_RETAINED_CAPACITY) {
+            BUFFER.remove();
+        }
+        return rendered;
+    }
+
+    public String getSource() {
+        return source;
+    }
+}
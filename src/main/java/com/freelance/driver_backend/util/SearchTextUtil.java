@@ -0,0 +1,52 @@
+package com.freelance.driver_backend.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalisation des textes saisis (noms de lieux, titres) pour la recherche :
+ * suppression des accents, passage en minuscules et découpage en mots.
+ * "Yaoundé - Carrefour Étoudi" donne ["yaounde", "carrefour", "etoudi"].
+ */
+public final class SearchTextUtil {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{Alnum}]+");
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    // Mots vides français et anglais les plus fréquents dans les intitulés de trajets.
+    private static final Set<String> STOP_WORDS = Set.of(
+            "de", "du", "des", "la", "le", "les", "l", "d", "et", "a", "au", "aux", "en", "pour", "vers", "sur",
+            "un", "une", "the", "to", "from", "and");
+
+    private SearchTextUtil() {
+    }
+
+    /**
+     * Texte sans accents et en minuscules.
+     */
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Mots significatifs du texte, dans l'ordre, sans accents ni mots vides.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(fold(text))) {
+            if (token.length() >= MIN_TOKEN_LENGTH && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,139 @@
+package com.freelance.driver_backend.util;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Conversion des dates/heures de trajet (saisies en texte libre par le frontend) en instants epoch.
+ * Les dates sans fuseau sont interprétées dans le fuseau du Cameroun.
+ */
+public class TripDateUtil {
+
+    public static final ZoneId TRIP_ZONE = ZoneId.of("Africa/Douala");
+
+    /**
+     * Valeur de tri utilisée lorsque la date d'un trajet est absente ou illisible : ces trajets
+     * sont rangés après tous les trajets datés.
+     */
+    public static final long UNKNOWN_EPOCH_MILLI = Long.MAX_VALUE;
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
+            DateTimeFormatter.ofPattern("d/M/yyyy"),
+            DateTimeFormatter.ofPattern("dd-MM-yyyy"));
+
+    private static final List<DateTimeFormatter> TIME_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_TIME,
+            DateTimeFormatter.ofPattern("H:mm"),
+            DateTimeFormatter.ofPattern("H'h'mm"));
+
+    /**
+     * Instant epoch (ms) correspondant à une date et une heure de trajet.
+     * Une heure absente ou illisible est remplacée par minuit.
+     */
+    public static Optional<Long> toEpochMilli(String date, String time) {
+        if (date == null || date.isBlank()) {
+            return Optional.empty();
+        }
+        String trimmed = date.trim();
+
+        // Date complète au format ISO (ex: "2025-06-12T08:30:00.000Z")
+        try {
+            return Optional.of(OffsetDateTime.parse(trimmed).toInstant().toEpochMilli());
+        } catch (DateTimeParseException ignored) {
+            // Pas un horodatage avec fuseau, on essaie les autres formats.
+        }
+        try {
+            return Optional.of(LocalDateTime.parse(trimmed).atZone(TRIP_ZONE).toInstant().toEpochMilli());
+        } catch (DateTimeParseException ignored) {
+            // Pas une date-heure locale.
+        }
+
+        return parseDate(trimmed).map(localDate -> localDate
+                .atTime(parseTime(time).orElse(LocalTime.MIDNIGHT))
+                .atZone(TRIP_ZONE)
+                .toInstant()
+                .toEpochMilli());
+    }
+
+    /**
+     * Comme {@link #toEpochMilli(String, String)}, mais renvoie {@link #UNKNOWN_EPOCH_MILLI} si la date est inconnue.
+     */
+    public static long toSortableEpochMilli(String date, String time) {
+        return toEpochMilli(date, time).orElse(UNKNOWN_EPOCH_MILLI);
+    }
+
+    /**
+     * Fin du trajet en epoch ms. Si seule l'heure de fin est renseignée, le trajet est supposé
+     * se terminer le jour de son départ.
+     */
+    public static Optional<Long> toEndEpochMilli(String startDate, String endDate, String endTime) {
+        boolean endDateMissing = endDate == null || endDate.isBlank();
+        if (endDateMissing && (endTime == null || endTime.isBlank())) {
+            return Optional.empty();
+        }
+        return toEpochMilli(endDateMissing ? startDate : endDate, endTime);
+    }
+
+    /**
+     * Jour (dans le fuseau du Cameroun) d'un instant epoch, utilisé pour partitionner les trajets par date de départ.
+     */
+    public static LocalDate tripDayOf(long epochMilli) {
+        return Instant.ofEpochMilli(epochMilli).atZone(TRIP_ZONE).toLocalDate();
+    }
+
+    /**
+     * Date-heure dans le fuseau du Cameroun d'un instant epoch.
+     */
+    public static ZonedDateTime toTripDateTime(long epochMilli) {
+        return Instant.ofEpochMilli(epochMilli).atZone(TRIP_ZONE);
+    }
+
+    /**
+     * Indique si un départ (epoch ms, null si inconnu) est dans la fenêtre [from, to[ ; une borne null n'est pas appliquée.
+     * Un départ inconnu n'est accepté que si aucune borne n'est donnée.
+     */
+    public static boolean startsWithin(Long startAt, Instant from, Instant to) {
+        if (from == null && to == null) {
+            return true;
+        }
+        return startAt != null
+                && (from == null || startAt >= from.toEpochMilli())
+                && (to == null || startAt < to.toEpochMilli());
+    }
+
+    private static Optional<LocalDate> parseDate(String date) {
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return Optional.of(LocalDate.parse(date, format));
+            } catch (DateTimeParseException ignored) {
+                // Format suivant.
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<LocalTime> parseTime(String time) {
+        if (time == null || time.isBlank()) {
+            return Optional.empty();
+        }
+        for (DateTimeFormatter format : TIME_FORMATS) {
+            try {
+                return Optional.of(LocalTime.parse(time.trim(), format));
+            } catch (DateTimeParseException ignored) {
+                // Format suivant.
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,118 @@
+package com.freelance.driver_backend.service;
+
+import com.freelance.driver_backend.model.Product;
+import com.freelance.driver_backend.model.ProductKey;
+import com.freelance.driver_backend.util.TripDateUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DriverAvailabilityIndexTest {
+
+    private static final UUID ORGANIZATION_ID = UUID.randomUUID();
+
+    private DriverAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new DriverAvailabilityIndex();
+    }
+
+    // Heures locales du Cameroun, comme les créneaux recherchés.
+    private static long local(String dateTime) {
+        return LocalDateTime.parse(dateTime).atZone(TripDateUtil.TRIP_ZONE).toInstant().toEpochMilli();
+    }
+
+    private static Product planning(UUID driverId, String start, String end, String status) {
+        Product product = new Product();
+        product.setKey(new ProductKey(ORGANIZATION_ID, UUID.randomUUID()));
+        product.setCategoryId(TripSearchIndex.PLANNING_CATEGORY_ID);
+        product.setClientId(driverId);
+        product.setStatus(status);
+        product.setStartAt(local(start));
+        product.setEndAt(end == null ? null : local(end));
+        return product;
+    }
+
+    private static LocalDateTime at(String dateTime) {
+        return LocalDateTime.parse(dateTime);
+    }
+
+    @Test
+    void fullSlotRequiresEveryQuarterHourWhilePartialNeedsOne() {
+        UUID driver = UUID.randomUUID();
+        index.update(planning(driver, "2025-06-12T08:00", "2025-06-12T10:00", "Published"));
+
+        assertThat(index.findAvailableDrivers(at("2025-06-12T08:00"), at("2025-06-12T10:00"), true)).containsExactly(driver);
+        assertThat(index.findAvailableDrivers(at("2025-06-12T09:45"), at("2025-06-12T10:15"), true)).isEmpty();
+        assertThat(index.findAvailableDrivers(at("2025-06-12T09:45"), at("2025-06-12T10:15"), false)).containsExactly(driver);
+        assertThat(index.findAvailableDrivers(at("2025-06-12T10:00"), at("2025-06-12T11:00"), false)).isEmpty();
+    }
+
+    @Test
+    void slotBoundsAreRoundedOutwardToQuarterHours() {
+        UUID driver = UUID.randomUUID();
+        index.update(planning(driver, "2025-06-12T08:10", "2025-06-12T08:50", "Published"));
+
+        // Le planning occupe les créneaux 08:00 à 09:00.
+        assertThat(index.findAvailableDrivers(at("2025-06-12T08:00"), at("2025-06-12T09:00"), true)).containsExactly(driver);
+        assertThat(index.findAvailableDrivers(at("2025-06-12T08:55"), at("2025-06-12T09:05"), true)).isEmpty();
+    }
+
+    @Test
+    void overnightPlanningIsAvailableOnBothSidesOfMidnight() {
+        UUID driver = UUID.randomUUID();
+        index.update(planning(driver, "2025-06-12T22:00", "2025-06-13T02:00", "Published"));
+
+        assertThat(index.findAvailableDrivers(at("2025-06-12T23:00"), at("2025-06-13T01:00"), true)).containsExactly(driver);
+        assertThat(index.findAvailableDrivers(at("2025-06-12T23:45"), at("2025-06-13T00:00"), true)).containsExactly(driver);
+        assertThat(index.findAvailableDrivers(at("2025-06-13T00:00"), at("2025-06-13T00:15"), true)).containsExactly(driver);
+        assertThat(index.findAvailableDrivers(at("2025-06-12T23:00"), at("2025-06-13T03:00"), true)).isEmpty();
+    }
+
+    @Test
+    void slotSpanningMidnightNeedsAvailabilityOnBothDaysForAnd() {
+        UUID eveningOnly = UUID.randomUUID();
+        UUID morningOnly = UUID.randomUUID();
+        index.update(planning(eveningOnly, "2025-06-12T20:00", "2025-06-12T23:59", "Published"));
+        index.update(planning(morningOnly, "2025-06-13T00:00", "2025-06-13T06:00", "Published"));
+
+        assertThat(index.findAvailableDrivers(at("2025-06-12T23:00"), at("2025-06-13T01:00"), true)).isEmpty();
+        assertThat(index.findAvailableDrivers(at("2025-06-12T23:00"), at("2025-06-13T01:00"), false))
+                .containsExactlyInAnyOrder(eveningOnly, morningOnly);
+    }
+
+    @Test
+    void bookedPlanningRemovesItsSlotsFromTheOfferedOnes() {
+        UUID driver = UUID.randomUUID();
+        index.update(planning(driver, "2025-06-12T08:00", "2025-06-12T12:00", "Published"));
+        index.update(planning(driver, "2025-06-12T09:00", "2025-06-12T10:00", "Ongoing"));
+
+        assertThat(index.findAvailableDrivers(at("2025-06-12T08:00"), at("2025-06-12T09:00"), true)).containsExactly(driver);
+        assertThat(index.findAvailableDrivers(at("2025-06-12T09:00"), at("2025-06-12T10:00"), false)).isEmpty();
+        assertThat(index.findAvailableDrivers(at("2025-06-12T08:00"), at("2025-06-12T12:00"), true)).isEmpty();
+    }
+
+    @Test
+    void removingOrClosingAPlanningFreesTheDay() {
+        UUID driver = UUID.randomUUID();
+        Product planning = planning(driver, "2025-06-12T08:00", null, "Published");
+        index.update(planning);
+
+        // Sans heure de fin, le planning dure une heure.
+        assertThat(index.findAvailableDrivers(at("2025-06-12T08:00"), at("2025-06-12T09:00"), true)).containsExactly(driver);
+
+        planning.setStatus("Terminated");
+        index.update(planning);
+        assertThat(index.findAvailableDrivers(at("2025-06-12T08:00"), at("2025-06-12T09:00"), false)).isEmpty();
+
+        planning.setStatus("Published");
+        index.update(planning);
+        index.remove(planning.getId());
+        assertThat(index.findAvailableDrivers(at("2025-06-12T08:00"), at("2025-06-12T09:00"), false)).isEmpty();
+    }
+}
@@ -0,0 +1,34 @@
+package com.freelance.driver_backend.service;
+
+import com.freelance.driver_backend.model.ProductByGeoCell;
+import com.freelance.driver_backend.util.GeoHashUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeoSearchServiceTest {
+
+    private static final double LAT = 3.8667;
+    private static final double LON = 11.5167;
+
+    @Test
+    void smallRadiusIsSearchedWithFineCells() {
+        Set<String> cells = GeoSearchService.searchCells(LAT, LON, 3);
+
+        assertThat(cells).isNotEmpty().hasSizeLessThanOrEqualTo(25)
+                .allSatisfy(cell -> assertThat(cell).hasSize(ProductByGeoCell.FINE_PRECISION));
+        assertThat(cells).contains(GeoHashUtil.encode(LAT, LON, ProductByGeoCell.FINE_PRECISION));
+    }
+
+    @Test
+    void largeRadiusFallsBackToCoarseCells() {
+        assertThat(GeoHashUtil.coveringCells(LAT, LON, 50, ProductByGeoCell.FINE_PRECISION)).hasSizeGreaterThan(25);
+
+        Set<String> cells = GeoSearchService.searchCells(LAT, LON, 50);
+
+        assertThat(cells).allSatisfy(cell -> assertThat(cell).hasSize(ProductByGeoCell.COARSE_PRECISION));
+        assertThat(cells).contains(GeoHashUtil.encode(LAT, LON, ProductByGeoCell.COARSE_PRECISION));
+    }
+}
@@ -0,0 +1,133 @@
+package com.freelance.driver_backend.service;
+
+import com.freelance.driver_backend.model.Product;
+import com.freelance.driver_backend.model.ProductKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TripMatchingEngineTest {
+
+    private static final UUID ORGANIZATION_ID = UUID.randomUUID();
+    private static final long START = Instant.parse("2025-06-12T07:00:00Z").toEpochMilli();
+    private static final long HOUR = 3_600_000L;
+
+    private TripMatchingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new TripMatchingEngine();
+        ReflectionTestUtils.setField(engine, "timeToleranceHours", 3L);
+        ReflectionTestUtils.setField(engine, "priceTolerance", 0.2);
+    }
+
+    private static Product trip(UUID categoryId, String pickup, String dropoff, Long startAt, String price) {
+        Product product = new Product();
+        product.setKey(new ProductKey(ORGANIZATION_ID, UUID.randomUUID()));
+        product.setCategoryId(categoryId);
+        product.setStatus("Published");
+        product.setClientId(UUID.randomUUID());
+        product.setPickupLocation(pickup);
+        product.setDropoffLocation(dropoff);
+        product.setStartAt(startAt);
+        product.setDefaultSellPrice(price == null ? null : new BigDecimal(price));
+        return product;
+    }
+
+    private static Product announcement(String pickup, String dropoff, Long startAt, String budget) {
+        return trip(TripSearchIndex.ANNOUNCEMENT_CATEGORY_ID, pickup, dropoff, startAt, budget);
+    }
+
+    private static Product planning(String pickup, String dropoff, Long startAt, String price) {
+        return trip(TripSearchIndex.PLANNING_CATEGORY_ID, pickup, dropoff, startAt, price);
+    }
+
+    @Test
+    void candidatesAreOrderedFromBestToWorstAndCutAtK() {
+        Product exact = planning("Yaoundé Mvan", "Douala Akwa", START, "5000");
+        Product twoHoursLater = planning("Yaoundé Mvan", "Douala Akwa", START + 2 * HOUR, "5000");
+        Product partialCorridor = planning("Yaoundé Mvan", "Douala Bonabéri", START, "5000");
+        Product oneHourLater = planning("Yaoundé Mvan", "Douala Akwa", START + HOUR, "5000");
+        List.of(exact, twoHoursLater, partialCorridor, oneHourLater).forEach(engine::update);
+        Product source = announcement("Yaoundé Mvan", "Douala Akwa", START, "5000");
+
+        List<TripMatchingEngine.Candidate> all = engine.findCandidates(source, 10);
+        List<TripMatchingEngine.Candidate> top2 = engine.findCandidates(source, 2);
+
+        assertThat(all).extracting(TripMatchingEngine.Candidate::score).isSortedAccordingTo((a, b) -> Double.compare(b, a));
+        assertThat(all.get(0).product().getId()).isEqualTo(exact.getId());
+        assertThat(all.get(0).score()).isEqualTo(1.0);
+        assertThat(top2).extracting(candidate -> candidate.product().getId())
+                .containsExactlyElementsOf(all.subList(0, 2).stream().map(candidate -> candidate.product().getId()).toList());
+    }
+
+    @Test
+    void candidatesComeFromTheOppositeSideOnly() {
+        Product otherAnnouncement = announcement("Yaoundé", "Douala", START, "5000");
+        Product planning = planning("Yaoundé", "Douala", START, "5000");
+        engine.update(otherAnnouncement);
+        engine.update(planning);
+
+        List<TripMatchingEngine.Candidate> fromAnnouncement = engine.findCandidates(announcement("Yaoundé", "Douala", START, "5000"), 10);
+        List<TripMatchingEngine.Candidate> fromPlanning = engine.findCandidates(planning, 10);
+
+        assertThat(fromAnnouncement).extracting(candidate -> candidate.product().getId()).containsExactly(planning.getId());
+        assertThat(fromPlanning).extracting(candidate -> candidate.product().getId()).containsExactly(otherAnnouncement.getId());
+    }
+
+    @Test
+    void incompatibleTripsAreExcluded() {
+        engine.update(planning("Yaoundé", "Bafoussam", START, "5000"));            // arrivée différente
+        engine.update(planning("Yaoundé", "Douala", START + 4 * HOUR, "5000"));    // hors tolérance horaire
+        engine.update(planning("Yaoundé", "Douala", START, "7000"));              // au-delà du budget
+        Product source = announcement("Yaoundé", "Douala", START, "5000");
+
+        assertThat(engine.findCandidates(source, 10)).isEmpty();
+    }
+
+    @Test
+    void negotiableBudgetAcceptsAPriceWithinTheTolerance() {
+        Product planning = planning("Yaoundé", "Douala", START, "5500");
+        engine.update(planning);
+        Product source = announcement("Yaoundé", "Douala", START, "5000");
+
+        assertThat(engine.findCandidates(source, 10)).isEmpty();
+
+        source.setIsNegotiable(true);
+        List<TripMatchingEngine.Candidate> candidates = engine.findCandidates(source, 10);
+
+        assertThat(candidates).hasSize(1);
+        assertThat(candidates.get(0).score()).isLessThan(1.0);
+    }
+
+    @Test
+    void ownTripsAndClosedTripsAreNotProposed() {
+        Product source = announcement("Yaoundé", "Douala", START, "5000");
+        Product ownPlanning = planning("Yaoundé", "Douala", START, "5000");
+        ownPlanning.setClientId(source.getClientId());
+        Product closed = planning("Yaoundé", "Douala", START, "5000");
+        engine.update(ownPlanning);
+        engine.update(closed);
+        closed.setStatus("Ongoing");
+        engine.update(closed);
+
+        assertThat(engine.findCandidates(source, 10)).isEmpty();
+        assertThat(engine.isOpen(closed.getId())).isFalse();
+        assertThat(engine.isOpen(ownPlanning.getId())).isTrue();
+    }
+
+    @Test
+    void nonPositiveKOrUnknownCategoryReturnsNothing() {
+        engine.update(planning("Yaoundé", "Douala", START, "5000"));
+
+        assertThat(engine.findCandidates(announcement("Yaoundé", "Douala", START, "5000"), 0)).isEmpty();
+        assertThat(engine.findCandidates(trip(UUID.randomUUID(), "Yaoundé", "Douala", START, "5000"), 10)).isEmpty();
+    }
+}
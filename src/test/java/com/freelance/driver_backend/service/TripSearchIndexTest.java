@@ -0,0 +1,134 @@
+package com.freelance.driver_backend.service;
+
+import com.freelance.driver_backend.dto.PageResponse;
+import com.freelance.driver_backend.model.Product;
+import com.freelance.driver_backend.model.ProductKey;
+import com.freelance.driver_backend.util.CursorUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TripSearchIndexTest {
+
+    private static final UUID ORGANIZATION_ID = UUID.randomUUID();
+    private static final Instant NOW = Instant.parse("2025-06-01T08:00:00Z");
+
+    private TripSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TripSearchIndex();
+    }
+
+    private static Product trip(UUID categoryId, String name, String pickup, String dropoff, Instant createdAt) {
+        Product product = new Product();
+        product.setKey(new ProductKey(ORGANIZATION_ID, UUID.randomUUID()));
+        product.setCategoryId(categoryId);
+        product.setStatus("Published");
+        product.setName(name);
+        product.setPickupLocation(pickup);
+        product.setDropoffLocation(dropoff);
+        product.setCreatedAt(createdAt);
+        return product;
+    }
+
+    private static Product announcement(String name, String pickup, String dropoff, Instant createdAt) {
+        return trip(TripSearchIndex.ANNOUNCEMENT_CATEGORY_ID, name, pickup, dropoff, createdAt);
+    }
+
+    private PageResponse<Product> search(String query) {
+        return index.search(TripSearchIndex.ANNOUNCEMENT_CATEGORY_ID, query, null, null, null, 20);
+    }
+
+    @Test
+    void queryWithoutAccentsFindsAccentedTrips() {
+        Product trip = announcement("Course vers l'aéroport", "Yaoundé Étoudi", "Nsimalen", NOW);
+        index.update(trip);
+
+        assertThat(search("yaounde etoudi").getItems()).extracting(Product::getId).containsExactly(trip.getId());
+        assertThat(search("AÉROPORT").getItems()).extracting(Product::getId).containsExactly(trip.getId());
+    }
+
+    @Test
+    void lastQueryTermMatchesAsPrefix() {
+        Product trip = announcement("Trajet", "Douala Bonabéri", "Kribi", NOW);
+        index.update(trip);
+
+        assertThat(search("douala bonab").getItems()).extracting(Product::getId).containsExactly(trip.getId());
+        // Seul le dernier mot peut être incomplet.
+        assertThat(search("doua bonaberi").getItems()).isEmpty();
+    }
+
+    @Test
+    void everyQueryTermMustMatch() {
+        index.update(announcement("Trajet", "Douala", "Kribi", NOW));
+
+        assertThat(search("douala limbe").getItems()).isEmpty();
+    }
+
+    @Test
+    void exactWordRanksAbovePrefixAndFieldWeightsApply() {
+        Product prefixOnly = announcement("Trajet", "Bafoussam", "Dschang", NOW.plusSeconds(60));
+        Product exactLocation = announcement("Trajet", "Bafang", "Dschang", NOW);
+        Product exactName = announcement("Bafang express", "Foumban", "Dschang", NOW.minusSeconds(60));
+        index.update(prefixOnly);
+        index.update(exactLocation);
+        index.update(exactName);
+
+        assertThat(search("baf").getItems()).hasSize(3);
+        assertThat(search("bafang").getItems()).extracting(Product::getId)
+                .containsExactly(exactName.getId(), exactLocation.getId());
+    }
+
+    @Test
+    void equalScoresAreOrderedFromNewestToOldest() {
+        Product older = announcement("Trajet", "Limbé", "Buea", NOW);
+        Product newer = announcement("Trajet", "Limbé", "Tiko", NOW.plusSeconds(3600));
+        index.update(older);
+        index.update(newer);
+
+        assertThat(search("limbe").getItems()).extracting(Product::getId).containsExactly(newer.getId(), older.getId());
+    }
+
+    @Test
+    void unpublishedTripsAndOtherCategoriesAreNotReturned() {
+        Product trip = announcement("Trajet", "Garoua", "Maroua", NOW);
+        index.update(trip);
+        index.update(trip(TripSearchIndex.PLANNING_CATEGORY_ID, "Trajet", "Garoua", "Maroua", NOW));
+
+        assertThat(search("garoua").getItems()).extracting(Product::getId).containsExactly(trip.getId());
+
+        trip.setStatus("Ongoing");
+        index.update(trip);
+
+        assertThat(search("garoua").getItems()).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void pagesFollowTheRankingWithAnOffsetCursor() {
+        for (int i = 0; i < 5; i++) {
+            index.update(announcement("Trajet " + i, "Bertoua", "Batouri", NOW.plusSeconds(i)));
+        }
+
+        PageResponse<Product> first = index.search(TripSearchIndex.ANNOUNCEMENT_CATEGORY_ID, "bertoua", null, null, null, 2);
+        PageResponse<Product> last = index.search(TripSearchIndex.ANNOUNCEMENT_CATEGORY_ID, "bertoua", null, null,
+                CursorUtil.encode(4, null), 2);
+
+        assertThat(first.getItems()).extracting(Product::getName).containsExactly("Trajet 4", "Trajet 3");
+        assertThat(CursorUtil.decode(first.getNext()).partition()).isEqualTo(2);
+        assertThat(last.getItems()).extracting(Product::getName).containsExactly("Trajet 0");
+        assertThat(last.getNext()).isNull();
+    }
+
+    @Test
+    void stopWordOnlyQueryReturnsNothing() {
+        index.update(announcement("Trajet", "Ebolowa", "Sangmélima", NOW));
+
+        assertThat(search("de la").getItems()).isEmpty();
+    }
+}
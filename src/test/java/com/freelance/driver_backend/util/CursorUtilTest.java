@@ -0,0 +1,108 @@
+package com.freelance.driver_backend.util;
+
+import com.freelance.driver_backend.dto.PageResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.cassandra.core.query.CassandraPageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorUtilTest {
+
+    private static ByteBuffer state(String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void encodeDecodeRoundTripKeepsPartitionAndPagingState() {
+        String cursor = CursorUtil.encode(20_123, state("paging-state"));
+
+        CursorUtil.Cursor decoded = CursorUtil.decode(cursor);
+
+        assertThat(decoded.partition()).isEqualTo(20_123);
+        assertThat(decoded.pagingState()).isEqualTo(state("paging-state"));
+    }
+
+    @Test
+    void encodeDoesNotConsumeThePagingState() {
+        ByteBuffer pagingState = state("abc");
+
+        CursorUtil.encode(1, pagingState);
+
+        assertThat(pagingState.remaining()).isEqualTo(3);
+    }
+
+    @Test
+    void partitionOnlyCursorHasNoPagingState() {
+        CursorUtil.Cursor decoded = CursorUtil.decode(CursorUtil.encode(7, null));
+
+        assertThat(decoded.partition()).isEqualTo(7);
+        assertThat(decoded.pagingState()).isNull();
+    }
+
+    @Test
+    void cursorIsUrlSafe() {
+        String cursor = CursorUtil.encode(Integer.MAX_VALUE, ByteBuffer.wrap(new byte[] { (byte) 0xfb, (byte) 0xff, (byte) 0xfe }));
+
+        assertThat(cursor).doesNotContain("+", "/", "=");
+    }
+
+    @Test
+    void missingCursorStartsAtTheBeginning() {
+        assertThat(CursorUtil.decode(null)).isSameAs(CursorUtil.Cursor.START);
+        assertThat(CursorUtil.decode("")).isSameAs(CursorUtil.Cursor.START);
+        assertThat(CursorUtil.decode("   ")).isSameAs(CursorUtil.Cursor.START);
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        // Base64 invalide
+        assertThatThrownBy(() -> CursorUtil.decode("%%%"))
+                .isInstanceOf(IllegalArgumentException.class);
+        // Trop court pour contenir l'index de partition
+        assertThatThrownBy(() -> CursorUtil.decode(Base64.getUrlEncoder().withoutPadding().encodeToString(new byte[] { 1, 2 })))
+                .isInstanceOf(IllegalArgumentException.class);
+        // Index de partition négatif
+        assertThatThrownBy(() -> CursorUtil.decode(CursorUtil.encode(-1, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void limitIsDefaultedAndCapped() {
+        assertThat(CursorUtil.normalizeLimit(null)).isEqualTo(CursorUtil.DEFAULT_LIMIT);
+        assertThat(CursorUtil.normalizeLimit(0)).isEqualTo(CursorUtil.DEFAULT_LIMIT);
+        assertThat(CursorUtil.normalizeLimit(-5)).isEqualTo(CursorUtil.DEFAULT_LIMIT);
+        assertThat(CursorUtil.normalizeLimit(7)).isEqualTo(7);
+        assertThat(CursorUtil.normalizeLimit(10_000)).isEqualTo(CursorUtil.MAX_LIMIT);
+    }
+
+    @Test
+    void pageRequestCarriesThePagingStateOfTheCursor() {
+        CassandraPageRequest first = CursorUtil.pageRequest((String) null, 5);
+        CassandraPageRequest next = CursorUtil.pageRequest(CursorUtil.encode(0, state("next")), 5);
+
+        assertThat(first.getPageSize()).isEqualTo(5);
+        assertThat(first.getPagingState()).isNull();
+        assertThat(next.getPageSize()).isEqualTo(5);
+        assertThat(next.getPagingState()).isEqualTo(state("next"));
+    }
+
+    @Test
+    void toPageEncodesTheNextPagingStateOnlyWhenThereIsOne() {
+        CassandraPageRequest request = CassandraPageRequest.of(CassandraPageRequest.first(2), state("page-2"));
+
+        PageResponse<String> middle = CursorUtil.toPage(new SliceImpl<>(List.of("a", "b"), request, true));
+        PageResponse<String> last = CursorUtil.toPage(new SliceImpl<>(List.of("c"), CassandraPageRequest.first(2), false));
+
+        assertThat(middle.getItems()).containsExactly("a", "b");
+        assertThat(CursorUtil.decode(middle.getNext()).pagingState()).isEqualTo(state("page-2"));
+        assertThat(last.getItems()).containsExactly("c");
+        assertThat(last.getNext()).isNull();
+    }
+}
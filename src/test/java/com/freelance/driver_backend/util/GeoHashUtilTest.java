@@ -0,0 +1,76 @@
+package com.freelance.driver_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class GeoHashUtilTest {
+
+    // Carrefour Warda, Yaoundé
+    private static final double LAT = 3.8667;
+    private static final double LON = 11.5167;
+
+    @Test
+    void encodeMatchesTheReferenceGeohash() {
+        assertThat(GeoHashUtil.encode(57.64911, 10.40744, 11)).isEqualTo("u4pruydqqvj");
+        assertThat(GeoHashUtil.encode(57.64911, 10.40744, 5)).isEqualTo("u4pru");
+    }
+
+    @Test
+    void coarseCellIsThePrefixOfTheFineCell() {
+        assertThat(GeoHashUtil.encode(LAT, LON, 5)).startsWith(GeoHashUtil.encode(LAT, LON, 4));
+    }
+
+    @Test
+    void validityRejectsMissingAndOutOfRangeCoordinates() {
+        assertThat(GeoHashUtil.isValid(LAT, LON)).isTrue();
+        assertThat(GeoHashUtil.isValid(null, LON)).isFalse();
+        assertThat(GeoHashUtil.isValid(LAT, null)).isFalse();
+        assertThat(GeoHashUtil.isValid(90.5, LON)).isFalse();
+        assertThat(GeoHashUtil.isValid(LAT, -180.5)).isFalse();
+    }
+
+    @Test
+    void coveringCellsIncludeTheNeighbourAcrossACellEdge() {
+        // Largeur d'une cellule de précision 5 : 360 / 2^13 degrés de longitude.
+        double cellLon = 360.0 / (1 << 13);
+        double eastEdge = Math.ceil(LON / cellLon) * cellLon;
+        double nearEdge = eastEdge - cellLon / 20;
+
+        Set<String> cells = GeoHashUtil.coveringCells(LAT, nearEdge, 1, 5);
+
+        assertThat(cells).contains(GeoHashUtil.encode(LAT, nearEdge, 5), GeoHashUtil.encode(LAT, eastEdge + cellLon / 20, 5));
+    }
+
+    @Test
+    void coveringCellsContainEveryPointOfTheCircle() {
+        double radiusKm = 7;
+        Set<String> cells = GeoHashUtil.coveringCells(LAT, LON, radiusKm, 5);
+
+        for (int angle = 0; angle < 360; angle += 15) {
+            double theta = Math.toRadians(angle);
+            double lat = LAT + radiusKm * 0.99 * Math.cos(theta) / 111.32;
+            double lon = LON + radiusKm * 0.99 * Math.sin(theta) / (111.32 * Math.cos(Math.toRadians(LAT)));
+            assertThat(GeoHashUtil.distanceKm(LAT, LON, lat, lon)).isLessThanOrEqualTo(radiusKm);
+            assertThat(cells).as("angle %d", angle).contains(GeoHashUtil.encode(lat, lon, 5));
+        }
+    }
+
+    @Test
+    void coveringCellsStayWithinTheValidRangeNearAPole() {
+        Set<String> cells = GeoHashUtil.coveringCells(89.99, 179.99, 50, 4);
+
+        assertThat(cells).isNotEmpty().allSatisfy(cell -> assertThat(cell).hasSize(4));
+        assertThat(cells).contains(GeoHashUtil.encode(89.99, 179.99, 4));
+    }
+
+    @Test
+    void distanceUsesTheHaversineFormula() {
+        // Yaoundé - Douala : environ 195 km à vol d'oiseau.
+        assertThat(GeoHashUtil.distanceKm(3.8480, 11.5021, 4.0511, 9.7679)).isCloseTo(193.4, within(2.0));
+        assertThat(GeoHashUtil.distanceKm(LAT, LON, LAT, LON)).isZero();
+    }
+}
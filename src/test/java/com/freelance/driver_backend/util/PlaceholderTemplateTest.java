@@ -0,0 +1,70 @@
+package com.freelance.driver_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlaceholderTemplateTest {
+
+    @Test
+    void placeholdersAreReplacedByTheirValues() {
+        PlaceholderTemplate template = PlaceholderTemplate.compile("Bonjour {{clientName}}, départ à {{startTime}} !");
+
+        assertThat(template.render(Map.of("clientName", "Awa", "startTime", "08:30")))
+                .isEqualTo("Bonjour Awa, départ à 08:30 !");
+    }
+
+    @Test
+    void placeholdersAtTheEdgesAndSideBySideAreReplaced() {
+        PlaceholderTemplate template = PlaceholderTemplate.compile("{{a}}{{b}}-{{a}}");
+
+        assertThat(template.render(Map.of("a", "1", "b", "2"))).isEqualTo("12-1");
+    }
+
+    @Test
+    void missingPlaceholdersAreLeftAsIs() {
+        PlaceholderTemplate template = PlaceholderTemplate.compile("Course {{tripId}} pour {{clientName}}");
+
+        assertThat(template.render(Map.of("clientName", "Awa"))).isEqualTo("Course {{tripId}} pour Awa");
+        assertThat(template.render(null)).isEqualTo("Course {{tripId}} pour {{clientName}}");
+    }
+
+    @Test
+    void unclosedPlaceholderIsKeptAsLiteralText() {
+        PlaceholderTemplate template = PlaceholderTemplate.compile("Prix : {{price}} FCFA {{devise");
+
+        assertThat(template.render(Map.of("price", "5000", "devise", "XAF"))).isEqualTo("Prix : 5000 FCFA {{devise");
+        assertThat(PlaceholderTemplate.compile("{{").render(Map.of())).isEqualTo("{{");
+    }
+
+    @Test
+    void textWithoutPlaceholdersIsReturnedUnchanged() {
+        PlaceholderTemplate template = PlaceholderTemplate.compile("Votre course est confirmée.");
+
+        assertThat(template.render(Map.of("x", "y"))).isEqualTo("Votre course est confirmée.");
+        assertThat(template.getSource()).isEqualTo("Votre course est confirmée.");
+    }
+
+    @Test
+    void emptyNameAndNullTextAreHandled() {
+        assertThat(PlaceholderTemplate.compile("a{{}}b").render(Map.of("", "-"))).isEqualTo("a-b");
+        assertThat(PlaceholderTemplate.compile(null)).isNull();
+    }
+
+    @Test
+    void valuesAreNotReinterpretedAsPlaceholders() {
+        PlaceholderTemplate template = PlaceholderTemplate.compile("{{a}} {{b}}");
+
+        assertThat(template.render(Map.of("a", "{{b}}", "b", "x"))).isEqualTo("{{b}} x");
+    }
+
+    @Test
+    void largeRendersDoNotLeakIntoLaterOnes() {
+        PlaceholderTemplate template = PlaceholderTemplate.compile("[{{v}}]");
+
+        assertThat(template.render(Map.of("v", "x".repeat(10_000)))).hasSize(10_002);
+        assertThat(template.render(Map.of("v", "ok"))).isEqualTo("[ok]");
+    }
+}
@@ -0,0 +1,38 @@
+package com.freelance.driver_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchTextUtilTest {
+
+    @Test
+    void foldRemovesAccentsAndLowercases() {
+        assertThat(SearchTextUtil.fold("Yaoundé - Carrefour ÉTOUDI")).isEqualTo("yaounde - carrefour etoudi");
+        assertThat(SearchTextUtil.fold("Ngaoundéré, Garoua-Boulaï")).isEqualTo("ngaoundere, garoua-boulai");
+        assertThat(SearchTextUtil.fold("Çà et là")).isEqualTo("ca et la");
+    }
+
+    @Test
+    void foldOfNullIsEmpty() {
+        assertThat(SearchTextUtil.fold(null)).isEmpty();
+    }
+
+    @Test
+    void tokenizeSplitsOnSeparatorsAndKeepsOrder() {
+        assertThat(SearchTextUtil.tokenize("Yaoundé - Carrefour Étoudi")).containsExactly("yaounde", "carrefour", "etoudi");
+        assertThat(SearchTextUtil.tokenize("Douala/Bonabéri,Akwa")).containsExactly("douala", "bonaberi", "akwa");
+    }
+
+    @Test
+    void tokenizeDropsStopWordsAndSingleLetters() {
+        assertThat(SearchTextUtil.tokenize("Gare de l'Est vers la Poste à Mvog-Mbi"))
+                .containsExactly("gare", "est", "poste", "mvog", "mbi");
+    }
+
+    @Test
+    void tokenizeOfBlankTextIsEmpty() {
+        assertThat(SearchTextUtil.tokenize(null)).isEmpty();
+        assertThat(SearchTextUtil.tokenize("  - ")).isEmpty();
+    }
+}
@@ -0,0 +1,74 @@
+package com.freelance.driver_backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TripDateUtilTest {
+
+    private static long millis(String instant) {
+        return Instant.parse(instant).toEpochMilli();
+    }
+
+    @Test
+    void localDatesAreReadInTheCameroonZone() {
+        // Douala est en UTC+1 toute l'année.
+        assertThat(TripDateUtil.toEpochMilli("2025-06-12", "08:30")).contains(millis("2025-06-12T07:30:00Z"));
+        assertThat(TripDateUtil.toEpochMilli("12/06/2025", "8h30")).contains(millis("2025-06-12T07:30:00Z"));
+        assertThat(TripDateUtil.toEpochMilli("2025-06-12T08:30:00", null)).contains(millis("2025-06-12T07:30:00Z"));
+    }
+
+    @Test
+    void timestampsWithAnOffsetKeepTheirOwnZone() {
+        assertThat(TripDateUtil.toEpochMilli("2025-06-12T08:30:00.000Z", "23:00")).contains(millis("2025-06-12T08:30:00Z"));
+        assertThat(TripDateUtil.toEpochMilli("2025-06-12T08:30:00+03:00", null)).contains(millis("2025-06-12T05:30:00Z"));
+    }
+
+    @Test
+    void missingOrUnreadableTimeMeansLocalMidnight() {
+        assertThat(TripDateUtil.toEpochMilli("1/2/2025", null)).contains(millis("2025-01-31T23:00:00Z"));
+        assertThat(TripDateUtil.toEpochMilli("01-02-2025", "le matin")).contains(millis("2025-01-31T23:00:00Z"));
+    }
+
+    @Test
+    void unreadableDatesAreUnknownAndSortLast() {
+        assertThat(TripDateUtil.toEpochMilli(null, "08:00")).isEmpty();
+        assertThat(TripDateUtil.toEpochMilli("demain", "08:00")).isEmpty();
+        assertThat(TripDateUtil.toSortableEpochMilli("demain", null)).isEqualTo(TripDateUtil.UNKNOWN_EPOCH_MILLI);
+    }
+
+    @Test
+    void tripDayFollowsTheLocalMidnightNotUtc() {
+        // 23:30 UTC le 31 décembre est déjà le 1er janvier à Douala.
+        assertThat(TripDateUtil.tripDayOf(millis("2024-12-31T23:30:00Z"))).isEqualTo(LocalDate.of(2025, 1, 1));
+        assertThat(TripDateUtil.tripDayOf(millis("2024-12-31T22:59:59.999Z"))).isEqualTo(LocalDate.of(2024, 12, 31));
+        assertThat(TripDateUtil.tripDayOf(millis("2024-12-31T23:00:00Z"))).isEqualTo(LocalDate.of(2025, 1, 1));
+    }
+
+    @Test
+    void endTimeAloneEndsOnTheStartDay() {
+        assertThat(TripDateUtil.toEndEpochMilli("2025-06-12", null, "18:00")).contains(millis("2025-06-12T17:00:00Z"));
+        assertThat(TripDateUtil.toEndEpochMilli("2025-06-12", "2025-06-13", "02:00")).contains(millis("2025-06-13T01:00:00Z"));
+        assertThat(TripDateUtil.toEndEpochMilli("2025-06-12", " ", null)).isEmpty();
+    }
+
+    @Test
+    void startWindowIsHalfOpen() {
+        Instant from = Instant.parse("2025-06-12T00:00:00Z");
+        Instant to = Instant.parse("2025-06-13T00:00:00Z");
+
+        assertThat(TripDateUtil.startsWithin(from.toEpochMilli(), from, to)).isTrue();
+        assertThat(TripDateUtil.startsWithin(to.toEpochMilli() - 1, from, to)).isTrue();
+        assertThat(TripDateUtil.startsWithin(to.toEpochMilli(), from, to)).isFalse();
+        assertThat(TripDateUtil.startsWithin(from.toEpochMilli() - 1, from, null)).isFalse();
+    }
+
+    @Test
+    void unknownStartOnlyPassesWithoutBounds() {
+        assertThat(TripDateUtil.startsWithin(null, null, null)).isTrue();
+        assertThat(TripDateUtil.startsWithin(null, Instant.EPOCH, null)).isFalse();
+    }
+}